@@ -10,6 +10,7 @@ import com.assignment.ordermanagement.order.domain.model.OrderContext;
 import com.assignment.ordermanagement.order.domain.model.OrderItem;
 import com.assignment.ordermanagement.order.domain.service.OrderDomainService;
 import com.assignment.ordermanagement.order.domain.service.discount.DiscountCalculator;
+import com.assignment.ordermanagement.product.domain.exception.ProductNotFoundException;
 import com.assignment.ordermanagement.product.domain.model.Product;
 import com.assignment.ordermanagement.product.domain.port.ProductService;
 import com.assignment.ordermanagement.user.domain.model.User;
@@ -18,12 +19,17 @@ import com.assignment.ordermanagement.user.domain.port.UserService;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Use Case: Place a new order
  * Orchestrates: Product validation, stock checking, discount calculation, order creation
+ * Runs as a single transaction, so a failure on any line rolls back the stock already reserved;
+ * the transaction boundary is applied where the use case is wired (OrderConfig)
  */
 public class PlaceOrderUseCase {
 
@@ -45,30 +51,70 @@ public class PlaceOrderUseCase {
     public OrderResponse execute(OrderRequest request, String username) {
         // Get user
         User user = userService.getUserByUsername(username);
-        
-        // Create order
-        Order order = new Order(user.getId());
-        List<OrderItem> orderItems = new ArrayList<>();
-        BigDecimal subtotal = BigDecimal.ZERO;
 
-        // Process each order item
-        for (OrderItemRequest itemRequest : request.items()) {
-            Product product = productService.getProductById(itemRequest.productId());
-            
-            // Check stock
-            if (!product.hasStock(itemRequest.quantity())) {
+        // Load and check all requested products in a single round trip
+        Map<Long, Integer> requestedQuantities = mergeItems(request.items());
+        Map<Long, Product> products = loadInStock(requestedQuantities);
+
+        // Reserve stock for all lines with a single guarded update
+        if (!productService.reserveStock(requestedQuantities)) {
+            throw new OutOfStockException("One or more products went out of stock while placing the order");
+        }
+
+        // Save order
+        Order savedOrder = orderDomainService.createOrder(priceOrder(user, requestedQuantities, products));
+
+        return mapToResponse(savedOrder);
+    }
+
+    /**
+     * Validates and prices the order like execute, without reserving stock or saving anything.
+     * The response carries no order id.
+     */
+    public OrderResponse preview(OrderRequest request, String username) {
+        User user = userService.getUserByUsername(username);
+        Map<Long, Integer> requestedQuantities = mergeItems(request.items());
+        Map<Long, Product> products = loadInStock(requestedQuantities);
+        return mapToResponse(priceOrder(user, requestedQuantities, products));
+    }
+
+    /**
+     * Loads the requested products and checks the stock of every line before any of it is touched.
+     */
+    private Map<Long, Product> loadInStock(Map<Long, Integer> requestedQuantities) {
+        Map<Long, Product> products = productService.getProductsByIds(requestedQuantities.keySet()).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        for (Map.Entry<Long, Integer> entry : requestedQuantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            if (product == null) {
+                throw new ProductNotFoundException("Product not found with id: " + entry.getKey());
+            }
+            if (!product.hasStock(entry.getValue())) {
                 throw new OutOfStockException(
                     "Product " + product.getName() + " is out of stock. Available: " + product.getQuantity()
                 );
             }
+        }
+        return products;
+    }
 
-            // Decrease stock
-            productService.decreaseStock(product.getId(), itemRequest.quantity());
+    /**
+     * Builds the order with one item per product and the user's discount spread across the items.
+     */
+    private Order priceOrder(User user, Map<Long, Integer> requestedQuantities, Map<Long, Product> products) {
+        Order order = new Order(user.getId());
+        List<OrderItem> orderItems = new ArrayList<>();
+        BigDecimal subtotal = BigDecimal.ZERO;
+
+        // Process each order item
+        for (Map.Entry<Long, Integer> entry : requestedQuantities.entrySet()) {
+            Product product = products.get(entry.getKey());
 
             // Create order item
             OrderItem orderItem = new OrderItem(
                 product.getId(),
-                itemRequest.quantity(),
+                entry.getValue(),
                 product.getPrice()
             );
             
@@ -88,11 +134,19 @@ public class PlaceOrderUseCase {
         // Add items to order
         order.addItems(orderItems);
         order.setOrderTotal(subtotal.subtract(totalDiscount));
+        return order;
+    }
 
-        // Save order
-        Order savedOrder = orderDomainService.createOrder(order);
-
-        return mapToResponse(savedOrder);
+    /**
+     * Collapses repeated product ids into a single line, summing their quantities
+     * while keeping the order in which products first appear in the request.
+     */
+    private Map<Long, Integer> mergeItems(List<OrderItemRequest> items) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemRequest item : items) {
+            quantities.merge(item.productId(), item.quantity(), Integer::sum);
+        }
+        return quantities;
     }
 
     private void distributeDiscount(List<OrderItem> items, BigDecimal totalDiscount, BigDecimal subtotal) {
@@ -12,8 +12,13 @@ import com.assignment.ordermanagement.order.infrastructure.persistence.mapper.Or
 import com.assignment.ordermanagement.order.infrastructure.persistence.repository.OrderRepositoryJpa;
 import com.assignment.ordermanagement.product.domain.port.ProductService;
 import com.assignment.ordermanagement.user.domain.port.UserService;
+import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.interceptor.DefaultTransactionAttribute;
+import org.springframework.transaction.interceptor.NameMatchTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
 
 import java.util.List;
 
@@ -58,13 +63,31 @@ public class OrderConfig {
     }
 
     // Application Layer - Use Cases
+    /**
+     * Placing an order runs as a single transaction, so a failure on any line rolls back the stock
+     * already reserved; a preview runs read-only. The boundary is applied here by a transactional
+     * proxy, which keeps the use case free of framework code.
+     */
     @Bean
     public PlaceOrderUseCase placeOrderUseCase(
             OrderDomainService orderDomainService,
             ProductService productService,
             UserService userService,
-            DiscountCalculator discountCalculator) {
-        return new PlaceOrderUseCase(orderDomainService, productService, userService, discountCalculator);
+            DiscountCalculator discountCalculator,
+            PlatformTransactionManager transactionManager) {
+        PlaceOrderUseCase useCase = new PlaceOrderUseCase(orderDomainService, productService, userService,
+                                                          discountCalculator);
+
+        DefaultTransactionAttribute readOnly = new DefaultTransactionAttribute();
+        readOnly.setReadOnly(true);
+        NameMatchTransactionAttributeSource transactions = new NameMatchTransactionAttributeSource();
+        transactions.addTransactionalMethod("execute", new DefaultTransactionAttribute());
+        transactions.addTransactionalMethod("preview", readOnly);
+
+        ProxyFactory proxyFactory = new ProxyFactory(useCase);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new TransactionInterceptor(transactionManager, transactions));
+        return (PlaceOrderUseCase) proxyFactory.getProxy();
     }
 
 }
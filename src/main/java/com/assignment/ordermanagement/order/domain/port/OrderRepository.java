@@ -12,5 +12,10 @@ public interface OrderRepository {
     
     Order save(Order order);
 
+    /**
+     * Ids of the products ordered in the largest total quantity, most ordered first.
+     */
+    List<Long> findMostOrderedProductIds(int limit);
+
 }
 
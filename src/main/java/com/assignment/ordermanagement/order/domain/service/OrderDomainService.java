@@ -21,5 +21,12 @@ public class OrderDomainService {
         return orderRepository.save(order);
     }
 
+    public List<Long> getMostOrderedProductIds(int limit) {
+        if (limit < 1) {
+            return List.of();
+        }
+        return orderRepository.findMostOrderedProductIds(limit);
+    }
+
 }
 
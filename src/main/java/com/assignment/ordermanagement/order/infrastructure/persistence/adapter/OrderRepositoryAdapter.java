@@ -5,6 +5,9 @@ import com.assignment.ordermanagement.order.domain.port.OrderRepository;
 import com.assignment.ordermanagement.order.infrastructure.persistence.entity.OrderEntity;
 import com.assignment.ordermanagement.order.infrastructure.persistence.mapper.OrderEntityMapper;
 import com.assignment.ordermanagement.order.infrastructure.persistence.repository.OrderRepositoryJpa;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
 
 /**
  * Adapter that implements the domain OrderRepository port using JPA
@@ -25,5 +28,10 @@ public class OrderRepositoryAdapter implements OrderRepository {
         OrderEntity savedEntity = jpaRepository.save(entity);
         return mapper.toDomain(savedEntity);
     }
+
+    @Override
+    public List<Long> findMostOrderedProductIds(int limit) {
+        return jpaRepository.findMostOrderedProductIds(Limit.of(limit));
+    }
 }
 
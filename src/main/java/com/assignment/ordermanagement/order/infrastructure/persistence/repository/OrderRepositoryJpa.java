@@ -1,7 +1,9 @@
 package com.assignment.ordermanagement.order.infrastructure.persistence.repository;
 
 import com.assignment.ordermanagement.order.infrastructure.persistence.entity.OrderEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
@@ -9,5 +11,8 @@ import java.util.List;
  * Spring Data JPA Repository for OrderEntity
  */
 public interface OrderRepositoryJpa extends JpaRepository<OrderEntity, Long> {
+
+    @Query("SELECT i.productId FROM OrderItemEntity i GROUP BY i.productId ORDER BY SUM(i.quantity) DESC, i.productId")
+    List<Long> findMostOrderedProductIds(Limit limit);
 }
 
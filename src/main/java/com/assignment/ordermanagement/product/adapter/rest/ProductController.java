@@ -1,19 +1,33 @@
 package com.assignment.ordermanagement.product.adapter.rest;
 
+import com.assignment.ordermanagement.product.application.dto.ProductBatchRequest;
+import com.assignment.ordermanagement.product.application.dto.ProductBatchResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductChangesResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductPageResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductProjectionPageResponse;
 import com.assignment.ordermanagement.product.application.dto.ProductRequest;
 import com.assignment.ordermanagement.product.application.dto.ProductResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductSearchRequest;
+import com.assignment.ordermanagement.product.application.dto.ProductSuggestionResponse;
 import com.assignment.ordermanagement.product.application.usecase.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * REST Controller for Product operations
@@ -26,20 +40,35 @@ public class ProductController {
 
     private final CreateProductUseCase createProductUseCase;
     private final GetAllProductsUseCase getAllProductsUseCase;
+    private final GetProductsUseCase getProductsUseCase;
     private final SearchProductsUseCase searchProductsUseCase;
+    private final SuggestProductsUseCase suggestProductsUseCase;
+    private final GetProductChangesUseCase getProductChangesUseCase;
     private final UpdateProductUseCase updateProductUseCase;
     private final DeleteProductUseCase deleteProductUseCase;
+    private final ObjectMapper objectMapper;
+    private final ProductListRepresentationCache productListRepresentationCache;
 
     public ProductController(CreateProductUseCase createProductUseCase,
                            GetAllProductsUseCase getAllProductsUseCase,
+                           GetProductsUseCase getProductsUseCase,
                            SearchProductsUseCase searchProductsUseCase,
+                           SuggestProductsUseCase suggestProductsUseCase,
+                           GetProductChangesUseCase getProductChangesUseCase,
                            UpdateProductUseCase updateProductUseCase,
-                           DeleteProductUseCase deleteProductUseCase) {
+                           DeleteProductUseCase deleteProductUseCase,
+                           ObjectMapper objectMapper,
+                           ProductListRepresentationCache productListRepresentationCache) {
         this.createProductUseCase = createProductUseCase;
         this.getAllProductsUseCase = getAllProductsUseCase;
+        this.getProductsUseCase = getProductsUseCase;
         this.searchProductsUseCase = searchProductsUseCase;
+        this.suggestProductsUseCase = suggestProductsUseCase;
+        this.getProductChangesUseCase = getProductChangesUseCase;
         this.updateProductUseCase = updateProductUseCase;
         this.deleteProductUseCase = deleteProductUseCase;
+        this.objectMapper = objectMapper;
+        this.productListRepresentationCache = productListRepresentationCache;
     }
 
     @PostMapping
@@ -50,25 +79,177 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Serves the pre-serialized product list. Clients sending a matching If-None-Match get
+     * 304 Not Modified, and clients accepting gzip get the pre-compressed bytes.
+     */
     @GetMapping
     @Operation(summary = "Get all products (Public access)")
-    public ResponseEntity<List<ProductResponse>> getAllProducts() {
-        List<ProductResponse> products = getAllProductsUseCase.execute();
+    public ResponseEntity<byte[]> getAllProducts(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ProductListRepresentationCache.Representation representation = productListRepresentationCache.current();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+        if (acceptsGzip(acceptEncoding)) {
+            // A different content coding is a different representation, so it gets its own strong ETag
+            return response
+                    .eTag(representation.eTag().replaceFirst("\"$", "-gzip\""))
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(representation.gzip());
+        }
+        return response
+                .eTag(representation.eTag())
+                .body(representation.json());
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all products as newline-delimited JSON (Public access)")
+    public ResponseEntity<StreamingResponseBody> streamAllProducts() {
+        return ndjson(getAllProductsUseCase::stream);
+    }
+
+    @GetMapping(params = "size")
+    @Operation(summary = "Get a page of products sorted by id, price or name (Public access)")
+    public ResponseEntity<ProductPageResponse> getProductPage(
+            @RequestParam int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor) {
+
+        ProductPageResponse page = getAllProductsUseCase.execute(sort, direction, size, cursor);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(params = {"size", "fields"})
+    @Operation(summary = "Get a page of products restricted to the given fields, e.g. fields=id,name,price,inStock (Public access)")
+    public ResponseEntity<ProductProjectionPageResponse> getProductPageFields(
+            @RequestParam int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam String fields) {
+
+        ProductProjectionPageResponse page = getAllProductsUseCase.execute(sort, direction, size, cursor, fields);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a product by id (Public access)")
+    public ResponseEntity<ProductResponse> getProduct(@PathVariable Long id) {
+        ProductResponse response = getProductsUseCase.execute(id);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Multi-get for product pages and carts: cached products are served from memory and the
+     * rest are loaded with a single query. Unknown ids are returned in missingIds.
+     */
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get several products by id, e.g. ?ids=1,2,3 (Public access)")
+    public ResponseEntity<ProductBatchResponse> getProducts(@RequestParam List<Long> ids) {
+        ProductBatchResponse products = getProductsUseCase.execute(ids);
+        return ResponseEntity.ok(products);
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Get several products by id, for id lists too long for a query string (Public access)")
+    public ResponseEntity<ProductBatchResponse> getProductsBatch(@Valid @RequestBody ProductBatchRequest request) {
+        ProductBatchResponse products = getProductsUseCase.execute(request.ids());
         return ResponseEntity.ok(products);
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search products with filters")
+    @Operation(summary = "Search products with filters, by name or by relevance")
     public ResponseEntity<List<ProductResponse>> searchProducts(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
-            @RequestParam(required = false) Boolean inStock) {
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(defaultValue = "name") String mode) {
         
-        List<ProductResponse> products = searchProductsUseCase.execute(name, minPrice, maxPrice, inStock);
+        ProductSearchRequest request = ProductSearchRequest.of(name, minPrice, maxPrice, inStock).withMode(mode);
+        List<ProductResponse> products = searchProductsUseCase.execute(request);
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream products matching the filters as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamSearchProducts(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean inStock) {
+
+        ProductSearchRequest request = ProductSearchRequest.of(name, minPrice, maxPrice, inStock);
+        return ndjson(action -> searchProductsUseCase.stream(request, action));
+    }
+
+    @GetMapping(value = "/search", params = "size")
+    @Operation(summary = "Search a page of products with filters, sorted by id, price or name, optionally with facet counts")
+    public ResponseEntity<ProductPageResponse> searchProductPage(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean facets,
+            @RequestParam(required = false) List<BigDecimal> priceBuckets) {
+
+        ProductSearchRequest request = ProductSearchRequest.of(name, minPrice, maxPrice, inStock)
+                .withPage(sort, direction, size, cursor)
+                .withFacets(facets, priceBuckets);
+        ProductPageResponse page = searchProductsUseCase.page(request);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/search", params = {"size", "fields"})
+    @Operation(summary = "Search a page of products restricted to the given fields, e.g. fields=id,name,price,inStock")
+    public ResponseEntity<ProductProjectionPageResponse> searchProductPageFields(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean facets,
+            @RequestParam(required = false) List<BigDecimal> priceBuckets,
+            @RequestParam String fields) {
+
+        ProductSearchRequest request = ProductSearchRequest.of(name, minPrice, maxPrice, inStock)
+                .withPage(sort, direction, size, cursor)
+                .withFacets(facets, priceBuckets)
+                .withFields(fields);
+        ProductProjectionPageResponse page = searchProductsUseCase.projectedPage(request);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Suggest products whose name, or a word within it, starts with the prefix")
+    public ResponseEntity<List<ProductSuggestionResponse>> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        List<ProductSuggestionResponse> suggestions = suggestProductsUseCase.execute(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Get the products created, updated or deleted since the cursor of the previous call")
+    public ResponseEntity<ProductChangesResponse> getProductChanges(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
+
+        ProductChangesResponse changes = getProductChangesUseCase.execute(cursor, size);
+        return ResponseEntity.ok(changes);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update a product", security = @SecurityRequirement(name = "bearer-jwt"))
     @PreAuthorize("hasRole('ADMIN')")
@@ -87,5 +268,35 @@ public class ProductController {
         deleteProductUseCase.execute(id);
         return ResponseEntity.noContent().build();
     }
-}
 
+    /**
+     * Writes each product as one JSON line as soon as it is read, so the first bytes go out
+     * before the last row is loaded and memory use does not grow with the catalog.
+     */
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<ProductResponse>> products) {
+        StreamingResponseBody body = out -> products.accept(product -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(product));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,77 @@
+package com.assignment.ordermanagement.product.adapter.rest;
+
+import com.assignment.ordermanagement.product.application.usecase.GetAllProductsUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialized and gzip-compressed GET /api/products body for the current product data version
+ * Unchanged data is served from these bytes without mapping or serializing the products again
+ */
+public class ProductListRepresentationCache {
+
+    static final String PRODUCT_LIST_RESPONSE_CACHE = "productListResponse";
+
+    private final GetAllProductsUseCase getAllProductsUseCase;
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+
+    public ProductListRepresentationCache(GetAllProductsUseCase getAllProductsUseCase,
+                                          ObjectMapper objectMapper,
+                                          CacheManager cacheManager) {
+        this.getAllProductsUseCase = getAllProductsUseCase;
+        this.objectMapper = objectMapper;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Representation for the current version, rendered at most once per version
+     */
+    public Representation current() {
+        long version = getAllProductsUseCase.currentVersion();
+        Cache cache = cacheManager.getCache(PRODUCT_LIST_RESPONSE_CACHE);
+        if (cache == null) {
+            return render();
+        }
+        return cache.get(version, this::render);
+    }
+
+    private Representation render() {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(getAllProductsUseCase.execute());
+            return new Representation(json, gzip(json), eTag(json));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(json);
+        }
+        return compressed.toByteArray();
+    }
+
+    // Derived from the content, so equal bodies always share an ETag regardless of the version
+    private static String eTag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record Representation(byte[] json, byte[] gzip, String eTag) {
+    }
+}
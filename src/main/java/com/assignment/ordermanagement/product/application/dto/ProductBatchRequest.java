@@ -0,0 +1,11 @@
+package com.assignment.ordermanagement.product.application.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record ProductBatchRequest(
+        @NotEmpty(message = "At least one product id is required")
+        List<Long> ids
+) {
+}
@@ -0,0 +1,16 @@
+package com.assignment.ordermanagement.product.application.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record ProductChangeResponse(
+        Long id,
+        String name,
+        String description,
+        BigDecimal price,
+        Integer quantity,
+        boolean inStock,
+        boolean deleted,
+        Instant updatedAt
+) {
+}
@@ -0,0 +1,10 @@
+package com.assignment.ordermanagement.product.application.dto;
+
+import java.util.List;
+
+public record ProductChangesResponse(
+        List<ProductChangeResponse> items,
+        String nextCursor,
+        boolean hasMore
+) {
+}
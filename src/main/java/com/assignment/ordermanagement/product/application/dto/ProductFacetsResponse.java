@@ -0,0 +1,14 @@
+package com.assignment.ordermanagement.product.application.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ProductFacetsResponse(
+        List<PriceBucketResponse> priceBuckets,
+        long inStock,
+        long outOfStock
+) {
+
+    public record PriceBucketResponse(BigDecimal from, BigDecimal to, long count) {
+    }
+}
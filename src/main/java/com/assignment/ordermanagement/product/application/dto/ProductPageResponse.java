@@ -0,0 +1,16 @@
+package com.assignment.ordermanagement.product.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+public record ProductPageResponse(
+        List<ProductResponse> items,
+        String nextCursor,
+        @JsonInclude(JsonInclude.Include.NON_NULL) ProductFacetsResponse facets
+) {
+
+    public ProductPageResponse(List<ProductResponse> items, String nextCursor) {
+        this(items, nextCursor, null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.assignment.ordermanagement.product.application.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+public record ProductProjectionPageResponse(
+        List<Map<String, Object>> items,
+        String nextCursor,
+        @JsonInclude(JsonInclude.Include.NON_NULL) ProductFacetsResponse facets
+) {
+}
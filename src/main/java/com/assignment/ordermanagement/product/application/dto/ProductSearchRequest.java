@@ -0,0 +1,62 @@
+package com.assignment.ordermanagement.product.application.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Filters and paging options of a product search
+ * Start from of(...) with the filters and add the options the search needs, e.g.
+ * {@code ProductSearchRequest.of("mouse", null, null, true).withPage("name", "asc", 20, null)}.
+ *
+ * @param mode         how the name is matched: name, relevance or fuzzy; only used by unpaged searches
+ * @param size         page size, null for an unpaged search
+ * @param facets       whether a page also returns the facet counts of all matching products
+ * @param priceBuckets ascending lower bounds of the facet price buckets, the default buckets when null
+ * @param fields       fields a page returns, e.g. "id,name,price,inStock"; all fields when null
+ */
+public record ProductSearchRequest(
+        String name,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        Boolean inStock,
+        String mode,
+        String sort,
+        String direction,
+        Integer size,
+        String cursor,
+        boolean facets,
+        List<BigDecimal> priceBuckets,
+        String fields
+) {
+
+    public ProductSearchRequest {
+        mode = mode != null ? mode : "name";
+        sort = sort != null ? sort : "id";
+        direction = direction != null ? direction : "asc";
+    }
+
+    public static ProductSearchRequest of(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock) {
+        return new ProductSearchRequest(name, minPrice, maxPrice, inStock,
+                                        null, null, null, null, null, false, null, null);
+    }
+
+    public ProductSearchRequest withMode(String mode) {
+        return new ProductSearchRequest(name, minPrice, maxPrice, inStock,
+                                        mode, sort, direction, size, cursor, facets, priceBuckets, fields);
+    }
+
+    public ProductSearchRequest withPage(String sort, String direction, int size, String cursor) {
+        return new ProductSearchRequest(name, minPrice, maxPrice, inStock,
+                                        mode, sort, direction, size, cursor, facets, priceBuckets, fields);
+    }
+
+    public ProductSearchRequest withFacets(boolean facets, List<BigDecimal> priceBuckets) {
+        return new ProductSearchRequest(name, minPrice, maxPrice, inStock,
+                                        mode, sort, direction, size, cursor, facets, priceBuckets, fields);
+    }
+
+    public ProductSearchRequest withFields(String fields) {
+        return new ProductSearchRequest(name, minPrice, maxPrice, inStock,
+                                        mode, sort, direction, size, cursor, facets, priceBuckets, fields);
+    }
+}
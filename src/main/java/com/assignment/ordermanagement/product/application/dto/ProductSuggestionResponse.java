@@ -0,0 +1,7 @@
+package com.assignment.ordermanagement.product.application.dto;
+
+public record ProductSuggestionResponse(
+        Long id,
+        String name
+) {
+}
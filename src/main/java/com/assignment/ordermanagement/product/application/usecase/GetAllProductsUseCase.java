@@ -1,10 +1,17 @@
 package com.assignment.ordermanagement.product.application.usecase;
 
+import com.assignment.ordermanagement.product.application.dto.ProductPageResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductProjectionPageResponse;
 import com.assignment.ordermanagement.product.application.dto.ProductResponse;
 import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductField;
+import com.assignment.ordermanagement.product.domain.model.ProductPage;
+import com.assignment.ordermanagement.product.domain.model.ProductPageRequest;
 import com.assignment.ordermanagement.product.domain.port.ProductService;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +33,46 @@ public class GetAllProductsUseCase {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Returns one keyset page in the requested sort order, starting after the given cursor.
+     */
+    public ProductPageResponse execute(String sort, String direction, int size, String cursor) {
+        ProductPageRequest pageRequest = ProductPaging.toPageRequest(sort, direction, size, cursor);
+        ProductPage page = productService.getProductPage(pageRequest);
+
+        List<ProductResponse> items = page.items().stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return new ProductPageResponse(items, ProductPaging.nextCursor(page, pageRequest));
+    }
+
+    /**
+     * Returns one keyset page like execute, reading and returning only the requested fields,
+     * e.g. "id,name,price,inStock".
+     */
+    public ProductProjectionPageResponse execute(String sort, String direction, int size, String cursor, String fields) {
+        ProductPageRequest pageRequest = ProductPaging.toPageRequest(sort, direction, size, cursor);
+        Set<ProductField> selected = ProductField.parse(fields);
+        ProductPage page = productService.searchProductPage(null, null, null, null, pageRequest, selected);
+
+        return new ProductProjectionPageResponse(ProductPaging.project(page, selected),
+                                                 ProductPaging.nextCursor(page, pageRequest), null);
+    }
+
+    /**
+     * Version of the product data; results of execute() stay the same while it is unchanged.
+     */
+    public long currentVersion() {
+        return productService.getProductsVersion();
+    }
+
+    /**
+     * Hands every product to the action as it is read, without building the full list.
+     */
+    public void stream(Consumer<ProductResponse> action) {
+        productService.streamProducts(null, null, null, null, product -> action.accept(mapToResponse(product)));
+    }
+
     private ProductResponse mapToResponse(Product product) {
         return new ProductResponse(
                 product.getId(),
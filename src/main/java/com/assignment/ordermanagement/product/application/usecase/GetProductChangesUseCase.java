@@ -0,0 +1,106 @@
+package com.assignment.ordermanagement.product.application.usecase;
+
+import com.assignment.ordermanagement.product.application.dto.ProductChangeResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductChangesResponse;
+import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductPage;
+import com.assignment.ordermanagement.product.domain.port.ProductService;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Use Case: Get the products created, updated or deleted since a cursor
+ * A cursor encodes the (updatedAt, id) position of the last change a client has seen.
+ */
+public class GetProductChangesUseCase {
+
+    public static final int MAX_SIZE = 500;
+
+    private static final String SEPARATOR = "|";
+
+    private final ProductService productService;
+
+    public GetProductChangesUseCase(ProductService productService) {
+        this.productService = productService;
+    }
+
+    /**
+     * Returns up to size changes after the cursor, oldest first, or from the beginning without a cursor.
+     * The next cursor is always set: clients store it and pass it on their next poll, and an unchanged
+     * catalog hands back the cursor they sent.
+     */
+    public ProductChangesResponse execute(String cursor, int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SIZE);
+        }
+
+        ProductPage page;
+        if (cursor == null || cursor.isBlank()) {
+            page = productService.getProductChanges(null, null, size);
+        } else {
+            String[] parts = decode(cursor).split("\\" + SEPARATOR, 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            page = productService.getProductChanges(updatedAtOf(parts), idOf(parts), size);
+        }
+
+        List<Product> changes = page.items();
+        String nextCursor = changes.isEmpty() ? blankToNull(cursor) : cursorOf(changes.get(changes.size() - 1));
+        List<ProductChangeResponse> items = changes.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return new ProductChangesResponse(items, nextCursor, page.hasMore());
+    }
+
+    private static Instant updatedAtOf(String[] parts) {
+        try {
+            return Instant.parse(parts[0]);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static Long idOf(String[] parts) {
+        try {
+            return Long.valueOf(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static String cursorOf(Product product) {
+        String position = product.getUpdatedAt() + SEPARATOR + product.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static String blankToNull(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : cursor;
+    }
+
+    private ProductChangeResponse mapToResponse(Product product) {
+        return new ProductChangeResponse(
+                product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getPrice(),
+                product.getQuantity(),
+                product.isInStock(),
+                product.isDeleted(),
+                product.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,68 @@
+package com.assignment.ordermanagement.product.application.usecase;
+
+import com.assignment.ordermanagement.product.application.dto.ProductBatchResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductResponse;
+import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.port.ProductService;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Use Case: Get products by id
+ */
+public class GetProductsUseCase {
+
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private final ProductService productService;
+
+    public GetProductsUseCase(ProductService productService) {
+        this.productService = productService;
+    }
+
+    public ProductResponse execute(Long id) {
+        return mapToResponse(productService.getProductById(id));
+    }
+
+    /**
+     * Returns the products with the given ids in request order. Ids with no product, including
+     * deleted ones, are listed in missingIds in request order instead.
+     */
+    public ProductBatchResponse execute(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one product id is required");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Product ids must not be null");
+        }
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " product ids can be requested at once");
+        }
+
+        List<ProductResponse> items = productService.getProductsByIds(distinctIds).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        Set<Long> found = items.stream().map(ProductResponse::id).collect(Collectors.toSet());
+        List<Long> missingIds = distinctIds.stream()
+                .filter(id -> !found.contains(id))
+                .toList();
+        return new ProductBatchResponse(items, missingIds);
+    }
+
+    private ProductResponse mapToResponse(Product product) {
+        return new ProductResponse(
+                product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getPrice(),
+                product.getQuantity(),
+                product.isInStock()
+        );
+    }
+}
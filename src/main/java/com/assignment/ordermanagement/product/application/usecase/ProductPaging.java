@@ -0,0 +1,101 @@
+package com.assignment.ordermanagement.product.application.usecase;
+
+import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductField;
+import com.assignment.ordermanagement.product.domain.model.ProductPage;
+import com.assignment.ordermanagement.product.domain.model.ProductPageRequest;
+import com.assignment.ordermanagement.product.domain.model.ProductSortKey;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Translates paging parameters and opaque cursors of the product listing endpoints.
+ * A cursor encodes the sort order and the (sort value, id) position of the last product on a page.
+ */
+final class ProductPaging {
+
+    private static final String SEPARATOR = "|";
+
+    private ProductPaging() {
+    }
+
+    static ProductPageRequest toPageRequest(String sort, String direction, int size, String cursor) {
+        ProductSortKey sortKey = ProductSortKey.from(sort);
+        boolean descending = isDescending(direction);
+        if (cursor == null || cursor.isBlank()) {
+            return ProductPageRequest.first(sortKey, descending, size);
+        }
+
+        String[] parts = decode(cursor).split("\\" + SEPARATOR, 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!parts[0].equals(sortKey.name()) || Boolean.parseBoolean(parts[1]) != descending) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort order");
+        }
+        try {
+            // Cursors come from clients, so a tampered price must fail here rather than in the query
+            if (sortKey == ProductSortKey.PRICE) {
+                new BigDecimal(parts[3]);
+            }
+            return new ProductPageRequest(sortKey, descending, size, parts[3], Long.valueOf(parts[2]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Cursor pointing after the last product of the page, or null when no page follows
+     */
+    static String nextCursor(ProductPage page, ProductPageRequest pageRequest) {
+        List<Product> items = page.items();
+        if (!page.hasMore() || items.isEmpty()) {
+            return null;
+        }
+        Product last = items.get(items.size() - 1);
+        String position = String.join(SEPARATOR,
+                pageRequest.sortKey().name(),
+                String.valueOf(pageRequest.descending()),
+                String.valueOf(last.getId()),
+                pageRequest.sortKey().valueOf(last));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Items of the page restricted to the requested fields, each as field name to value
+     */
+    static List<Map<String, Object>> project(ProductPage page, Set<ProductField> fields) {
+        List<Map<String, Object>> items = new ArrayList<>(page.items().size());
+        for (Product product : page.items()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            fields.forEach(field -> item.put(field.key(), field.valueOf(product)));
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static boolean isDescending(String direction) {
+        if ("asc".equalsIgnoreCase(direction)) {
+            return false;
+        }
+        if ("desc".equalsIgnoreCase(direction)) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unsupported sort direction: " + direction + ". Use asc or desc");
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
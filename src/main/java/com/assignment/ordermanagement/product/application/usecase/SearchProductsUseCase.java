@@ -1,33 +1,129 @@
 package com.assignment.ordermanagement.product.application.usecase;
 
+import com.assignment.ordermanagement.product.application.dto.ProductFacetsResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductPageResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductProjectionPageResponse;
 import com.assignment.ordermanagement.product.application.dto.ProductResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductSearchRequest;
 import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductFacets;
+import com.assignment.ordermanagement.product.domain.model.ProductField;
+import com.assignment.ordermanagement.product.domain.model.ProductPage;
+import com.assignment.ordermanagement.product.domain.model.ProductPageRequest;
+import com.assignment.ordermanagement.product.domain.model.ProductSearchMode;
 import com.assignment.ordermanagement.product.domain.port.ProductService;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Use Case: Search products with filters
  */
 public class SearchProductsUseCase {
 
+    public static final int MAX_RANKED_RESULTS = 50;
+    public static final List<BigDecimal> DEFAULT_PRICE_BUCKETS = Stream.of("0", "25", "50", "100", "250", "500", "1000")
+            .map(BigDecimal::new)
+            .toList();
+
     private final ProductService productService;
 
     public SearchProductsUseCase(ProductService productService) {
         this.productService = productService;
     }
 
-    public List<ProductResponse> execute(String name, BigDecimal minPrice, 
-                                         BigDecimal maxPrice, Boolean inStock) {
-        List<Product> products = productService.searchProducts(name, minPrice, maxPrice, inStock);
-        
+    /**
+     * Searches without paging in the request's mode: by name substring in id order, by relevance to
+     * the words of the name and description, or by closeness of the name despite typos. The last two
+     * return at most MAX_RANKED_RESULTS best matches.
+     */
+    public List<ProductResponse> execute(ProductSearchRequest request) {
+        String name = request.name();
+        BigDecimal minPrice = request.minPrice();
+        BigDecimal maxPrice = request.maxPrice();
+        Boolean inStock = request.inStock();
+        List<Product> products = switch (ProductSearchMode.from(request.mode())) {
+            case NAME -> productService.searchProducts(name, minPrice, maxPrice, inStock);
+            case RELEVANCE -> productService.searchProductsByRelevance(name, minPrice, maxPrice, inStock,
+                                                                       MAX_RANKED_RESULTS);
+            case FUZZY -> productService.searchSimilarProducts(name, minPrice, maxPrice, inStock, MAX_RANKED_RESULTS);
+        };
+
         return products.stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Returns one keyset page in the requested sort order, starting after the request's cursor, and,
+     * when facets are requested, the counts of all matching products per price bucket and stock
+     * status, so a storefront needs one request per page view.
+     */
+    public ProductPageResponse page(ProductSearchRequest request) {
+        ProductPageRequest pageRequest = toPageRequest(request);
+        ProductFacetsResponse facetsResponse = facets(request);
+        ProductPage page = productService.searchProductPage(request.name(), request.minPrice(), request.maxPrice(),
+                                                            request.inStock(), pageRequest);
+
+        List<ProductResponse> items = page.items().stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return new ProductPageResponse(items, ProductPaging.nextCursor(page, pageRequest), facetsResponse);
+    }
+
+    /**
+     * Returns one keyset page like page(...), reading and returning only the request's fields.
+     */
+    public ProductProjectionPageResponse projectedPage(ProductSearchRequest request) {
+        ProductPageRequest pageRequest = toPageRequest(request);
+        Set<ProductField> selected = ProductField.parse(request.fields());
+        ProductFacetsResponse facetsResponse = facets(request);
+        ProductPage page = productService.searchProductPage(request.name(), request.minPrice(), request.maxPrice(),
+                                                            request.inStock(), pageRequest, selected);
+
+        return new ProductProjectionPageResponse(ProductPaging.project(page, selected),
+                                                 ProductPaging.nextCursor(page, pageRequest), facetsResponse);
+    }
+
+    /**
+     * Hands every product matching the request's filters to the action as it is read, without
+     * building the full list.
+     */
+    public void stream(ProductSearchRequest request, Consumer<ProductResponse> action) {
+        productService.streamProducts(request.name(), request.minPrice(), request.maxPrice(), request.inStock(),
+                                      product -> action.accept(mapToResponse(product)));
+    }
+
+    private static ProductPageRequest toPageRequest(ProductSearchRequest request) {
+        if (request.size() == null) {
+            throw new IllegalArgumentException("Page size is required");
+        }
+        return ProductPaging.toPageRequest(request.sort(), request.direction(), request.size(), request.cursor());
+    }
+
+    private ProductFacetsResponse facets(ProductSearchRequest request) {
+        if (!request.facets()) {
+            return null;
+        }
+        List<BigDecimal> priceBuckets = request.priceBuckets() != null ? request.priceBuckets() : DEFAULT_PRICE_BUCKETS;
+        return mapToResponse(productService.getProductFacets(request.name(), request.minPrice(), request.maxPrice(),
+                                                             request.inStock(), priceBuckets));
+    }
+
+    private ProductFacetsResponse mapToResponse(ProductFacets facets) {
+        return new ProductFacetsResponse(
+                facets.priceBuckets().stream()
+                        .map(bucket -> new ProductFacetsResponse.PriceBucketResponse(bucket.from(), bucket.to(), bucket.count()))
+                        .toList(),
+                facets.inStock(),
+                facets.outOfStock()
+        );
+    }
+
     private ProductResponse mapToResponse(Product product) {
         return new ProductResponse(
                 product.getId(),
@@ -0,0 +1,35 @@
+package com.assignment.ordermanagement.product.application.usecase;
+
+import com.assignment.ordermanagement.product.application.dto.ProductSuggestionResponse;
+import com.assignment.ordermanagement.product.domain.port.ProductService;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Use Case: Suggest product names for a typed prefix
+ */
+public class SuggestProductsUseCase {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private final ProductService productService;
+
+    public SuggestProductsUseCase(ProductService productService) {
+        this.productService = productService;
+    }
+
+    /**
+     * Returns up to limit products whose name, or a word within it, starts with the prefix.
+     * A blank prefix has no suggestions.
+     */
+    public List<ProductSuggestionResponse> execute(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("Suggestion limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+
+        return productService.suggestProducts(prefix, limit).stream()
+                .map(product -> new ProductSuggestionResponse(product.getId(), product.getName()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,25 @@
+package com.assignment.ordermanagement.product.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for batching concurrent product lookups, bound from "product.batching" in application.yaml
+ *
+ * @param enabled      whether lookups by id are batched at all
+ * @param window       how long a batch waits for more lookups after its first one
+ * @param maxBatchSize number of ids that sends a batch without waiting for the window
+ * @param maxConcurrentLoads number of batch queries that may run at the same time
+ */
+@ConfigurationProperties(prefix = "product.batching")
+public record ProductBatchingProperties(Boolean enabled, Duration window, Integer maxBatchSize,
+                                        Integer maxConcurrentLoads) {
+
+    public ProductBatchingProperties {
+        enabled = enabled != null ? enabled : Boolean.TRUE;
+        window = window != null ? window : Duration.ofMillis(2);
+        maxBatchSize = maxBatchSize != null ? maxBatchSize : 100;
+        maxConcurrentLoads = maxConcurrentLoads != null ? maxConcurrentLoads : 4;
+    }
+}
@@ -0,0 +1,22 @@
+package com.assignment.ordermanagement.product.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the product change feed, bound from "product.changes" in application.yaml
+ *
+ * @param settleTime changes younger than this are held back from the feed; a write whose transaction
+ *                   commits later than this after stamping its change can be skipped by clients
+ */
+@ConfigurationProperties(prefix = "product.changes")
+public record ProductChangesProperties(Duration settleTime) {
+
+    public ProductChangesProperties {
+        settleTime = settleTime != null ? settleTime : Duration.ofSeconds(5);
+        if (settleTime.isNegative()) {
+            throw new IllegalArgumentException("Change settle time must not be negative");
+        }
+    }
+}
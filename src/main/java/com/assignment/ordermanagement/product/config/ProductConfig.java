@@ -1,13 +1,19 @@
 package com.assignment.ordermanagement.product.config;
 
+import com.assignment.ordermanagement.product.adapter.rest.ProductListRepresentationCache;
 import com.assignment.ordermanagement.product.application.usecase.*;
 import com.assignment.ordermanagement.product.domain.port.ProductRepository;
 import com.assignment.ordermanagement.product.domain.port.ProductService;
 import com.assignment.ordermanagement.product.domain.service.ProductDomainService;
+import com.assignment.ordermanagement.product.infrastructure.batch.BatchingProductRepositoryAdapter;
 import com.assignment.ordermanagement.product.infrastructure.cache.CachingProductRepositoryAdapter;
+import com.assignment.ordermanagement.product.infrastructure.index.IndexedProductRepositoryAdapter;
 import com.assignment.ordermanagement.product.infrastructure.persistence.adapter.ProductRepositoryAdapter;
 import com.assignment.ordermanagement.product.infrastructure.persistence.mapper.ProductEntityMapper;
 import com.assignment.ordermanagement.product.infrastructure.persistence.repository.ProductRepositoryJpa;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -16,6 +22,8 @@ import org.springframework.context.annotation.Configuration;
  * Wires all layers together following dependency inversion
  */
 @Configuration
+@EnableConfigurationProperties({ProductBatchingProperties.class, ProductListCacheProperties.class,
+                                ProductIndexProperties.class, ProductChangesProperties.class})
 public class ProductConfig {
 
     // Infrastructure Layer
@@ -26,15 +34,33 @@ public class ProductConfig {
 
     @Bean
     public ProductRepository productRepository(ProductRepositoryJpa jpaRepository, 
-                                               ProductEntityMapper mapper) {
-        ProductRepositoryAdapter adapter = new ProductRepositoryAdapter(jpaRepository, mapper);
-        return new CachingProductRepositoryAdapter(adapter);
+                                               ProductEntityMapper mapper,
+                                               CacheManager cacheManager,
+                                               ProductBatchingProperties batching,
+                                               ProductListCacheProperties listCache,
+                                               ProductIndexProperties index,
+                                               ProductChangesProperties changes) {
+        ProductRepository adapter = new ProductRepositoryAdapter(jpaRepository, mapper);
+        if (batching.enabled()) {
+            adapter = new BatchingProductRepositoryAdapter(adapter, batching.window(), batching.maxBatchSize(),
+                                                           batching.maxConcurrentLoads());
+        }
+        boolean indexed = index.consistency() == ProductIndexProperties.Consistency.EVENTUAL;
+        // The index answers every search itself, so search results are only cached without it
+        adapter = new CachingProductRepositoryAdapter(adapter, cacheManager,
+                                                      listCache.refreshAfter(), listCache.maxStaleness(), !indexed);
+        if (indexed) {
+            // Outermost, so its after-commit updates run after the caches have been updated
+            adapter = new IndexedProductRepositoryAdapter(adapter, index.syncAfter(), index.rebuildAfter(),
+                                                          changes.settleTime());
+        }
+        return adapter;
     }
 
     // Domain Layer
     @Bean
-    public ProductService productService(ProductRepository productRepository) {
-        return new ProductDomainService(productRepository);
+    public ProductService productService(ProductRepository productRepository, ProductChangesProperties changes) {
+        return new ProductDomainService(productRepository, changes.settleTime());
     }
 
     // Application Layer - Use Cases
@@ -48,11 +74,26 @@ public class ProductConfig {
         return new GetAllProductsUseCase(productService);
     }
 
+    @Bean
+    public GetProductsUseCase getProductsUseCase(ProductService productService) {
+        return new GetProductsUseCase(productService);
+    }
+
     @Bean
     public SearchProductsUseCase searchProductsUseCase(ProductService productService) {
         return new SearchProductsUseCase(productService);
     }
 
+    @Bean
+    public SuggestProductsUseCase suggestProductsUseCase(ProductService productService) {
+        return new SuggestProductsUseCase(productService);
+    }
+
+    @Bean
+    public GetProductChangesUseCase getProductChangesUseCase(ProductService productService) {
+        return new GetProductChangesUseCase(productService);
+    }
+
     @Bean
     public UpdateProductUseCase updateProductUseCase(ProductService productService) {
         return new UpdateProductUseCase(productService);
@@ -62,5 +103,12 @@ public class ProductConfig {
     public DeleteProductUseCase deleteProductUseCase(ProductService productService) {
         return new DeleteProductUseCase(productService);
     }
-}
 
+    // Adapter Layer
+    @Bean
+    public ProductListRepresentationCache productListRepresentationCache(GetAllProductsUseCase getAllProductsUseCase,
+                                                                         ObjectMapper objectMapper,
+                                                                         CacheManager cacheManager) {
+        return new ProductListRepresentationCache(getAllProductsUseCase, objectMapper, cacheManager);
+    }
+}
@@ -0,0 +1,29 @@
+package com.assignment.ordermanagement.product.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory product search index, bound from "product.index" in application.yaml
+ *
+ * @param consistency  EVENTUAL answers searches from the index, STRONG sends searches to the database, where
+ *                     filter search results are still served from the "productSearch" cache until a catalog
+ *                     write on this instance or the cache's expiry
+ * @param syncAfter    time after which changes made elsewhere are read from the change feed and applied
+ * @param rebuildAfter age after which the index is rebuilt from scratch, as a safety net behind the syncs
+ */
+@ConfigurationProperties(prefix = "product.index")
+public record ProductIndexProperties(Consistency consistency, Duration syncAfter, Duration rebuildAfter) {
+
+    public ProductIndexProperties {
+        consistency = consistency != null ? consistency : Consistency.EVENTUAL;
+        syncAfter = syncAfter != null ? syncAfter : Duration.ofMinutes(1);
+        rebuildAfter = rebuildAfter != null ? rebuildAfter : Duration.ofHours(1);
+    }
+
+    public enum Consistency {
+        EVENTUAL,
+        STRONG
+    }
+}
@@ -0,0 +1,20 @@
+package com.assignment.ordermanagement.product.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Freshness settings for the cached product list, bound from "product.list-cache" in application.yaml
+ *
+ * @param refreshAfter age after which the list is reloaded in the background while still being served
+ * @param maxStaleness age after which the list is no longer served and is reloaded before answering
+ */
+@ConfigurationProperties(prefix = "product.list-cache")
+public record ProductListCacheProperties(Duration refreshAfter, Duration maxStaleness) {
+
+    public ProductListCacheProperties {
+        refreshAfter = refreshAfter != null ? refreshAfter : Duration.ofSeconds(30);
+        maxStaleness = maxStaleness != null ? maxStaleness : Duration.ofMinutes(10);
+    }
+}
@@ -15,6 +15,8 @@ public class Product {
     private Instant createdAt;
     private Instant updatedAt;
     private boolean deleted;
+    // Set when this instance was given a stock level, so saves leave concurrent stock decreases alone otherwise
+    private boolean stockChanged;
 
     // Constructor for creating new products
     public Product(String name, String description, BigDecimal price, Integer quantity) {
@@ -53,6 +55,7 @@ public class Product {
             throw new IllegalStateException("Insufficient stock for product: " + name);
         }
         this.quantity -= amount;
+        this.stockChanged = true;
         this.updatedAt = Instant.now();
     }
 
@@ -61,6 +64,7 @@ public class Product {
             throw new IllegalArgumentException("Stock increase amount must be positive");
         }
         this.quantity += amount;
+        this.stockChanged = true;
         this.updatedAt = Instant.now();
     }
 
@@ -74,8 +78,10 @@ public class Product {
         if (price != null && price.compareTo(BigDecimal.ZERO) >= 0) {
             this.price = price;
         }
+        // Written even when equal to the loaded level, which may come from a stale stock cache
         if (quantity != null && quantity >= 0) {
             this.quantity = quantity;
+            this.stockChanged = true;
         }
         this.updatedAt = Instant.now();
     }
@@ -85,6 +91,11 @@ public class Product {
         this.updatedAt = Instant.now();
     }
 
+    // Copy of this product carrying the given stock level; the original is left untouched
+    public Product withQuantity(Integer quantity) {
+        return new Product(id, name, description, price, quantity, createdAt, updatedAt, deleted);
+    }
+
     // Getters
     public Long getId() {
         return id;
@@ -118,6 +129,10 @@ public class Product {
         return deleted;
     }
 
+    public boolean isStockChanged() {
+        return stockChanged;
+    }
+
     // For infrastructure layer to set ID after persistence
     public void setId(Long id) {
         this.id = id;
@@ -0,0 +1,36 @@
+package com.assignment.ordermanagement.product.domain.model;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts of the products matching a search per price bucket and per stock status
+ * Each facet ignores its own filter: price buckets count regardless of the price range and stock
+ * counts regardless of the in-stock filter, so each count is what selecting that value would return.
+ */
+public record ProductFacets(
+        List<PriceBucket> priceBuckets,
+        long inStock,
+        long outOfStock
+) {
+
+    /**
+     * Products priced from the lower bound (inclusive) up to the upper bound (exclusive);
+     * the last bucket has no upper bound
+     */
+    public record PriceBucket(BigDecimal from, BigDecimal to, long count) {
+    }
+
+    /**
+     * Facets for bucket lower bounds and the counts per bucket, in the same order
+     */
+    public static ProductFacets of(List<BigDecimal> bounds, long[] bucketCounts, long inStock, long outOfStock) {
+        List<PriceBucket> buckets = new ArrayList<>(bounds.size());
+        for (int i = 0; i < bounds.size(); i++) {
+            BigDecimal to = i + 1 < bounds.size() ? bounds.get(i + 1) : null;
+            buckets.add(new PriceBucket(bounds.get(i), to, bucketCounts[i]));
+        }
+        return new ProductFacets(buckets, inStock, outOfStock);
+    }
+}
@@ -0,0 +1,68 @@
+package com.assignment.ordermanagement.product.domain.model;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Product attributes a listing can be restricted to, so it only reads and returns those
+ */
+public enum ProductField {
+    ID("id"),
+    NAME("name"),
+    DESCRIPTION("description"),
+    PRICE("price"),
+    QUANTITY("quantity"),
+    IN_STOCK("inStock");
+
+    private static final String SUPPORTED = Arrays.stream(values()).map(ProductField::key).collect(Collectors.joining(", "));
+
+    private final String key;
+
+    ProductField(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Name of the field in responses and in the fields parameter
+     */
+    public String key() {
+        return key;
+    }
+
+    /**
+     * Value of this field for the given product
+     */
+    public Object valueOf(Product product) {
+        return switch (this) {
+            case ID -> product.getId();
+            case NAME -> product.getName();
+            case DESCRIPTION -> product.getDescription();
+            case PRICE -> product.getPrice();
+            case QUANTITY -> product.getQuantity();
+            case IN_STOCK -> product.isInStock();
+        };
+    }
+
+    /**
+     * Parses a comma-separated list of field names such as "id,name,price,inStock", ignoring case
+     */
+    public static Set<ProductField> parse(String fields) {
+        Set<ProductField> parsed = EnumSet.noneOf(ProductField.class);
+        for (String name : fields.split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            parsed.add(Arrays.stream(values())
+                    .filter(field -> field.key.toLowerCase(Locale.ROOT).equals(name.trim().toLowerCase(Locale.ROOT)))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported field: " + name.trim() + ". Use any of: " + SUPPORTED)));
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("At least one field is required. Use any of: " + SUPPORTED);
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,12 @@
+package com.assignment.ordermanagement.product.domain.model;
+
+import java.util.List;
+
+/**
+ * One page of products in keyset order
+ */
+public record ProductPage(
+        List<Product> items,
+        boolean hasMore
+) {
+}
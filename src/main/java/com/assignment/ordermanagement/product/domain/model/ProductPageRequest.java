@@ -0,0 +1,36 @@
+package com.assignment.ordermanagement.product.domain.model;
+
+/**
+ * Keyset page request: the sort order, the page size and the position of the last product
+ * of the previous page (null for the first page)
+ */
+public record ProductPageRequest(
+        ProductSortKey sortKey,
+        boolean descending,
+        int size,
+        String afterValue,
+        Long afterId
+) {
+
+    public static final int MAX_SIZE = 100;
+
+    public ProductPageRequest {
+        if (sortKey == null) {
+            throw new IllegalArgumentException("Sort key is required");
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SIZE);
+        }
+        if ((afterValue == null) != (afterId == null)) {
+            throw new IllegalArgumentException("Page position requires both a sort value and an id");
+        }
+    }
+
+    public static ProductPageRequest first(ProductSortKey sortKey, boolean descending, int size) {
+        return new ProductPageRequest(sortKey, descending, size, null, null);
+    }
+
+    public boolean isFirstPage() {
+        return afterId == null;
+    }
+}
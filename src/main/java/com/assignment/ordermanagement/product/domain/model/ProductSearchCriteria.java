@@ -0,0 +1,33 @@
+package com.assignment.ordermanagement.product.domain.model;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * Normalized product search criteria
+ * Equivalent searches produce equal criteria, so they can be used as a cache key
+ */
+public record ProductSearchCriteria(
+        String name,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        boolean inStockOnly
+) {
+
+    public static ProductSearchCriteria of(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock) {
+        String normalizedName = name == null || name.isBlank() ? null : name.trim().toLowerCase(Locale.ROOT);
+        return new ProductSearchCriteria(normalizedName, normalize(minPrice), normalize(maxPrice),
+                Boolean.TRUE.equals(inStock));
+    }
+
+    /**
+     * Same criteria restricted to catalog attributes (name and price)
+     */
+    public ProductSearchCriteria withoutStockFilter() {
+        return inStockOnly ? new ProductSearchCriteria(name, minPrice, maxPrice, false) : this;
+    }
+
+    private static BigDecimal normalize(BigDecimal price) {
+        return price != null ? price.stripTrailingZeros() : null;
+    }
+}
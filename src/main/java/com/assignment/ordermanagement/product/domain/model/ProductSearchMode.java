@@ -0,0 +1,23 @@
+package com.assignment.ordermanagement.product.domain.model;
+
+import java.util.Locale;
+
+/**
+ * How the search text of a product search is matched
+ */
+public enum ProductSearchMode {
+    // Case-insensitive substring of the name, results in id order
+    NAME,
+    // Words of the name or description, most relevant results first
+    RELEVANCE,
+    // Name close to the search text despite typos, closest results first
+    FUZZY;
+
+    public static ProductSearchMode from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unsupported search mode: " + value + ". Use one of: name, relevance, fuzzy");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.assignment.ordermanagement.product.domain.model;
+
+import java.util.Locale;
+
+/**
+ * Sort keys supported by paginated product listings
+ * Every key is combined with the product id as tie-breaker, so each position in the order is unique
+ */
+public enum ProductSortKey {
+    ID,
+    PRICE,
+    NAME;
+
+    public static ProductSortKey from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unsupported sort key: " + value + ". Use one of: id, price, name");
+        }
+    }
+
+    /**
+     * Value of this key for the given product, as carried in a page cursor
+     */
+    public String valueOf(Product product) {
+        return switch (this) {
+            case ID -> String.valueOf(product.getId());
+            case PRICE -> product.getPrice().toPlainString();
+            case NAME -> product.getName();
+        };
+    }
+}
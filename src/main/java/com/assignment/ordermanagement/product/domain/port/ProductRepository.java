@@ -1,10 +1,20 @@
 package com.assignment.ordermanagement.product.domain.port;
 
 import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductFacets;
+import com.assignment.ordermanagement.product.domain.model.ProductField;
+import com.assignment.ordermanagement.product.domain.model.ProductPage;
+import com.assignment.ordermanagement.product.domain.model.ProductPageRequest;
+import com.assignment.ordermanagement.product.domain.model.ProductSearchCriteria;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Port (Interface) for Product Repository
@@ -16,12 +26,92 @@ public interface ProductRepository {
     
     Optional<Product> findById(Long id);
     
+    List<Product> findAllByIds(Collection<Long> ids);
+
+    /**
+     * Reads only the current stock of the given products, without loading their catalog data.
+     *
+     * @return stock quantity keyed by product id; missing or deleted products are absent
+     */
+    Map<Long, Integer> findStockLevels(Collection<Long> ids);
+    
     List<Product> findAll();
     
     List<Product> search(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock);
+
+    /**
+     * Finds up to limit products matching the filters whose name or description contains a word of
+     * the text, most relevant first. Implementations without a relevance model return matches in id order.
+     */
+    List<Product> searchRanked(String text, ProductSearchCriteria filters, int limit);
+
+    /**
+     * Finds up to limit products matching the filters whose name is close to the text even when
+     * misspelt, closest first.
+     */
+    List<Product> searchSimilar(String text, ProductSearchCriteria filters, int limit);
+
+    /**
+     * Finds up to limit products whose name, or a word within it, starts with the prefix
+     * (case-insensitive), best suggestions first.
+     */
+    List<Product> findByNamePrefix(String prefix, int limit);
+
+    /**
+     * Counts the products matching the criteria per price bucket and per stock status.
+     *
+     * @param bucketBounds ascending lower bounds of the price buckets
+     */
+    ProductFacets findFacets(ProductSearchCriteria criteria, List<BigDecimal> bucketBounds);
+
+    /**
+     * Reads one page of products matching the criteria, positioned after the last product
+     * of the previous page (keyset pagination).
+     */
+    ProductPage findPage(ProductSearchCriteria criteria, ProductPageRequest pageRequest);
+
+    /**
+     * Reads one page like findPage, filling in only the requested fields of each product
+     * (plus the id and the sort key, which the cursor needs); all other attributes are null.
+     */
+    ProductPage findPage(ProductSearchCriteria criteria, ProductPageRequest pageRequest, Set<ProductField> fields);
+
+    /**
+     * Reads up to limit products created, updated or deleted after the (changedAfter, afterId) position
+     * and before changedBefore, ordered by change time and id. Deleted products are included, flagged as deleted.
+     */
+    ProductPage findChanges(Instant changedAfter, long afterId, Instant changedBefore, int limit);
+
+    /**
+     * Hands every product matching the criteria to the action, one at a time and in id order,
+     * without materializing the full result.
+     */
+    void stream(ProductSearchCriteria criteria, Consumer<Product> action);
+
+    /**
+     * Version of the product data returned by findAll. It changes whenever a product or its stock
+     * changes, so callers can reuse anything derived from the data while the version is unchanged.
+     */
+    long getVersion();
     
     void deleteById(Long id);
     
     boolean existsById(Long id);
+    
+    /**
+     * Atomically removes stock from a product, only if enough is left.
+     *
+     * @return true if the stock was decreased
+     */
+    boolean decreaseStock(Long id, int quantity);
+    
+    /**
+     * Atomically removes stock from several products in one operation.
+     * Each product is only decreased when enough of its stock is left.
+     *
+     * @param quantities quantity to remove, keyed by product id
+     * @return the number of products whose stock was decreased
+     */
+    int decreaseStock(Map<Long, Integer> quantities);
 }
 
@@ -1,9 +1,18 @@
 package com.assignment.ordermanagement.product.domain.port;
 
 import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductFacets;
+import com.assignment.ordermanagement.product.domain.model.ProductField;
+import com.assignment.ordermanagement.product.domain.model.ProductPage;
+import com.assignment.ordermanagement.product.domain.model.ProductPageRequest;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Port (Interface) for Product Domain Service
@@ -16,12 +25,71 @@ public interface ProductService {
     
     Product getProductById(Long id);
     
+    List<Product> getProductsByIds(Collection<Long> ids);
+    
     List<Product> getAllProducts();
+
+    long getProductsVersion();
     
     List<Product> searchProducts(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock);
+
+    /**
+     * Finds up to limit products matching the filters whose name or description contains a word of
+     * the text, most relevant first.
+     */
+    List<Product> searchProductsByRelevance(String text, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock,
+                                            int limit);
+
+    /**
+     * Finds up to limit products matching the filters whose name is close to the text even when
+     * misspelt, closest first.
+     */
+    List<Product> searchSimilarProducts(String text, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock,
+                                        int limit);
+
+    /**
+     * Finds up to limit products whose name, or a word within it, starts with the prefix.
+     */
+    List<Product> suggestProducts(String prefix, int limit);
+
+    /**
+     * Counts the products matching the filters per price bucket and per stock status.
+     *
+     * @param bucketBounds ascending, non-negative lower bounds of the price buckets
+     */
+    ProductFacets getProductFacets(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock,
+                                   List<BigDecimal> bucketBounds);
+
+    ProductPage getProductPage(ProductPageRequest pageRequest);
+
+    ProductPage searchProductPage(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock,
+                                  ProductPageRequest pageRequest);
+
+    /**
+     * Searches one page like searchProductPage, reading only the requested fields of each product.
+     */
+    ProductPage searchProductPage(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock,
+                                  ProductPageRequest pageRequest, Set<ProductField> fields);
+
+    /**
+     * Reads up to limit products created, updated or deleted after the (changedAfter, afterId) position,
+     * oldest change first. A null changedAfter starts from the beginning.
+     */
+    ProductPage getProductChanges(Instant changedAfter, Long afterId, int limit);
+
+    void streamProducts(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock,
+                        Consumer<Product> action);
     
     void deleteProduct(Long id);
     
     void decreaseStock(Long productId, int quantity);
+    
+    /**
+     * Decreases the stock of every product in one go.
+     *
+     * @param quantities quantity to remove, keyed by product id
+     * @return true if every product had enough stock and was decreased
+     */
+    boolean reserveStock(Map<Long, Integer> quantities);
 }
 
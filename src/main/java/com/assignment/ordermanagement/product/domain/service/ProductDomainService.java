@@ -1,12 +1,23 @@
 package com.assignment.ordermanagement.product.domain.service;
 
 import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductFacets;
+import com.assignment.ordermanagement.product.domain.model.ProductField;
+import com.assignment.ordermanagement.product.domain.model.ProductPage;
+import com.assignment.ordermanagement.product.domain.model.ProductPageRequest;
+import com.assignment.ordermanagement.product.domain.model.ProductSearchCriteria;
 import com.assignment.ordermanagement.product.domain.port.ProductRepository;
 import com.assignment.ordermanagement.product.domain.port.ProductService;
 import com.assignment.ordermanagement.product.domain.exception.ProductNotFoundException;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Product Domain Service Implementation
@@ -14,10 +25,26 @@ import java.util.List;
  */
 public class ProductDomainService implements ProductService {
 
+    static final int MAX_PRICE_BUCKETS = 20;
+
+    static final Duration DEFAULT_CHANGE_SETTLE_TIME = Duration.ofSeconds(5);
+
     private final ProductRepository productRepository;
+    private final Duration changeSettleTime;
 
     public ProductDomainService(ProductRepository productRepository) {
+        this(productRepository, DEFAULT_CHANGE_SETTLE_TIME);
+    }
+
+    /**
+     * @param changeSettleTime changes younger than this are held back from the change feed. Changes are
+     *                         stamped before their transaction commits, so a change still in flight could
+     *                         otherwise commit behind a cursor already handed out. A transaction committing
+     *                         later than this after stamping its change can still be skipped.
+     */
+    public ProductDomainService(ProductRepository productRepository, Duration changeSettleTime) {
         this.productRepository = productRepository;
+        this.changeSettleTime = changeSettleTime;
     }
 
     @Override
@@ -43,16 +70,105 @@ public class ProductDomainService implements ProductService {
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
     }
 
+    @Override
+    public List<Product> getProductsByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return productRepository.findAllByIds(ids);
+    }
+
     @Override
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
 
+    @Override
+    public long getProductsVersion() {
+        return productRepository.getVersion();
+    }
+
     @Override
     public List<Product> searchProducts(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock) {
         return productRepository.search(name, minPrice, maxPrice, inStock);
     }
 
+    @Override
+    public List<Product> searchProductsByRelevance(String text, BigDecimal minPrice, BigDecimal maxPrice,
+                                                   Boolean inStock, int limit) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text is required for relevance search");
+        }
+        return productRepository.searchRanked(text, ProductSearchCriteria.of(null, minPrice, maxPrice, inStock), limit);
+    }
+
+    @Override
+    public List<Product> searchSimilarProducts(String text, BigDecimal minPrice, BigDecimal maxPrice,
+                                               Boolean inStock, int limit) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text is required for fuzzy search");
+        }
+        return productRepository.searchSimilar(text, ProductSearchCriteria.of(null, minPrice, maxPrice, inStock), limit);
+    }
+
+    @Override
+    public List<Product> suggestProducts(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return productRepository.findByNamePrefix(prefix, limit);
+    }
+
+    @Override
+    public ProductFacets getProductFacets(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock,
+                                          List<BigDecimal> bucketBounds) {
+        if (bucketBounds == null || bucketBounds.isEmpty() || bucketBounds.size() > MAX_PRICE_BUCKETS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_PRICE_BUCKETS + " price buckets are required");
+        }
+        for (int i = 0; i < bucketBounds.size(); i++) {
+            if (bucketBounds.get(i).signum() < 0
+                    || i > 0 && bucketBounds.get(i).compareTo(bucketBounds.get(i - 1)) <= 0) {
+                throw new IllegalArgumentException("Price bucket bounds must be non-negative and ascending");
+            }
+        }
+        return productRepository.findFacets(ProductSearchCriteria.of(name, minPrice, maxPrice, inStock), bucketBounds);
+    }
+
+    @Override
+    public ProductPage getProductPage(ProductPageRequest pageRequest) {
+        return productRepository.findPage(ProductSearchCriteria.of(null, null, null, null), pageRequest);
+    }
+
+    @Override
+    public ProductPage searchProductPage(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock,
+                                         ProductPageRequest pageRequest) {
+        return productRepository.findPage(ProductSearchCriteria.of(name, minPrice, maxPrice, inStock), pageRequest);
+    }
+
+    @Override
+    public ProductPage searchProductPage(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock,
+                                         ProductPageRequest pageRequest, Set<ProductField> fields) {
+        return productRepository.findPage(ProductSearchCriteria.of(name, minPrice, maxPrice, inStock), pageRequest, fields);
+    }
+
+    @Override
+    public ProductPage getProductChanges(Instant changedAfter, Long afterId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Change limit must be positive");
+        }
+        Instant changedBefore = Instant.now().minus(changeSettleTime);
+        if (changedAfter == null) {
+            return productRepository.findChanges(Instant.EPOCH, 0L, changedBefore, limit);
+        }
+        return productRepository.findChanges(changedAfter, afterId != null ? afterId : 0L, changedBefore, limit);
+    }
+
+    @Override
+    public void streamProducts(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock,
+                               Consumer<Product> action) {
+        productRepository.stream(ProductSearchCriteria.of(name, minPrice, maxPrice, inStock), action);
+    }
+
     @Override
     public void deleteProduct(Long id) {
         if (!productRepository.existsById(id)) {
@@ -64,9 +180,30 @@ public class ProductDomainService implements ProductService {
 
     @Override
     public void decreaseStock(Long productId, int quantity) {
-        Product product = getProductById(productId);
-        product.decreaseStock(quantity);
-        productRepository.save(product);
+        validateStockQuantity(quantity);
+
+        if (!productRepository.decreaseStock(productId, quantity)) {
+            if (!productRepository.existsById(productId)) {
+                throw new ProductNotFoundException("Product not found with id: " + productId);
+            }
+            throw new IllegalStateException("Insufficient stock for product with id: " + productId);
+        }
+    }
+
+    @Override
+    public boolean reserveStock(Map<Long, Integer> quantities) {
+        if (quantities == null || quantities.isEmpty()) {
+            return true;
+        }
+        quantities.values().forEach(this::validateStockQuantity);
+
+        return productRepository.decreaseStock(quantities) == quantities.size();
+    }
+
+    private void validateStockQuantity(Integer quantity) {
+        if (quantity == null || quantity <= 0) {
+            throw new IllegalArgumentException("Stock quantity must be positive");
+        }
     }
 
     private void validateProductData(String name, BigDecimal price, Integer quantity) {
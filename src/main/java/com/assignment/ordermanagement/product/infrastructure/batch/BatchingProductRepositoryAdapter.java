@@ -0,0 +1,307 @@
+package com.assignment.ordermanagement.product.infrastructure.batch;
+
+import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductFacets;
+import com.assignment.ordermanagement.product.domain.model.ProductField;
+import com.assignment.ordermanagement.product.domain.model.ProductPage;
+import com.assignment.ordermanagement.product.domain.model.ProductPageRequest;
+import com.assignment.ordermanagement.product.domain.model.ProductSearchCriteria;
+import com.assignment.ordermanagement.product.domain.port.ProductRepository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Batching decorator for ProductRepository
+ * Lookups by id that arrive from different threads within a short window are collected and
+ * resolved with a single IN query, and each caller gets its own products back. A lookup that finds
+ * the adapter idle, with nothing pending and no load running, is sent right away. Otherwise it joins
+ * the pending batch, which is sent as soon as it reaches the maximum size, or when the window started
+ * by its first lookup closes.
+ * Loads run on a small pool of loader threads, so one slow query does not hold up the batches
+ * behind it. Callers inside a transaction are not batched: they already hold a connection, and
+ * waiting on a loader that needs a second one could exhaust the pool, so they load on their own
+ * thread and read within their transaction. All other operations go straight to the delegate.
+ * Windows are closed by a scheduler thread owned by this adapter; both stop on close().
+ */
+public class BatchingProductRepositoryAdapter implements ProductRepository, AutoCloseable {
+
+    static final int DEFAULT_CONCURRENT_LOADS = 4;
+
+    private final ProductRepository delegate;
+    private final ScheduledExecutorService scheduler;
+    private final ThreadPoolExecutor loader;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    private final Object lock = new Object();
+    private final AtomicInteger loadsInFlight = new AtomicInteger();
+    private Map<Long, CompletableFuture<Product>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledDispatch;
+    private boolean closed;
+
+    public BatchingProductRepositoryAdapter(ProductRepository delegate, Duration window, int maxBatchSize) {
+        this(delegate, window, maxBatchSize, DEFAULT_CONCURRENT_LOADS);
+    }
+
+    /**
+     * @param maxConcurrentLoads number of batch queries that may run at the same time; further batches queue up
+     */
+    public BatchingProductRepositoryAdapter(ProductRepository delegate, Duration window, int maxBatchSize,
+                                            int maxConcurrentLoads) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Max batch size must be at least 1");
+        }
+        if (maxConcurrentLoads < 1) {
+            throw new IllegalArgumentException("Max concurrent loads must be at least 1");
+        }
+        this.delegate = delegate;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "product-batch-window");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger loaderCount = new AtomicInteger();
+        this.loader = new ThreadPoolExecutor(maxConcurrentLoads, maxConcurrentLoads, 1, TimeUnit.MINUTES,
+                                             new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, "product-batch-loader-" + loaderCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.loader.allowCoreThreadTimeOut(true);
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public Optional<Product> findById(Long id) {
+        return findAllByIds(List.of(id)).stream().findFirst();
+    }
+
+    /**
+     * Queues the ids for the next batch and waits for it. Results follow the order of the
+     * requested ids; unknown ids are left out. Inside a transaction the ids are loaded right away.
+     */
+    @Override
+    public List<Product> findAllByIds(Collection<Long> ids) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return delegate.findAllByIds(ids);
+        }
+        Map<Long, CompletableFuture<Product>> requested = new LinkedHashMap<>();
+        List<Map<Long, CompletableFuture<Product>>> fullBatches = new ArrayList<>();
+
+        synchronized (lock) {
+            if (closed) {
+                return delegate.findAllByIds(ids);
+            }
+            boolean idle = pending.isEmpty() && loadsInFlight.get() == 0;
+            for (Long id : new LinkedHashSet<>(ids)) {
+                requested.put(id, pending.computeIfAbsent(id, key -> new CompletableFuture<>()));
+                if (pending.size() >= maxBatchSize) {
+                    fullBatches.add(takePending());
+                }
+            }
+            // Nothing to share a batch with, so waiting for the window would only add latency
+            if (idle && !pending.isEmpty()) {
+                fullBatches.add(takePending());
+            }
+            if (!pending.isEmpty() && scheduledDispatch == null) {
+                scheduledDispatch = scheduler.schedule(this::dispatchPending, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        // Full batches and lookups made while idle are sent right away instead of waiting for the window
+        fullBatches.forEach(this::submit);
+
+        List<Product> products = new ArrayList<>(requested.size());
+        requested.values().forEach(load -> {
+            Product product = await(load);
+            if (product != null) {
+                products.add(product);
+            }
+        });
+        return products;
+    }
+
+    @Override
+    public Product save(Product product) {
+        return delegate.save(product);
+    }
+
+    @Override
+    public Map<Long, Integer> findStockLevels(Collection<Long> ids) {
+        return delegate.findStockLevels(ids);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Product> search(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock) {
+        return delegate.search(name, minPrice, maxPrice, inStock);
+    }
+
+    @Override
+    public List<Product> searchRanked(String text, ProductSearchCriteria filters, int limit) {
+        return delegate.searchRanked(text, filters, limit);
+    }
+
+    @Override
+    public List<Product> searchSimilar(String text, ProductSearchCriteria filters, int limit) {
+        return delegate.searchSimilar(text, filters, limit);
+    }
+
+    @Override
+    public List<Product> findByNamePrefix(String prefix, int limit) {
+        return delegate.findByNamePrefix(prefix, limit);
+    }
+
+    @Override
+    public ProductFacets findFacets(ProductSearchCriteria criteria, List<BigDecimal> bucketBounds) {
+        return delegate.findFacets(criteria, bucketBounds);
+    }
+
+    @Override
+    public ProductPage findPage(ProductSearchCriteria criteria, ProductPageRequest pageRequest) {
+        return delegate.findPage(criteria, pageRequest);
+    }
+
+    @Override
+    public ProductPage findPage(ProductSearchCriteria criteria, ProductPageRequest pageRequest, Set<ProductField> fields) {
+        return delegate.findPage(criteria, pageRequest, fields);
+    }
+
+    @Override
+    public ProductPage findChanges(Instant changedAfter, long afterId, Instant changedBefore, int limit) {
+        return delegate.findChanges(changedAfter, afterId, changedBefore, limit);
+    }
+
+    @Override
+    public void stream(ProductSearchCriteria criteria, Consumer<Product> action) {
+        delegate.stream(criteria, action);
+    }
+
+    @Override
+    public long getVersion() {
+        return delegate.getVersion();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public boolean decreaseStock(Long id, int quantity) {
+        return delegate.decreaseStock(id, quantity);
+    }
+
+    @Override
+    public int decreaseStock(Map<Long, Integer> quantities) {
+        return delegate.decreaseStock(quantities);
+    }
+
+    /**
+     * Sends what is still pending and stops the scheduler and the loaders once queued batches are
+     * loaded. Later lookups are not batched.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+        }
+        dispatchPending();
+        scheduler.shutdown();
+        loader.shutdown();
+    }
+
+    private void dispatchPending() {
+        Map<Long, CompletableFuture<Product>> batch;
+        synchronized (lock) {
+            scheduledDispatch = null;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = takePending();
+        }
+        submit(batch);
+    }
+
+    // Called with the lock held
+    private Map<Long, CompletableFuture<Product>> takePending() {
+        Map<Long, CompletableFuture<Product>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledDispatch != null) {
+            scheduledDispatch.cancel(false);
+            scheduledDispatch = null;
+        }
+        return batch;
+    }
+
+    // Loads on a loader thread; only once the loaders are shut down does the calling thread load itself
+    private void submit(Map<Long, CompletableFuture<Product>> batch) {
+        loadsInFlight.incrementAndGet();
+        try {
+            loader.execute(() -> load(batch));
+        } catch (RejectedExecutionException e) {
+            load(batch);
+        }
+    }
+
+    // Every future of the batch is completed, whatever the load throws, so no caller waits forever
+    private void load(Map<Long, CompletableFuture<Product>> batch) {
+        try {
+            Map<Long, Product> products = new HashMap<>();
+            delegate.findAllByIds(List.copyOf(batch.keySet()))
+                    .forEach(product -> products.put(product.getId(), product));
+            batch.forEach((id, load) -> load.complete(products.get(id)));
+        } catch (Throwable e) {
+            batch.values().forEach(load -> load.completeExceptionally(e));
+        } finally {
+            loadsInFlight.decrementAndGet();
+        }
+    }
+
+    private static Product await(CompletableFuture<Product> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,58 +1,729 @@
 package com.assignment.ordermanagement.product.infrastructure.cache;
 
 import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductFacets;
+import com.assignment.ordermanagement.product.domain.model.ProductField;
+import com.assignment.ordermanagement.product.domain.model.ProductPage;
+import com.assignment.ordermanagement.product.domain.model.ProductPageRequest;
+import com.assignment.ordermanagement.product.domain.model.ProductSearchCriteria;
 import com.assignment.ordermanagement.product.domain.port.ProductRepository;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static com.assignment.ordermanagement.shared.transaction.TransactionCallbacks.afterCommit;
 
 /**
  * Caching decorator for ProductRepository
- * Adds caching capabilities to the repository
+ * Adds caching capabilities to the repository.
+ * Catalog data (name, description, price) lives in the long-lived "products" and "productList"
+ * caches, while stock levels live in the small "productStock" cache. Reads assemble both, so
+ * stock decreases only refresh stock entries and leave the catalog caches intact.
+ * When search caching is on, search results are cached as product ids under the normalized criteria
+ * and the current catalog version, which is bumped on every catalog write of this instance so its
+ * own writes are never served stale. It is only turned on when no search index sits in front of
+ * this decorator, as the index answers every search itself.
+ * Writes are applied per key, and inside a transaction they are deferred until after commit.
+ * Concurrent lookups of the same uncached product share a single load, and ids that do not exist
+ * are remembered for a short time in "productMisses" so repeated lookups do not reach the database.
+ * When a refresh interval is set, a product list older than it is still served while a single
+ * background task reloads it, and a list older than the maximum staleness is reloaded before use.
+ * The list then never waits for stock either: expired stock entries are served with the level the
+ * list was loaded with, which is no older than the maximum staleness, while a background task
+ * reloads them. Searches always load expired stock entries first, since their in-stock filter and
+ * the catalog entries they are built from may be much older than that.
+ * Stock reloads never run in after-commit callbacks, where the committed transaction's connection is
+ * still bound: committed stock changes evict their entries and queue them for the background reload.
+ * Ids queued while a reload runs are merged into the next one.
  */
-public class CachingProductRepositoryAdapter implements ProductRepository {
+public class CachingProductRepositoryAdapter implements ProductRepository, AutoCloseable {
+
+    static final String PRODUCTS_CACHE = "products";
+    static final String PRODUCT_LIST_CACHE = "productList";
+    static final String PRODUCT_STOCK_CACHE = "productStock";
+    static final String PRODUCT_SEARCH_CACHE = "productSearch";
+    static final String PRODUCT_MISSES_CACHE = "productMisses";
+    static final String ALL_PRODUCTS_KEY = "all";
+
+    // Stock misses are loaded in IN queries of at most this many ids, well below database bind-parameter limits
+    static final int STOCK_LOOKUP_CHUNK_SIZE = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(CachingProductRepositoryAdapter.class);
 
     private final ProductRepository delegate;
+    private final CacheManager cacheManager;
+    private final Object productListLock = new Object();
+    private final Object listReloadLock = new Object();
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final AtomicLong dataVersion = new AtomicLong();
+    private final ConcurrentMap<Long, CompletableFuture<Product>> loading = new ConcurrentHashMap<>();
+    private final Duration listRefreshAfter;
+    private final Duration listMaxStaleness;
+    private final Executor refreshExecutor;
+    private final AtomicBoolean listRefreshing = new AtomicBoolean();
+    private final AtomicBoolean stockRefreshing = new AtomicBoolean();
+    private final Set<Long> staleStock = ConcurrentHashMap.newKeySet();
+    private final boolean cacheSearches;
+    private volatile long listLoadedAt = System.nanoTime();
+
+    public CachingProductRepositoryAdapter(ProductRepository delegate, CacheManager cacheManager) {
+        this(delegate, cacheManager, null, null, null);
+    }
+
+    /**
+     * @param listRefreshAfter age after which the product list is reloaded in the background while still served
+     * @param listMaxStaleness age after which the product list is no longer served and is reloaded first
+     */
+    public CachingProductRepositoryAdapter(ProductRepository delegate, CacheManager cacheManager,
+                                           Duration listRefreshAfter, Duration listMaxStaleness) {
+        this(delegate, cacheManager, listRefreshAfter, listMaxStaleness, true);
+    }
+
+    /**
+     * @param cacheSearches whether filter search results are kept in the "productSearch" cache
+     */
+    public CachingProductRepositoryAdapter(ProductRepository delegate, CacheManager cacheManager,
+                                           Duration listRefreshAfter, Duration listMaxStaleness,
+                                           boolean cacheSearches) {
+        this(delegate, cacheManager, listRefreshAfter, listMaxStaleness, Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "product-list-refresher");
+            thread.setDaemon(true);
+            return thread;
+        }), cacheSearches);
+    }
 
-    public CachingProductRepositoryAdapter(ProductRepository delegate) {
+    CachingProductRepositoryAdapter(ProductRepository delegate, CacheManager cacheManager,
+                                    Duration listRefreshAfter, Duration listMaxStaleness, Executor refreshExecutor) {
+        this(delegate, cacheManager, listRefreshAfter, listMaxStaleness, refreshExecutor, true);
+    }
+
+    CachingProductRepositoryAdapter(ProductRepository delegate, CacheManager cacheManager,
+                                    Duration listRefreshAfter, Duration listMaxStaleness, Executor refreshExecutor,
+                                    boolean cacheSearches) {
         this.delegate = delegate;
+        this.cacheManager = cacheManager;
+        this.listRefreshAfter = listRefreshAfter;
+        this.listMaxStaleness = listMaxStaleness;
+        this.refreshExecutor = refreshExecutor;
+        this.cacheSearches = cacheSearches;
     }
 
+    /**
+     * The stock entry is only replaced when the save wrote the stock level. Otherwise the quantity
+     * the product carries may predate a concurrent order, and the cached level is kept.
+     */
     @Override
-    @CacheEvict(value = {"products", "productList"}, allEntries = true)
     public Product save(Product product) {
-        return delegate.save(product);
+        boolean stockWritten = product.getId() == null || product.isStockChanged();
+        Product saved = delegate.save(product);
+        Product snapshot = saved.withQuantity(saved.getQuantity());
+        afterCommit(() -> {
+            catalogVersion.incrementAndGet();
+            putCatalog(List.of(snapshot));
+            evict(PRODUCT_MISSES_CACHE, List.of(snapshot.getId()));
+            patchProductList(List.of(snapshot), List.of());
+            Cache stock = cacheManager.getCache(PRODUCT_STOCK_CACHE);
+            if (stock != null && stockWritten) {
+                stock.put(snapshot.getId(), snapshot.getQuantity());
+            }
+            dataVersion.incrementAndGet();
+        });
+        return saved;
     }
 
     @Override
-    @Cacheable(value = "products", key = "#id")
     public Optional<Product> findById(Long id) {
-        return delegate.findById(id);
+        return findAllByIds(List.of(id)).stream().findFirst();
+    }
+
+    /**
+     * Serves each id from the "products" cache and loads all misses with a single delegate call,
+     * populating the cache with the loaded products. Ids recently found missing are skipped.
+     * Results follow the order of the requested ids and carry the current stock level.
+     */
+    @Override
+    public List<Product> findAllByIds(Collection<Long> ids) {
+        return withCurrentStock(catalogEntries(ids));
+    }
+
+    // Catalog entries of the given ids in request order, with null for ids that do not exist
+    private Collection<Product> catalogEntries(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(PRODUCTS_CACHE);
+        Cache knownMissing = cacheManager.getCache(PRODUCT_MISSES_CACHE);
+        Map<Long, Product> products = new LinkedHashMap<>();
+        List<Long> misses = new ArrayList<>();
+
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Cache.ValueWrapper cached = cache != null ? cache.get(id) : null;
+            if (cached == null && (knownMissing == null || knownMissing.get(id) == null)) {
+                misses.add(id);
+            }
+            products.put(id, cached != null ? (Product) cached.get() : null);
+        }
+
+        if (!misses.isEmpty()) {
+            products.putAll(load(misses));
+        }
+        return products.values();
+    }
+
+    /**
+     * Serves stock levels from the "productStock" cache and loads the misses with stock-only
+     * delegate calls of at most STOCK_LOOKUP_CHUNK_SIZE ids each.
+     */
+    @Override
+    public Map<Long, Integer> findStockLevels(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(PRODUCT_STOCK_CACHE);
+        Map<Long, Integer> levels = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Cache.ValueWrapper cached = cache != null ? cache.get(id) : null;
+            if (cached == null) {
+                misses.add(id);
+            } else {
+                levels.put(id, (Integer) cached.get());
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            Map<Long, Integer> loaded = loadStockLevels(misses);
+            if (cache != null) {
+                loaded.forEach(cache::putIfAbsent);
+            }
+            levels.putAll(loaded);
+        }
+        return levels;
     }
 
+    /**
+     * Does not wait for the database while the cached list is younger than the maximum staleness:
+     * an aging list and expired stock entries are both reloaded in the background.
+     */
     @Override
-    @Cacheable(value = "productList")
     public List<Product> findAll() {
-        return delegate.findAll();
+        Cache cache = cacheManager.getCache(PRODUCT_LIST_CACHE);
+        List<Product> catalog;
+        if (cache == null) {
+            catalog = delegate.findAll();
+            primeStock(catalog);
+        } else if (isOlderThan(listMaxStaleness)) {
+            catalog = reloadProductList(cache);
+        } else {
+            // Only one caller loads a missing list; concurrent callers wait for its result
+            catalog = cache.get(ALL_PRODUCTS_KEY, this::loadProductList);
+            if (isOlderThan(listRefreshAfter)) {
+                refreshProductListInBackground(cache);
+            }
+        }
+        return withCachedStock(catalog);
     }
 
+    /**
+     * Serves the ids matching the name and price criteria from the "productSearch" cache and
+     * assembles the products from the catalog and stock caches. The in-stock filter is applied
+     * to the current stock levels, so stock changes never invalidate cached searches.
+     * Goes straight to the delegate when search caching is off.
+     */
     @Override
+    @SuppressWarnings("unchecked")
     public List<Product> search(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock) {
-        return delegate.search(name, minPrice, maxPrice, inStock);
+        ProductSearchCriteria criteria = ProductSearchCriteria.of(name, minPrice, maxPrice, inStock);
+        Cache cache = cacheSearches ? cacheManager.getCache(PRODUCT_SEARCH_CACHE) : null;
+        if (cache == null) {
+            return delegate.search(criteria.name(), criteria.minPrice(), criteria.maxPrice(), inStock);
+        }
+
+        // Read the version before loading so a concurrent write leaves this result unreachable
+        SearchKey key = new SearchKey(catalogVersion.get(), criteria.withoutStockFilter());
+        Cache.ValueWrapper cached = cache.get(key);
+        List<Long> ids;
+        if (cached != null) {
+            ids = (List<Long>) cached.get();
+        } else {
+            List<Product> found = delegate.search(criteria.name(), criteria.minPrice(), criteria.maxPrice(), null);
+            putCatalog(found);
+            primeStock(found);
+            ids = found.stream().map(Product::getId).toList();
+            cache.put(key, ids);
+        }
+
+        List<Product> products = withCurrentStock(catalogEntries(ids));
+        if (criteria.inStockOnly()) {
+            return products.stream().filter(Product::isInStock).toList();
+        }
+        return products;
+    }
+
+    /**
+     * Ranked searches are not cached: their free text rarely repeats exactly.
+     */
+    @Override
+    public List<Product> searchRanked(String text, ProductSearchCriteria filters, int limit) {
+        return delegate.searchRanked(text, filters, limit);
+    }
+
+    @Override
+    public List<Product> searchSimilar(String text, ProductSearchCriteria filters, int limit) {
+        return delegate.searchSimilar(text, filters, limit);
+    }
+
+    @Override
+    public List<Product> findByNamePrefix(String prefix, int limit) {
+        return delegate.findByNamePrefix(prefix, limit);
+    }
+
+    @Override
+    public ProductFacets findFacets(ProductSearchCriteria criteria, List<BigDecimal> bucketBounds) {
+        return delegate.findFacets(criteria, bucketBounds);
+    }
+
+    /**
+     * Pages are read straight from the database: each one is a short index range scan, and
+     * caching every (criteria, position) combination would not pay off.
+     */
+    @Override
+    public ProductPage findPage(ProductSearchCriteria criteria, ProductPageRequest pageRequest) {
+        return delegate.findPage(criteria, pageRequest);
+    }
+
+    @Override
+    public ProductPage findPage(ProductSearchCriteria criteria, ProductPageRequest pageRequest, Set<ProductField> fields) {
+        return delegate.findPage(criteria, pageRequest, fields);
+    }
+
+    @Override
+    public ProductPage findChanges(Instant changedAfter, long afterId, Instant changedBefore, int limit) {
+        return delegate.findChanges(changedAfter, afterId, changedBefore, limit);
+    }
+
+    /**
+     * Streams straight from the database: the point of streaming is to never hold the full result.
+     */
+    @Override
+    public void stream(ProductSearchCriteria criteria, Consumer<Product> action) {
+        delegate.stream(criteria, action);
+    }
+
+    /**
+     * Counts the committed changes seen by this decorator and the reloads of the product list, which
+     * may pick up changes made elsewhere. It is bumped after the caches have been updated, so data
+     * read under a version is never older than that version. The version is local to this instance:
+     * writes made by other instances only move it once a list or stock reload has picked them up.
+     */
+    @Override
+    public long getVersion() {
+        return dataVersion.get();
     }
 
     @Override
-    @CacheEvict(value = {"products", "productList"}, allEntries = true)
     public void deleteById(Long id) {
         delegate.deleteById(id);
+        afterCommit(() -> {
+            catalogVersion.incrementAndGet();
+            evict(PRODUCTS_CACHE, List.of(id));
+            evict(PRODUCT_STOCK_CACHE, List.of(id));
+            putMisses(List.of(id));
+            patchProductList(List.of(), List.of(id));
+            dataVersion.incrementAndGet();
+        });
     }
 
     @Override
     public boolean existsById(Long id) {
+        Cache knownMissing = cacheManager.getCache(PRODUCT_MISSES_CACHE);
+        if (knownMissing != null && knownMissing.get(id) != null) {
+            return false;
+        }
         return delegate.existsById(id);
     }
-}
 
+    /**
+     * Decreases stock and, once committed, evicts the stock entry of the product and queues it for
+     * the background reload. Catalog entries are left untouched.
+     */
+    @Override
+    public boolean decreaseStock(Long id, int quantity) {
+        boolean decreased = delegate.decreaseStock(id, quantity);
+        if (decreased) {
+            afterCommit(() -> expireStock(List.of(id)));
+        }
+        return decreased;
+    }
+
+    /**
+     * Decreases stock for all given products and, once committed, evicts their stock entries and
+     * queues them for a single stock-only reload in the background. Catalog entries are left untouched.
+     */
+    @Override
+    public int decreaseStock(Map<Long, Integer> quantities) {
+        int updated = delegate.decreaseStock(quantities);
+        if (updated > 0) {
+            List<Long> ids = List.copyOf(quantities.keySet());
+            afterCommit(() -> expireStock(ids));
+        }
+        return updated;
+    }
+
+    /**
+     * Drops stock entries that a committed change made stale, without querying the database. Until
+     * the background reload has run, lookups and searches load the levels themselves.
+     */
+    private void expireStock(Collection<Long> ids) {
+        evict(PRODUCT_STOCK_CACHE, ids);
+        dataVersion.incrementAndGet();
+        if (refreshExecutor != null) {
+            refreshStockInBackground(ids);
+        }
+    }
+
+    /**
+     * Returns copies of the given catalog entries carrying their current stock level, so cached
+     * catalog entries are never handed out or mutated. Products without a stock level have been
+     * deleted and are dropped.
+     */
+    private List<Product> withCurrentStock(Collection<Product> catalog) {
+        List<Long> ids = new ArrayList<>(catalog.size());
+        for (Product product : catalog) {
+            if (product != null) {
+                ids.add(product.getId());
+            }
+        }
+        Map<Long, Integer> levels = findStockLevels(ids);
+
+        List<Product> products = new ArrayList<>(ids.size());
+        for (Product product : catalog) {
+            if (product != null && levels.containsKey(product.getId())) {
+                products.add(product.withQuantity(levels.get(product.getId())));
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Like withCurrentStock, but for entries of the product list and without waiting for the database:
+     * products whose stock entry has expired carry the level the list was loaded with, and their stock
+     * is reloaded in the background. The list is never older than the maximum staleness, so neither is
+     * that level. Without a refresh executor or a maximum staleness the stock is looked up as in
+     * withCurrentStock.
+     */
+    private List<Product> withCachedStock(Collection<Product> catalog) {
+        Cache cache = cacheManager.getCache(PRODUCT_STOCK_CACHE);
+        if (cache == null || refreshExecutor == null || listMaxStaleness == null) {
+            return withCurrentStock(catalog);
+        }
+
+        List<Product> products = new ArrayList<>(catalog.size());
+        List<Long> expired = new ArrayList<>();
+        for (Product product : catalog) {
+            if (product == null) {
+                continue;
+            }
+            Cache.ValueWrapper level = cache.get(product.getId());
+            if (level == null) {
+                expired.add(product.getId());
+            }
+            products.add(product.withQuantity(level != null ? (Integer) level.get() : product.getQuantity()));
+        }
+        if (!expired.isEmpty()) {
+            refreshStockInBackground(expired);
+        }
+        return products;
+    }
+
+    /**
+     * Queues the given stock levels for reloading and starts a background reload unless one is
+     * already running. Ids queued meanwhile are picked up by the next reload, which the running one
+     * starts when it finishes. If a reload fails, a read that finds the entries still missing queues
+     * them again.
+     */
+    private void refreshStockInBackground(Collection<Long> ids) {
+        staleStock.addAll(ids);
+        startStockRefresh();
+    }
+
+    private void startStockRefresh() {
+        if (staleStock.isEmpty() || !stockRefreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    List<Long> ids = new ArrayList<>(staleStock);
+                    staleStock.removeAll(ids);
+                    refreshStock(ids);
+                } catch (RuntimeException e) {
+                    log.warn("Background refresh of stock levels failed, serving the cached levels", e);
+                } finally {
+                    stockRefreshing.set(false);
+                }
+                startStockRefresh();
+            });
+        } catch (RejectedExecutionException e) {
+            stockRefreshing.set(false);
+        }
+    }
+
+    private List<Product> loadProductList() {
+        List<Product> loaded = delegate.findAll();
+        primeStock(loaded);
+        listLoadedAt = System.nanoTime();
+        dataVersion.incrementAndGet();
+        return loaded;
+    }
+
+    private boolean isOlderThan(Duration age) {
+        return age != null && System.nanoTime() - listLoadedAt >= age.toNanos();
+    }
+
+    /**
+     * Reloads a list that is too stale to serve. Callers arriving during the reload wait for it
+     * instead of reloading again.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Product> reloadProductList(Cache cache) {
+        synchronized (listReloadLock) {
+            Cache.ValueWrapper cached = cache.get(ALL_PRODUCTS_KEY);
+            if (cached != null && !isOlderThan(listMaxStaleness)) {
+                return (List<Product>) cached.get();
+            }
+            List<Product> loaded = loadProductList();
+            cache.put(ALL_PRODUCTS_KEY, loaded);
+            return loaded;
+        }
+    }
+
+    /**
+     * Starts a background reload of the product list unless one is already running. Readers keep
+     * getting the current list meanwhile; if the reload fails, the list stays and a later read retries.
+     */
+    private void refreshProductListInBackground(Cache cache) {
+        if (!listRefreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refreshProductList(cache);
+                } catch (RuntimeException e) {
+                    log.warn("Background refresh of the product list failed, serving the cached list", e);
+                } finally {
+                    listRefreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            listRefreshing.set(false);
+        }
+    }
+
+    private void refreshProductList(Cache cache) {
+        long catalogVersionBefore = catalogVersion.get();
+        long dataVersionBefore = dataVersion.get();
+        List<Product> loaded = delegate.findAll();
+
+        // A write committed during the load has already patched the cached list; keep that one
+        synchronized (productListLock) {
+            if (catalogVersion.get() == catalogVersionBefore) {
+                cache.put(ALL_PRODUCTS_KEY, loaded);
+                listLoadedAt = System.nanoTime();
+            }
+        }
+
+        // Renew the stock entries too, unless stock changed during the load
+        Cache stock = cacheManager.getCache(PRODUCT_STOCK_CACHE);
+        if (stock != null && dataVersion.get() == dataVersionBefore) {
+            loaded.forEach(product -> stock.put(product.getId(), product.getQuantity()));
+        } else {
+            primeStock(loaded);
+        }
+
+        // The reload may have picked up changes made elsewhere
+        dataVersion.incrementAndGet();
+    }
+
+    /**
+     * Loads the given ids with a single delegate call. An id that is already being loaded by another
+     * caller is not loaded again: this caller waits for that load instead, so a burst of lookups for
+     * the same uncached product reaches the database once.
+     */
+    private Map<Long, Product> load(Collection<Long> ids) {
+        Map<Long, CompletableFuture<Product>> owned = new LinkedHashMap<>();
+        Map<Long, CompletableFuture<Product>> pending = new LinkedHashMap<>();
+        for (Long id : ids) {
+            CompletableFuture<Product> load = new CompletableFuture<>();
+            CompletableFuture<Product> running = loading.putIfAbsent(id, load);
+            if (running == null) {
+                owned.put(id, load);
+            } else {
+                pending.put(id, running);
+            }
+        }
+
+        Map<Long, Product> products = new HashMap<>();
+        if (!owned.isEmpty()) {
+            long version = catalogVersion.get();
+            try {
+                List<Product> loaded = delegate.findAllByIds(List.copyOf(owned.keySet()));
+                putCatalog(loaded);
+                primeStock(loaded);
+                loaded.forEach(product -> products.put(product.getId(), product));
+
+                // A catalog write during the load may have created one of these ids
+                if (catalogVersion.get() == version) {
+                    putMisses(owned.keySet().stream().filter(id -> !products.containsKey(id)).toList());
+                }
+                owned.forEach((id, load) -> load.complete(products.get(id)));
+            } catch (RuntimeException e) {
+                owned.values().forEach(load -> load.completeExceptionally(e));
+                throw e;
+            } finally {
+                owned.forEach(loading::remove);
+            }
+        }
+
+        pending.forEach((id, load) -> {
+            Product product = await(load);
+            if (product != null) {
+                products.put(id, product);
+            }
+        });
+        return products;
+    }
+
+    private static Product await(CompletableFuture<Product> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void putMisses(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(PRODUCT_MISSES_CACHE);
+        if (cache != null) {
+            ids.forEach(id -> cache.put(id, Boolean.TRUE));
+        }
+    }
+
+    /**
+     * Reloads the given stock levels. Products without a stock level have been deleted, possibly
+     * by another instance, so they are dropped from the catalog caches as well.
+     */
+    private void refreshStock(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(PRODUCT_STOCK_CACHE);
+        if (cache != null) {
+            Map<Long, Integer> levels = loadStockLevels(List.copyOf(ids));
+            levels.forEach(cache::put);
+
+            Set<Long> missing = new HashSet<>(ids);
+            missing.removeAll(levels.keySet());
+            if (!missing.isEmpty()) {
+                missing.forEach(cache::evict);
+                evict(PRODUCTS_CACHE, missing);
+                patchProductList(List.of(), missing);
+            }
+        }
+        dataVersion.incrementAndGet();
+    }
+
+    private Map<Long, Integer> loadStockLevels(List<Long> ids) {
+        if (ids.size() <= STOCK_LOOKUP_CHUNK_SIZE) {
+            return delegate.findStockLevels(ids);
+        }
+        Map<Long, Integer> levels = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += STOCK_LOOKUP_CHUNK_SIZE) {
+            levels.putAll(delegate.findStockLevels(ids.subList(from, Math.min(from + STOCK_LOOKUP_CHUNK_SIZE, ids.size()))));
+        }
+        return levels;
+    }
+
+    private void putCatalog(Collection<Product> products) {
+        Cache cache = cacheManager.getCache(PRODUCTS_CACHE);
+        if (cache != null) {
+            products.forEach(product -> cache.put(product.getId(), product));
+        }
+    }
+
+    private void primeStock(Collection<Product> products) {
+        Cache cache = cacheManager.getCache(PRODUCT_STOCK_CACHE);
+        if (cache != null) {
+            products.forEach(product -> cache.putIfAbsent(product.getId(), product.getQuantity()));
+        }
+    }
+
+    private void evict(String cacheName, Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+
+    /**
+     * Replaces or appends the given products in the cached product list and removes the given ids.
+     * The list is copied rather than mutated so readers never observe a partially patched list.
+     */
+    @SuppressWarnings("unchecked")
+    private void patchProductList(Collection<Product> upserts, Collection<Long> removals) {
+        Cache cache = cacheManager.getCache(PRODUCT_LIST_CACHE);
+        if (cache == null) {
+            return;
+        }
+        synchronized (productListLock) {
+            Cache.ValueWrapper cached = cache.get(ALL_PRODUCTS_KEY);
+            if (cached == null || cached.get() == null) {
+                return;
+            }
+            Map<Long, Product> products = new LinkedHashMap<>();
+            ((List<Product>) cached.get()).forEach(product -> products.put(product.getId(), product));
+            upserts.forEach(product -> products.put(product.getId(), product));
+            removals.forEach(products::remove);
+            cache.put(ALL_PRODUCTS_KEY, new ArrayList<>(products.values()));
+        }
+    }
+
+    /**
+     * Stops the list refresher and closes the delegate when it holds resources of its own,
+     * such as a batching scheduler.
+     */
+    @Override
+    public void close() throws Exception {
+        if (refreshExecutor instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private record SearchKey(long catalogVersion, ProductSearchCriteria criteria) {
+    }
+}
@@ -0,0 +1,410 @@
+package com.assignment.ordermanagement.product.infrastructure.index;
+
+import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductFacets;
+import com.assignment.ordermanagement.product.domain.model.ProductField;
+import com.assignment.ordermanagement.product.domain.model.ProductPage;
+import com.assignment.ordermanagement.product.domain.model.ProductPageRequest;
+import com.assignment.ordermanagement.product.domain.model.ProductSearchCriteria;
+import com.assignment.ordermanagement.product.domain.port.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static com.assignment.ordermanagement.shared.transaction.TransactionCallbacks.afterCommit;
+
+/**
+ * Decorator for ProductRepository that answers searches from an in-memory ProductCatalogIndex
+ * The index is built from the catalog streamed from the database on first use and then kept up to
+ * date by the writes going through this repository, applied once they are committed. Changes made
+ * by other instances are picked up in the background once the sync interval has passed, by applying
+ * the products changed since the last sync as read from the change feed. Changes younger than the
+ * settle time are left for the next sync, as their transactions may not have committed yet.
+ * As a safety net the index is still rebuilt from scratch once older than the rebuild interval;
+ * writes committed while a rebuild runs are replayed onto the new index.
+ * Builds stream past the delegate's product list cache, so they never start from a stale list.
+ * Stock levels changed by a commit are reloaded on the rebuild thread rather than in the after-commit
+ * callback, where the committed transaction's connection is still bound.
+ * Everything other than search is passed through to the delegate.
+ */
+public class IndexedProductRepositoryAdapter implements ProductRepository, AutoCloseable {
+
+    // Changes are read from the change feed in pages of at most this many products
+    static final int SYNC_PAGE_SIZE = 500;
+
+    private static final Logger log = LoggerFactory.getLogger(IndexedProductRepositoryAdapter.class);
+
+    private final ProductRepository delegate;
+    private final Duration syncAfter;
+    private final Duration rebuildAfter;
+    private final Duration settleTime;
+    private final Executor rebuildExecutor;
+    private final Object buildLock = new Object();
+    private final Object writeLock = new Object();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicBoolean stockRefreshing = new AtomicBoolean();
+    private final Set<Long> staleStock = ConcurrentHashMap.newKeySet();
+    private volatile ProductCatalogIndex index;
+    private volatile long builtAt;
+    private volatile long syncedAt;
+
+    // Change feed position up to which the index is in sync; guarded by buildLock
+    private Instant syncedUpTo;
+    private long syncedAfterId;
+
+    // Ids written while a build runs, replayed onto the new index before it is published
+    private Set<Long> changedDuringBuild;
+
+    /**
+     * @param syncAfter    time after which changes made elsewhere are applied in the background
+     * @param rebuildAfter age after which the index is rebuilt in the background while still being used
+     * @param settleTime   age a change must reach before a sync applies it
+     */
+    public IndexedProductRepositoryAdapter(ProductRepository delegate, Duration syncAfter, Duration rebuildAfter,
+                                           Duration settleTime) {
+        this(delegate, syncAfter, rebuildAfter, settleTime, Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "product-index-rebuilder");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    IndexedProductRepositoryAdapter(ProductRepository delegate, Duration syncAfter, Duration rebuildAfter,
+                                    Duration settleTime, Executor rebuildExecutor) {
+        this.delegate = delegate;
+        this.syncAfter = syncAfter;
+        this.rebuildAfter = rebuildAfter;
+        this.settleTime = settleTime;
+        this.rebuildExecutor = rebuildExecutor;
+    }
+
+    /**
+     * When the save left the stock level alone, the indexed level is taken from the delegate, as the
+     * quantity the product carries may predate a concurrent order.
+     */
+    @Override
+    public Product save(Product product) {
+        boolean stockWritten = product.getId() == null || product.isStockChanged();
+        Product saved = delegate.save(product);
+        Product snapshot = saved.withQuantity(saved.getQuantity());
+        afterCommit(() -> {
+            apply(List.of(snapshot.getId()), index -> index.put(snapshot));
+            if (!stockWritten) {
+                refreshStockInBackground(List.of(snapshot.getId()));
+            }
+        });
+        return saved;
+    }
+
+    @Override
+    public Optional<Product> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Product> findAllByIds(Collection<Long> ids) {
+        return delegate.findAllByIds(ids);
+    }
+
+    @Override
+    public Map<Long, Integer> findStockLevels(Collection<Long> ids) {
+        return delegate.findStockLevels(ids);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    /**
+     * Answered from the index, without reaching the database once the index is built.
+     */
+    @Override
+    public List<Product> search(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock) {
+        return currentIndex().search(ProductSearchCriteria.of(name, minPrice, maxPrice, inStock));
+    }
+
+    /**
+     * Ranked with BM25 over the name and description terms held in the index.
+     */
+    @Override
+    public List<Product> searchRanked(String text, ProductSearchCriteria filters, int limit) {
+        return currentIndex().searchText(text, filters, limit);
+    }
+
+    /**
+     * Answered from the name trigrams held in the index.
+     */
+    @Override
+    public List<Product> searchSimilar(String text, ProductSearchCriteria filters, int limit) {
+        return currentIndex().searchSimilar(text, filters, limit);
+    }
+
+    /**
+     * Answered from the name trie held in the index.
+     */
+    @Override
+    public List<Product> findByNamePrefix(String prefix, int limit) {
+        return currentIndex().suggest(prefix, limit);
+    }
+
+    /**
+     * Counted in one pass over the price and stock arrays of the index.
+     */
+    @Override
+    public ProductFacets findFacets(ProductSearchCriteria criteria, List<BigDecimal> bucketBounds) {
+        return currentIndex().facets(criteria, bucketBounds);
+    }
+
+    /**
+     * Pages are read from the database, whose composite indexes already serve each page as a
+     * short range scan in the collation the cursors rely on.
+     */
+    @Override
+    public ProductPage findPage(ProductSearchCriteria criteria, ProductPageRequest pageRequest) {
+        return delegate.findPage(criteria, pageRequest);
+    }
+
+    @Override
+    public ProductPage findPage(ProductSearchCriteria criteria, ProductPageRequest pageRequest, Set<ProductField> fields) {
+        return delegate.findPage(criteria, pageRequest, fields);
+    }
+
+    /**
+     * Read from the database, as the index keeps neither change times nor deleted products.
+     */
+    @Override
+    public ProductPage findChanges(Instant changedAfter, long afterId, Instant changedBefore, int limit) {
+        return delegate.findChanges(changedAfter, afterId, changedBefore, limit);
+    }
+
+    @Override
+    public void stream(ProductSearchCriteria criteria, Consumer<Product> action) {
+        delegate.stream(criteria, action);
+    }
+
+    @Override
+    public long getVersion() {
+        return delegate.getVersion();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        afterCommit(() -> apply(List.of(id), index -> index.remove(id)));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public boolean decreaseStock(Long id, int quantity) {
+        boolean decreased = delegate.decreaseStock(id, quantity);
+        if (decreased) {
+            afterCommit(() -> refreshStockInBackground(List.of(id)));
+        }
+        return decreased;
+    }
+
+    @Override
+    public int decreaseStock(Map<Long, Integer> quantities) {
+        int updated = delegate.decreaseStock(quantities);
+        if (updated > 0) {
+            List<Long> ids = List.copyOf(quantities.keySet());
+            afterCommit(() -> refreshStockInBackground(ids));
+        }
+        return updated;
+    }
+
+    /**
+     * The index, built on first use. Callers arriving during the first build wait for it.
+     */
+    private ProductCatalogIndex currentIndex() {
+        ProductCatalogIndex current = index;
+        if (current == null) {
+            synchronized (buildLock) {
+                if (index == null) {
+                    build();
+                }
+                return index;
+            }
+        }
+        long now = System.nanoTime();
+        if (rebuildAfter != null && now - builtAt >= rebuildAfter.toNanos()) {
+            refreshInBackground(true);
+        } else if (syncAfter != null && now - syncedAt >= syncAfter.toNanos()) {
+            refreshInBackground(false);
+        }
+        return current;
+    }
+
+    /**
+     * Starts a background sync, or a full rebuild, unless one is already running. Searches keep using
+     * the current index meanwhile; if the refresh fails, the index stays and a later search retries.
+     */
+    private void refreshInBackground(boolean rebuild) {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuildExecutor.execute(() -> {
+                try {
+                    synchronized (buildLock) {
+                        if (rebuild) {
+                            build();
+                        } else {
+                            sync();
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Background refresh of the product index failed, keeping the current index", e);
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * Applies the products changed since the last sync, page by page, and moves the change feed
+     * position past them. Deleted products are removed from the index. Callers hold buildLock.
+     */
+    private void sync() {
+        long startedAt = System.nanoTime();
+        Instant changedBefore = Instant.now().minus(settleTime);
+        ProductPage changes;
+        do {
+            changes = delegate.findChanges(syncedUpTo, syncedAfterId, changedBefore, SYNC_PAGE_SIZE);
+            List<Product> changed = changes.items();
+            if (changed.isEmpty()) {
+                break;
+            }
+            List<Long> ids = changed.stream().map(Product::getId).toList();
+            List<Product> current = changed.stream().filter(product -> !product.isDeleted()).toList();
+            apply(ids, index -> index.sync(ids, current));
+
+            Product last = changed.get(changed.size() - 1);
+            syncedUpTo = last.getUpdatedAt();
+            syncedAfterId = last.getId();
+        } while (changes.hasMore());
+        syncedAt = startedAt;
+    }
+
+    // Callers hold buildLock, so only one build runs at a time
+    private void build() {
+        synchronized (writeLock) {
+            changedDuringBuild = new HashSet<>();
+        }
+        // Changes stamped before this point minus the settle time have committed and are in the stream
+        Instant startedAt = Instant.now();
+        try {
+            List<Product> catalog = new ArrayList<>();
+            delegate.stream(ProductSearchCriteria.of(null, null, null, null), catalog::add);
+            ProductCatalogIndex built = ProductCatalogIndex.of(catalog);
+            while (true) {
+                Set<Long> changed;
+                synchronized (writeLock) {
+                    if (changedDuringBuild.isEmpty()) {
+                        index = built;
+                        builtAt = System.nanoTime();
+                        syncedAt = builtAt;
+                        syncedUpTo = startedAt.minus(settleTime);
+                        syncedAfterId = 0L;
+                        return;
+                    }
+                    changed = changedDuringBuild;
+                    changedDuringBuild = new HashSet<>();
+                }
+                built.sync(changed, delegate.findAllByIds(changed));
+            }
+        } finally {
+            synchronized (writeLock) {
+                changedDuringBuild = null;
+            }
+        }
+    }
+
+    /**
+     * Queues the given stock levels for reloading and starts a background reload unless one is
+     * already running. Ids queued meanwhile are picked up by the next reload.
+     */
+    private void refreshStockInBackground(Collection<Long> ids) {
+        staleStock.addAll(ids);
+        startStockRefresh();
+    }
+
+    private void startStockRefresh() {
+        if (staleStock.isEmpty() || !stockRefreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuildExecutor.execute(() -> {
+                try {
+                    List<Long> ids = new ArrayList<>(staleStock);
+                    staleStock.removeAll(ids);
+                    refreshStock(ids);
+                } catch (RuntimeException e) {
+                    log.warn("Background refresh of indexed stock levels failed, keeping the indexed levels", e);
+                } finally {
+                    stockRefreshing.set(false);
+                }
+                startStockRefresh();
+            });
+        } catch (RejectedExecutionException e) {
+            stockRefreshing.set(false);
+        }
+    }
+
+    private void refreshStock(Collection<Long> ids) {
+        Map<Long, Integer> levels = delegate.findStockLevels(ids);
+        apply(ids, index -> index.updateStock(levels));
+    }
+
+    /**
+     * Applies a committed change to the current index and records it for a build that is running.
+     */
+    private void apply(Collection<Long> ids, Consumer<ProductCatalogIndex> change) {
+        synchronized (writeLock) {
+            if (index != null) {
+                change.accept(index);
+            }
+            if (changedDuringBuild != null) {
+                changedDuringBuild.addAll(ids);
+            }
+        }
+    }
+
+    /**
+     * Stops the rebuild thread and closes the delegate when it holds resources of its own.
+     */
+    @Override
+    public void close() throws Exception {
+        if (rebuildExecutor instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package com.assignment.ordermanagement.product.infrastructure.index;
+
+import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductFacets;
+import com.assignment.ordermanagement.product.domain.model.ProductSearchCriteria;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of the product catalog for answering filter queries without the database
+ * Every product occupies a row; its attributes are kept in primitive arrays indexed by row.
+ * Rows are also kept sorted by price, so a price range is two binary searches, and in-stock rows
+ * are tracked in a bitset, so the stock filter is a single intersection.
+ * Names and descriptions are also indexed as text, so searches can be ranked by relevance, and names
+ * are kept in a trie for prefix suggestions and as trigrams for typo-tolerant search.
+ * Rows of removed products are reused by later inserts. Reads run concurrently, writes exclusively.
+ */
+class ProductCatalogIndex {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> rowById = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final BitSet inStock = new BitSet();
+    private final ProductTextIndex text = new ProductTextIndex();
+    private final ProductNameTrie nameTrie = new ProductNameTrie(this::rankSuggestions);
+    private final ProductTrigramIndex trigrams = new ProductTrigramIndex();
+
+    private Product[] products = new Product[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private long[] prices = new long[INITIAL_CAPACITY];
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private int rowCount;
+    private int[] freeRows = new int[0];
+    private int freeCount;
+
+    // Rows ordered by (price, row) and their prices, in parallel
+    private int[] rowsByPrice = new int[INITIAL_CAPACITY];
+    private long[] sortedPrices = new long[INITIAL_CAPACITY];
+    private int sortedCount;
+
+    /**
+     * Builds the index for the given products with a single sort instead of one insert per product.
+     */
+    static ProductCatalogIndex of(Collection<Product> catalog) {
+        ProductCatalogIndex index = new ProductCatalogIndex();
+        for (Product product : catalog) {
+            if (!product.isDeleted() && !index.rowById.containsKey(product.getId())) {
+                index.store(index.allocateRow(), product);
+            }
+        }
+        index.sortByPrice();
+        return index;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return rowById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the product or replaces its indexed attributes; a deleted product is removed.
+     */
+    void put(Product product) {
+        lock.writeLock().lock();
+        try {
+            upsert(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Updates the stock of indexed products; levels of products not in the index are ignored.
+     */
+    void updateStock(Map<Long, Integer> levels) {
+        lock.writeLock().lock();
+        try {
+            levels.forEach((id, quantity) -> {
+                Integer row = rowById.get(id);
+                if (row != null) {
+                    setQuantity(row, quantity);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Brings the given ids in line with their current state: ids among the current products are
+     * indexed with those, all others are removed.
+     */
+    void sync(Collection<Long> ids, Collection<Product> current) {
+        lock.writeLock().lock();
+        try {
+            Set<Long> found = new HashSet<>();
+            for (Product product : current) {
+                upsert(product);
+                found.add(product.getId());
+            }
+            ids.stream().filter(id -> !found.contains(id)).forEach(this::delete);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Products matching the criteria in id order, with the same semantics as the database search:
+     * case-insensitive name substring, inclusive price bounds and a positive stock level.
+     */
+    List<Product> search(ProductSearchCriteria criteria) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = matching(criteria);
+            List<Product> found = new ArrayList<>(matches.cardinality());
+            for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+                found.add(products[row].withQuantity(quantities[row]));
+            }
+            found.sort(Comparator.comparing(Product::getId));
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to limit products matching the filters whose name or description shares a term with the text,
+     * most relevant first
+     */
+    List<Product> searchText(String query, ProductSearchCriteria filters, int limit) {
+        lock.readLock().lock();
+        try {
+            int[] rows = text.search(query, matching(filters), limit, row -> products[row].getId());
+            List<Product> found = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                found.add(products[row].withQuantity(quantities[row]));
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to limit products matching the filters whose name is close to the text despite typos,
+     * closest first
+     */
+    List<Product> searchSimilar(String query, ProductSearchCriteria filters, int limit) {
+        lock.readLock().lock();
+        try {
+            int[] rows = trigrams.search(query, matching(filters), limit, row -> products[row].getId());
+            List<Product> found = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                found.add(products[row].withQuantity(quantities[row]));
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to limit products whose name, or a word within it, starts with the prefix. Names starting
+     * with the prefix come first, then shorter names before longer ones.
+     */
+    List<Product> suggest(String prefix, int limit) {
+        String normalized = prefix.stripLeading().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int[] rows = nameTrie.lookup(normalized, limit);
+            List<Product> found = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                found.add(products[row].withQuantity(quantities[row]));
+            }
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the products matching the criteria per price bucket and per stock status in a single
+     * pass over the name-matching rows. Price buckets ignore the price range and stock counts
+     * ignore the in-stock filter.
+     */
+    ProductFacets facets(ProductSearchCriteria criteria, List<BigDecimal> bucketBounds) {
+        long[] bounds = new long[bucketBounds.size()];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = toCents(bucketBounds.get(i), RoundingMode.CEILING);
+        }
+        long minPrice = criteria.minPrice() == null ? Long.MIN_VALUE : toCents(criteria.minPrice(), RoundingMode.CEILING);
+        long maxPrice = criteria.maxPrice() == null ? Long.MAX_VALUE : toCents(criteria.maxPrice(), RoundingMode.FLOOR);
+
+        long[] bucketCounts = new long[bounds.length];
+        long inStockCount = 0;
+        long outOfStockCount = 0;
+        lock.readLock().lock();
+        try {
+            for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1)) {
+                if (criteria.name() != null && !names[row].contains(criteria.name())) {
+                    continue;
+                }
+                long price = prices[row];
+                boolean stocked = quantities[row] > 0;
+                if (stocked || !criteria.inStockOnly()) {
+                    int bucket = bucketOf(bounds, price);
+                    if (bucket >= 0) {
+                        bucketCounts[bucket]++;
+                    }
+                }
+                if (price >= minPrice && price <= maxPrice) {
+                    if (stocked) {
+                        inStockCount++;
+                    } else {
+                        outOfStockCount++;
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ProductFacets.of(bucketBounds, bucketCounts, inStockCount, outOfStockCount);
+    }
+
+    // Index of the last bound at or below the price, or -1 when the price is below every bound
+    private static int bucketOf(long[] bounds, long price) {
+        int low = 0;
+        int high = bounds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bounds[mid] <= price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+
+    private int rankSuggestions(int entry, int other) {
+        if (ProductNameTrie.isNameStart(entry) != ProductNameTrie.isNameStart(other)) {
+            return ProductNameTrie.isNameStart(entry) ? -1 : 1;
+        }
+        int row = ProductNameTrie.row(entry);
+        int otherRow = ProductNameTrie.row(other);
+        int byLength = Integer.compare(names[row].length(), names[otherRow].length());
+        if (byLength != 0) {
+            return byLength;
+        }
+        int byName = names[row].compareTo(names[otherRow]);
+        return byName != 0 ? byName : products[row].getId().compareTo(products[otherRow].getId());
+    }
+
+    private BitSet matching(ProductSearchCriteria criteria) {
+        BitSet matches = priceRange(criteria.minPrice(), criteria.maxPrice());
+        if (criteria.inStockOnly()) {
+            matches.and(inStock);
+        }
+        if (criteria.name() != null) {
+            for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+                if (!names[row].contains(criteria.name())) {
+                    matches.clear(row);
+                }
+            }
+        }
+        return matches;
+    }
+
+    // Rows whose price lies within the bounds; either bound may be absent
+    private BitSet priceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        if (minPrice == null && maxPrice == null) {
+            return (BitSet) live.clone();
+        }
+        int from = minPrice == null ? 0 : firstAtLeast(toCents(minPrice, RoundingMode.CEILING));
+        int to = maxPrice == null ? sortedCount : firstAtLeast(toCents(maxPrice, RoundingMode.FLOOR) + 1);
+
+        BitSet rows = new BitSet(rowCount);
+        for (int i = from; i < to; i++) {
+            rows.set(rowsByPrice[i]);
+        }
+        return rows;
+    }
+
+    // Position of the first sorted price that is >= the given price
+    private int firstAtLeast(long price) {
+        int low = 0;
+        int high = sortedCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedPrices[mid] < price) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void upsert(Product product) {
+        if (product.isDeleted()) {
+            delete(product.getId());
+            return;
+        }
+        Integer row = rowById.get(product.getId());
+        if (row == null) {
+            int newRow = allocateRow();
+            store(newRow, product);
+            insertIntoPriceOrder(newRow);
+            return;
+        }
+        long previousPrice = prices[row];
+        store(row, product);
+        if (prices[row] != previousPrice) {
+            removeFromPriceOrder(row, previousPrice);
+            insertIntoPriceOrder(row);
+        }
+    }
+
+    private void delete(Long id) {
+        Integer row = rowById.remove(id);
+        if (row == null) {
+            return;
+        }
+        removeFromPriceOrder(row, prices[row]);
+        live.clear(row);
+        inStock.clear(row);
+        text.remove(row);
+        nameTrie.remove(row, products[row].getName());
+        trigrams.remove(row);
+        products[row] = null;
+        names[row] = null;
+        if (freeCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, Math.max(INITIAL_CAPACITY, freeCount * 2));
+        }
+        freeRows[freeCount++] = row;
+    }
+
+    private int allocateRow() {
+        if (freeCount > 0) {
+            return freeRows[--freeCount];
+        }
+        if (rowCount == products.length) {
+            int capacity = rowCount + (rowCount >> 1);
+            products = Arrays.copyOf(products, capacity);
+            names = Arrays.copyOf(names, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            quantities = Arrays.copyOf(quantities, capacity);
+            rowsByPrice = Arrays.copyOf(rowsByPrice, capacity);
+            sortedPrices = Arrays.copyOf(sortedPrices, capacity);
+        }
+        return rowCount++;
+    }
+
+    private void store(int row, Product product) {
+        Product previous = products[row];
+        boolean renamed = previous == null || !previous.getName().equals(product.getName());
+        if (renamed || !Objects.equals(previous.getDescription(), product.getDescription())) {
+            text.remove(row);
+            text.add(row, product.getName(), product.getDescription());
+        }
+        if (renamed && previous != null) {
+            nameTrie.remove(row, previous.getName());
+            trigrams.remove(row);
+        }
+        rowById.put(product.getId(), row);
+        live.set(row);
+        products[row] = product;
+        names[row] = product.getName().toLowerCase(Locale.ROOT);
+        if (renamed) {
+            nameTrie.add(row, product.getName());
+            trigrams.add(row, product.getName());
+        }
+        prices[row] = toCents(product.getPrice(), RoundingMode.HALF_UP);
+        setQuantity(row, product.getQuantity());
+    }
+
+    private void setQuantity(int row, Integer quantity) {
+        quantities[row] = quantity != null ? quantity : 0;
+        inStock.set(row, quantities[row] > 0);
+    }
+
+    private void sortByPrice() {
+        Integer[] order = live.stream().boxed().toArray(Integer[]::new);
+        Arrays.sort(order, Comparator.<Integer>comparingLong(row -> prices[row]).thenComparingInt(row -> row));
+        for (int i = 0; i < order.length; i++) {
+            rowsByPrice[i] = order[i];
+            sortedPrices[i] = prices[order[i]];
+        }
+        sortedCount = order.length;
+    }
+
+    private void insertIntoPriceOrder(int row) {
+        int position = firstAtLeast(prices[row]);
+        while (position < sortedCount && sortedPrices[position] == prices[row] && rowsByPrice[position] < row) {
+            position++;
+        }
+        System.arraycopy(rowsByPrice, position, rowsByPrice, position + 1, sortedCount - position);
+        System.arraycopy(sortedPrices, position, sortedPrices, position + 1, sortedCount - position);
+        rowsByPrice[position] = row;
+        sortedPrices[position] = prices[row];
+        sortedCount++;
+    }
+
+    private void removeFromPriceOrder(int row, long price) {
+        int position = firstAtLeast(price);
+        while (rowsByPrice[position] != row) {
+            position++;
+        }
+        sortedCount--;
+        System.arraycopy(rowsByPrice, position + 1, rowsByPrice, position, sortedCount - position);
+        System.arraycopy(sortedPrices, position + 1, sortedPrices, position, sortedCount - position);
+    }
+
+    // Prices are stored with two decimals, like the price column
+    private static long toCents(BigDecimal price, RoundingMode rounding) {
+        return price.movePointRight(2).setScale(0, rounding).longValueExact();
+    }
+}
@@ -0,0 +1,307 @@
+package com.assignment.ordermanagement.product.infrastructure.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Radix trie over lower-cased product names for prefix suggestions
+ * Every name is inserted once as a whole and once from the start of each further word, so a prefix
+ * matches the beginning of any word. Each node keeps the best CAPACITY entries below it, one per row,
+ * which makes a lookup a walk down the prefix followed by a copy of that node's entries.
+ * Entries are rows of the owning ProductCatalogIndex, which ranks them and guards access to the trie.
+ */
+class ProductNameTrie {
+
+    static final int CAPACITY = 10;
+
+    /**
+     * Orders two entries, better first
+     */
+    interface Ranking {
+        int compare(int entry, int other);
+    }
+
+    private final Ranking ranking;
+    private final Node root = new Node("");
+
+    ProductNameTrie(Ranking ranking) {
+        this.ranking = ranking;
+    }
+
+    /**
+     * Entry of a row for a key starting at the beginning of the name or at a later word
+     */
+    static int entry(int row, boolean nameStart) {
+        return row << 1 | (nameStart ? 0 : 1);
+    }
+
+    static int row(int entry) {
+        return entry >>> 1;
+    }
+
+    static boolean isNameStart(int entry) {
+        return (entry & 1) == 0;
+    }
+
+    void add(int row, String name) {
+        List<String> keys = keys(name);
+        for (int i = 0; i < keys.size(); i++) {
+            insert(keys.get(i), entry(row, i == 0));
+        }
+    }
+
+    void remove(int row, String name) {
+        List<String> keys = keys(name);
+        for (int i = 0; i < keys.size(); i++) {
+            delete(keys.get(i), entry(row, i == 0));
+        }
+    }
+
+    /**
+     * Best rows whose name, or a word within it, starts with the lower-cased prefix
+     */
+    int[] lookup(String prefix, int limit) {
+        Node node = root;
+        int position = 0;
+        while (position < prefix.length()) {
+            Node child = node.child(prefix.charAt(position));
+            if (child == null) {
+                return new int[0];
+            }
+            int matched = commonPrefixLength(child.label, prefix, position);
+            if (matched < child.label.length() && position + matched < prefix.length()) {
+                return new int[0];
+            }
+            node = child;
+            position += matched;
+        }
+
+        int[] rows = new int[Math.min(limit, node.topSize)];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = row(node.top[i]);
+        }
+        return rows;
+    }
+
+    private void insert(String key, int entry) {
+        Node node = root;
+        int position = 0;
+        while (true) {
+            node.offer(entry, ranking);
+            if (position == key.length()) {
+                node.terminals = append(node.terminals, node.terminalCount++, entry);
+                return;
+            }
+            Node child = node.child(key.charAt(position));
+            if (child == null) {
+                Node leaf = new Node(key.substring(position));
+                leaf.offer(entry, ranking);
+                leaf.terminals = append(leaf.terminals, leaf.terminalCount++, entry);
+                node.addChild(leaf);
+                return;
+            }
+            int matched = commonPrefixLength(child.label, key, position);
+            if (matched < child.label.length()) {
+                child = node.split(child, matched);
+            }
+            node = child;
+            position += matched;
+        }
+    }
+
+    private void delete(String key, int entry) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int position = 0;
+        path.add(node);
+        while (position < key.length()) {
+            node = node.child(key.charAt(position));
+            if (node == null || !key.startsWith(node.label, position)) {
+                return;
+            }
+            position += node.label.length();
+            path.add(node);
+        }
+        if (!node.removeTerminal(entry)) {
+            return;
+        }
+
+        // Deepest first, so every node recomputes its entries from already corrected children
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node current = path.get(i);
+            if (i > 0 && current.terminalCount == 0 && current.childCount == 0) {
+                path.get(i - 1).removeChild(current);
+                continue;
+            }
+            if (i > 0 && current.terminalCount == 0 && current.childCount == 1) {
+                path.get(i - 1).replaceChild(current, current.mergeWithOnlyChild());
+                continue;
+            }
+            if (current.topContains(entry)) {
+                current.recompute(ranking);
+            }
+        }
+    }
+
+    // The whole name plus the rest of the name from the start of every further word
+    private static List<String> keys(String name) {
+        String lowerCased = name.toLowerCase(Locale.ROOT);
+        List<String> keys = new ArrayList<>();
+        keys.add(lowerCased);
+        for (int i = 1; i < lowerCased.length(); i++) {
+            if (Character.isLetterOrDigit(lowerCased.charAt(i)) && !Character.isLetterOrDigit(lowerCased.charAt(i - 1))) {
+                keys.add(lowerCased.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] append(int[] values, int count, int value) {
+        int[] target = count == values.length ? Arrays.copyOf(values, Math.max(1, count * 2)) : values;
+        target[count] = value;
+        return target;
+    }
+
+    private static final class Node {
+        private String label;
+        private char[] firstChars = new char[0];
+        private Node[] children = new Node[0];
+        private int childCount;
+        private int[] terminals = new int[0];
+        private int terminalCount;
+        private int[] top = new int[0];
+        private int topSize;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            int index = Arrays.binarySearch(firstChars, 0, childCount, first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        void addChild(Node child) {
+            int index = -Arrays.binarySearch(firstChars, 0, childCount, child.label.charAt(0)) - 1;
+            if (childCount == children.length) {
+                children = Arrays.copyOf(children, Math.max(2, childCount * 2));
+                firstChars = Arrays.copyOf(firstChars, children.length);
+            }
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+            System.arraycopy(firstChars, index, firstChars, index + 1, childCount - index);
+            children[index] = child;
+            firstChars[index] = child.label.charAt(0);
+            childCount++;
+        }
+
+        void removeChild(Node child) {
+            int index = Arrays.binarySearch(firstChars, 0, childCount, child.label.charAt(0));
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            System.arraycopy(firstChars, index + 1, firstChars, index, childCount - index - 1);
+            childCount--;
+            children[childCount] = null;
+        }
+
+        void replaceChild(Node child, Node replacement) {
+            children[Arrays.binarySearch(firstChars, 0, childCount, child.label.charAt(0))] = replacement;
+        }
+
+        // Splits the child after the given number of label characters and returns the new upper part
+        Node split(Node child, int length) {
+            Node upper = new Node(child.label.substring(0, length));
+            upper.top = Arrays.copyOf(child.top, child.top.length);
+            upper.topSize = child.topSize;
+            replaceChild(child, upper);
+            child.label = child.label.substring(length);
+            upper.addChild(child);
+            return upper;
+        }
+
+        // Joins a node without entries of its own with its single child
+        Node mergeWithOnlyChild() {
+            Node child = children[0];
+            child.label = label + child.label;
+            return child;
+        }
+
+        // Keeps the entry if it ranks among the best, holding at most one entry per row, the better one
+        void offer(int entry, Ranking ranking) {
+            int existing = indexOfRow(row(entry));
+            if (existing >= 0) {
+                if (ranking.compare(entry, top[existing]) >= 0) {
+                    return;
+                }
+                System.arraycopy(top, existing + 1, top, existing, topSize - existing - 1);
+                topSize--;
+            } else if (topSize == CAPACITY && ranking.compare(entry, top[topSize - 1]) >= 0) {
+                return;
+            }
+            if (topSize == top.length && topSize < CAPACITY) {
+                top = Arrays.copyOf(top, Math.min(CAPACITY, Math.max(1, topSize * 2)));
+            }
+            int position = topSize < CAPACITY ? topSize++ : topSize - 1;
+            while (position > 0 && ranking.compare(entry, top[position - 1]) < 0) {
+                top[position] = top[position - 1];
+                position--;
+            }
+            top[position] = entry;
+        }
+
+        private int indexOfRow(int row) {
+            for (int i = 0; i < topSize; i++) {
+                if (row(top[i]) == row) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        boolean topContains(int entry) {
+            return ProductNameTrie.contains(top, topSize, entry);
+        }
+
+        boolean removeTerminal(int entry) {
+            for (int i = 0; i < terminalCount; i++) {
+                if (terminals[i] == entry) {
+                    terminals[i] = terminals[--terminalCount];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Rebuilds the best entries from this node's own entries and the best entries of its children
+        void recompute(Ranking ranking) {
+            topSize = 0;
+            for (int i = 0; i < terminalCount; i++) {
+                offer(terminals[i], ranking);
+            }
+            for (int c = 0; c < childCount; c++) {
+                Node child = children[c];
+                for (int i = 0; i < child.topSize; i++) {
+                    offer(child.top[i], ranking);
+                }
+            }
+        }
+    }
+}
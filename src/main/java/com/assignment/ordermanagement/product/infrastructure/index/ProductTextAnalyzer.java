@@ -0,0 +1,55 @@
+package com.assignment.ordermanagement.product.infrastructure.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Turns product text into search terms: splits on anything that is not a letter or digit,
+ * lower-cases and reduces English plurals to their singular form, so "Wireless Keyboards"
+ * and "wireless keyboard" produce the same terms.
+ */
+public final class ProductTextAnalyzer {
+
+    private ProductTextAnalyzer() {
+    }
+
+    /**
+     * Terms of the text in order of appearance, repeated terms included
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String lowerCased = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowerCased.length(); i++) {
+            boolean wordChar = i < lowerCased.length() && Character.isLetterOrDigit(lowerCased.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(stem(lowerCased.substring(start, i)));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    // Plural reduction after Harman's S-stemmer: batteries -> battery, cases -> case, cables -> cable
+    static String stem(String word) {
+        if (word.length() <= 3) {
+            return word;
+        }
+        if (word.endsWith("ies") && !word.endsWith("eies") && !word.endsWith("aies")) {
+            return word.substring(0, word.length() - 3) + "y";
+        }
+        if (word.endsWith("es") && !word.endsWith("aes") && !word.endsWith("ees") && !word.endsWith("oes")) {
+            return word.substring(0, word.length() - 1);
+        }
+        if (word.endsWith("s") && !word.endsWith("us") && !word.endsWith("ss")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
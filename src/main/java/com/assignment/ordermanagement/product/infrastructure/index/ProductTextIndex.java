@@ -0,0 +1,148 @@
+package com.assignment.ordermanagement.product.infrastructure.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Inverted index over product names and descriptions, scored with BM25
+ * Documents are the rows of the owning ProductCatalogIndex, which also guards access to it.
+ * Name terms count twice, so a product named after the query ranks above one that only
+ * mentions it in its description.
+ */
+class ProductTextIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 2;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private int[] lengths = new int[0];
+    private String[][] rowTerms = new String[0][];
+    private int documentCount;
+    private long totalLength;
+
+    void add(int row, String name, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        List<String> nameTerms = ProductTextAnalyzer.terms(name);
+        List<String> descriptionTerms = ProductTextAnalyzer.terms(description);
+        nameTerms.forEach(term -> frequencies.merge(term, NAME_WEIGHT, Integer::sum));
+        descriptionTerms.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+
+        if (row >= lengths.length) {
+            int capacity = Math.max(row + 1, lengths.length + (lengths.length >> 1));
+            lengths = Arrays.copyOf(lengths, capacity);
+            rowTerms = Arrays.copyOf(rowTerms, capacity);
+        }
+        int length = nameTerms.size() * NAME_WEIGHT + descriptionTerms.size();
+        lengths[row] = length;
+        rowTerms[row] = frequencies.keySet().toArray(String[]::new);
+        frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, key -> new Postings()).add(row, frequency));
+        documentCount++;
+        totalLength += length;
+    }
+
+    void remove(int row) {
+        if (row >= rowTerms.length || rowTerms[row] == null) {
+            return;
+        }
+        for (String term : rowTerms[row]) {
+            Postings list = postings.get(term);
+            list.remove(row);
+            if (list.size == 0) {
+                postings.remove(term);
+            }
+        }
+        documentCount--;
+        totalLength -= lengths[row];
+        rowTerms[row] = null;
+    }
+
+    /**
+     * Up to limit rows among the candidates that contain any term of the query, best score first.
+     * Equal scores are ordered by the tie-breaker, lowest first.
+     */
+    int[] search(String query, BitSet candidates, int limit, IntToLongFunction tieBreaker) {
+        Set<String> terms = new LinkedHashSet<>(ProductTextAnalyzer.terms(query));
+        if (terms.isEmpty() || documentCount == 0 || limit < 1) {
+            return new int[0];
+        }
+
+        double averageLength = (double) totalLength / documentCount;
+        double[] scores = new double[lengths.length];
+        int[] matched = new int[16];
+        int matchedCount = 0;
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (documentCount - list.size + 0.5) / (list.size + 0.5));
+            for (int i = 0; i < list.size; i++) {
+                int row = list.rows[i];
+                if (!candidates.get(row)) {
+                    continue;
+                }
+                if (scores[row] == 0) {
+                    if (matchedCount == matched.length) {
+                        matched = Arrays.copyOf(matched, matchedCount * 2);
+                    }
+                    matched[matchedCount++] = row;
+                }
+                int frequency = list.frequencies[i];
+                double norm = K1 * (1 - B + B * lengths[row] / averageLength);
+                scores[row] += idf * frequency * (K1 + 1) / (frequency + norm);
+            }
+        }
+
+        // Keep the best rows in a bounded heap whose head is the weakest of them
+        PriorityQueue<Integer> best = new PriorityQueue<>((a, b) -> scores[a] == scores[b]
+                ? Long.compare(tieBreaker.applyAsLong(b), tieBreaker.applyAsLong(a))
+                : Double.compare(scores[a], scores[b]));
+        for (int i = 0; i < matchedCount; i++) {
+            best.add(matched[i]);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        int[] rows = new int[best.size()];
+        for (int i = rows.length - 1; i >= 0; i--) {
+            rows[i] = best.poll();
+        }
+        return rows;
+    }
+
+    // Rows containing a term with the term's weighted frequency in each, in no particular order
+    private static final class Postings {
+        private int[] rows = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int row, int frequency) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            rows[size] = row;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void remove(int row) {
+            for (int i = 0; i < size; i++) {
+                if (rows[i] == row) {
+                    size--;
+                    rows[i] = rows[size];
+                    frequencies[i] = frequencies[size];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.assignment.ordermanagement.product.infrastructure.index;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Trigram index over product names for typo-tolerant search, ranked like ProductTrigrams
+ * Rows are those of the owning ProductCatalogIndex, which also guards access to it.
+ * A search only collects candidates from the rarest query trigrams: a name sharing the required
+ * number of trigrams must contain at least one of the (query trigrams - required + 1) rarest, so
+ * the rows of common trigrams such as "  s" are counted but never enumerated as candidates.
+ */
+class ProductTrigramIndex {
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private String[][] rowTrigrams = new String[0][];
+
+    void add(int row, String name) {
+        Set<String> trigrams = ProductTrigrams.of(name);
+        if (row >= rowTrigrams.length) {
+            rowTrigrams = Arrays.copyOf(rowTrigrams, Math.max(row + 1, rowTrigrams.length + (rowTrigrams.length >> 1)));
+        }
+        rowTrigrams[row] = trigrams.toArray(String[]::new);
+        trigrams.forEach(trigram -> postings.computeIfAbsent(trigram, key -> new Postings()).add(row));
+    }
+
+    void remove(int row) {
+        if (row >= rowTrigrams.length || rowTrigrams[row] == null) {
+            return;
+        }
+        for (String trigram : rowTrigrams[row]) {
+            Postings list = postings.get(trigram);
+            list.remove(row);
+            if (list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+        rowTrigrams[row] = null;
+    }
+
+    /**
+     * Up to limit rows among the candidates whose name matches the query, closest first.
+     * Equal matches are ordered by the tie-breaker, lowest first.
+     */
+    int[] search(String query, BitSet candidates, int limit, IntToLongFunction tieBreaker) {
+        Set<String> trigrams = ProductTrigrams.of(query);
+        if (trigrams.isEmpty() || limit < 1) {
+            return new int[0];
+        }
+        int minShared = ProductTrigrams.minShared(trigrams.size());
+        Postings[] lists = trigrams.stream()
+                .map(postings::get)
+                .filter(list -> list != null)
+                .sorted(Comparator.comparingInt(list -> list.size))
+                .toArray(Postings[]::new);
+        int collecting = lists.length - minShared + 1;
+        if (collecting <= 0) {
+            return new int[0];
+        }
+
+        int[] shared = new int[rowTrigrams.length];
+        int[] matched = new int[16];
+        int matchedCount = 0;
+        for (int l = 0; l < lists.length; l++) {
+            Postings list = lists[l];
+            for (int i = 0; i < list.size; i++) {
+                int row = list.rows[i];
+                if (l < collecting && shared[row] == 0 && candidates.get(row)) {
+                    if (matchedCount == matched.length) {
+                        matched = Arrays.copyOf(matched, matchedCount * 2);
+                    }
+                    matched[matchedCount++] = row;
+                    shared[row] = 1;
+                } else if (shared[row] > 0) {
+                    shared[row]++;
+                }
+            }
+        }
+
+        // Keep the closest rows in a bounded heap whose head is the weakest of them; once it is full,
+        // rows not closer than the head are skipped without touching the heap
+        PriorityQueue<Integer> best = new PriorityQueue<>((a, b) -> compare(b, a, shared, tieBreaker));
+        for (int i = 0; i < matchedCount; i++) {
+            int row = matched[i];
+            if (shared[row] < minShared
+                    || best.size() == limit && compare(row, best.peek(), shared, tieBreaker) >= 0) {
+                continue;
+            }
+            best.add(row);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        int[] rows = new int[best.size()];
+        for (int i = rows.length - 1; i >= 0; i--) {
+            rows[i] = best.poll();
+        }
+        return rows;
+    }
+
+    // Negative when the row is closer to the query than the other row
+    private int compare(int row, int other, int[] shared, IntToLongFunction tieBreaker) {
+        if (shared[row] != shared[other]) {
+            return Integer.compare(shared[other], shared[row]);
+        }
+        if (rowTrigrams[row].length != rowTrigrams[other].length) {
+            return Integer.compare(rowTrigrams[row].length, rowTrigrams[other].length);
+        }
+        return Long.compare(tieBreaker.applyAsLong(row), tieBreaker.applyAsLong(other));
+    }
+
+    // Rows whose name contains a trigram, in no particular order
+    private static final class Postings {
+        private int[] rows = new int[4];
+        private int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        void remove(int row) {
+            for (int i = 0; i < size; i++) {
+                if (rows[i] == row) {
+                    rows[i] = rows[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.assignment.ordermanagement.product.infrastructure.index;
+
+import com.assignment.ordermanagement.product.domain.model.Product;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Trigram similarity for typo-tolerant name matching
+ * Every word is lower-cased, padded with two spaces in front and one behind, and cut into all
+ * three-character pieces, so "mouse" gives "  m", " mo", "mou", "ous", "use" and "se ".
+ * A name matches a query when it contains at least half of the query's trigrams, so "keybaord"
+ * still finds "Wireless Keyboard". Matches sharing more trigrams rank first, then names with
+ * fewer trigrams, which are the closer ones.
+ */
+public final class ProductTrigrams {
+
+    static final double MIN_SHARED_FRACTION = 0.5;
+
+    private static final Comparator<Scored> RANKING = Comparator.comparingInt(Scored::shared).reversed()
+            .thenComparingInt(Scored::size)
+            .thenComparing(scored -> scored.product().getId());
+
+    private ProductTrigrams() {
+    }
+
+    /**
+     * Distinct trigrams of the words of the text
+     */
+    public static Set<String> of(String text) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        if (text == null) {
+            return trigrams;
+        }
+        String lowerCased = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowerCased.length(); i++) {
+            boolean wordChar = i < lowerCased.length() && Character.isLetterOrDigit(lowerCased.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String padded = "  " + lowerCased.substring(start, i) + " ";
+                for (int j = 0; j + 3 <= padded.length(); j++) {
+                    trigrams.add(padded.substring(j, j + 3));
+                }
+                start = -1;
+            }
+        }
+        return trigrams;
+    }
+
+    /**
+     * Trigrams a name must share with a query of the given number of trigrams to match it
+     */
+    static int minShared(int queryTrigrams) {
+        return (int) Math.ceil(queryTrigrams * MIN_SHARED_FRACTION);
+    }
+
+    /**
+     * Up to limit of the candidates whose name matches the text, closest first. Used where no
+     * trigram index is at hand, so every candidate is scored.
+     */
+    public static List<Product> rank(String text, Collection<Product> candidates, int limit) {
+        Set<String> query = of(text);
+        if (query.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        int minShared = minShared(query.size());
+        return candidates.stream()
+                .map(product -> score(query, product))
+                .filter(scored -> scored.shared() >= minShared)
+                .sorted(RANKING)
+                .limit(limit)
+                .map(Scored::product)
+                .toList();
+    }
+
+    private static Scored score(Set<String> query, Product product) {
+        Set<String> name = of(product.getName());
+        int shared = 0;
+        for (String trigram : query) {
+            if (name.contains(trigram)) {
+                shared++;
+            }
+        }
+        return new Scored(product, shared, name.size());
+    }
+
+    private record Scored(Product product, int shared, int size) {
+    }
+}
@@ -1,35 +1,86 @@
 package com.assignment.ordermanagement.product.infrastructure.persistence.adapter;
 
+import com.assignment.ordermanagement.product.domain.exception.ProductNotFoundException;
 import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductFacets;
+import com.assignment.ordermanagement.product.domain.model.ProductField;
+import com.assignment.ordermanagement.product.domain.model.ProductPage;
+import com.assignment.ordermanagement.product.domain.model.ProductPageRequest;
+import com.assignment.ordermanagement.product.domain.model.ProductSearchCriteria;
+import com.assignment.ordermanagement.product.domain.model.ProductSortKey;
 import com.assignment.ordermanagement.product.domain.port.ProductRepository;
+import com.assignment.ordermanagement.product.infrastructure.index.ProductTextAnalyzer;
+import com.assignment.ordermanagement.product.infrastructure.index.ProductTrigrams;
 import com.assignment.ordermanagement.product.infrastructure.persistence.entity.ProductEntity;
 import com.assignment.ordermanagement.product.infrastructure.persistence.mapper.ProductEntityMapper;
 import com.assignment.ordermanagement.product.infrastructure.persistence.repository.ProductRepositoryJpa;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import static com.assignment.ordermanagement.product.infrastructure.persistence.repository.ProductRepositoryJpaCustom.LIKE_ESCAPE;
+
 /**
  * Adapter that implements the domain ProductRepository port using JPA
  */
 public class ProductRepositoryAdapter implements ProductRepository {
 
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final int FUZZY_CANDIDATES = 1000;
+
     private final ProductRepositoryJpa jpaRepository;
     private final ProductEntityMapper mapper;
+    private final AtomicLong version = new AtomicLong();
 
     public ProductRepositoryAdapter(ProductRepositoryJpa jpaRepository, ProductEntityMapper mapper) {
         this.jpaRepository = jpaRepository;
         this.mapper = mapper;
     }
 
+    /**
+     * New products are persisted as a fresh entity. Existing products are written back with a
+     * targeted UPDATE instead of merging a detached entity, which would SELECT the row first.
+     * The stock column is only written when the product changed it: the quantity it carries may
+     * have been read before an order decreased the stock, and writing it back would undo that.
+     */
     @Override
     public Product save(Product product) {
-        ProductEntity entity = mapper.toEntity(product);
-        ProductEntity savedEntity = jpaRepository.save(entity);
-        return mapper.toDomain(savedEntity);
+        if (product.getId() == null) {
+            ProductEntity entity = mapper.toEntity(product);
+            ProductEntity savedEntity = jpaRepository.save(entity);
+            return mapper.toDomain(savedEntity);
+        }
+
+        Instant updatedAt = product.getUpdatedAt() != null ? product.getUpdatedAt() : Instant.now();
+        int updated;
+        if (product.isStockChanged()) {
+            updated = jpaRepository.updateDetailsAndStock(product.getId(), product.getName(), product.getDescription(),
+                                                          product.getPrice(), product.getQuantity(), updatedAt);
+        } else {
+            updated = jpaRepository.updateDetails(product.getId(), product.getName(), product.getDescription(),
+                                                  product.getPrice(), updatedAt);
+        }
+        if (updated == 0) {
+            throw new ProductNotFoundException("Product not found with id: " + product.getId());
+        }
+        return product;
     }
 
     @Override
@@ -38,6 +89,20 @@ public class ProductRepositoryAdapter implements ProductRepository {
                 .map(mapper::toDomain);
     }
 
+    @Override
+    public List<Product> findAllByIds(Collection<Long> ids) {
+        return jpaRepository.findAllById(ids).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<Long, Integer> findStockLevels(Collection<Long> ids) {
+        return jpaRepository.findStockLevels(ids).stream()
+                .collect(Collectors.toMap(ProductRepositoryJpa.StockLevel::getId,
+                                          ProductRepositoryJpa.StockLevel::getQuantity));
+    }
+
     @Override
     public List<Product> findAll() {
         return jpaRepository.findAll().stream()
@@ -45,8 +110,203 @@ public class ProductRepositoryAdapter implements ProductRepository {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Runs one of the precompiled search queries instead of building a criteria query per call.
+     */
     @Override
     public List<Product> search(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock) {
+        String namePattern = name != null && !name.isBlank() ? containing(name) : null;
+
+        return jpaRepository.search(namePattern, minPrice, maxPrice, Boolean.TRUE.equals(inStock)).stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fallback without a relevance model: matches each word of the text as a substring of the name or
+     * description and returns the first matches in id order.
+     */
+    @Override
+    public List<Product> searchRanked(String text, ProductSearchCriteria filters, int limit) {
+        List<String> words = ProductTextAnalyzer.terms(text);
+        if (words.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        Specification<ProductEntity> spec = searchSpec(filters.name(), filters.minPrice(),
+                                                       filters.maxPrice(), filters.inStockOnly())
+                .and(containsAnyWord(words));
+
+        return jpaRepository.findBy(spec, query -> query
+                        .sortBy(Sort.by("id"))
+                        .limit(limit)
+                        .all())
+                .stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fallback without a trigram index: reads up to FUZZY_CANDIDATES products whose name contains one
+     * of the query's inner trigrams, or its short words, and ranks those in memory.
+     */
+    @Override
+    public List<Product> searchSimilar(String text, ProductSearchCriteria filters, int limit) {
+        Set<String> fragments = ProductTrigrams.of(text).stream()
+                .filter(trigram -> trigram.indexOf(' ') < 0)
+                .collect(Collectors.toSet());
+        if (fragments.isEmpty()) {
+            fragments = ProductTextAnalyzer.terms(text).stream()
+                    .filter(word -> word.length() > 1)
+                    .collect(Collectors.toSet());
+        }
+        if (fragments.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        Specification<ProductEntity> spec = searchSpec(filters.name(), filters.minPrice(),
+                                                       filters.maxPrice(), filters.inStockOnly())
+                .and(nameContainsAny(fragments));
+
+        List<Product> candidates = jpaRepository.findBy(spec, query -> query
+                        .sortBy(Sort.by("id"))
+                        .limit(FUZZY_CANDIDATES)
+                        .all())
+                .stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+        return ProductTrigrams.rank(text, candidates, limit);
+    }
+
+    /**
+     * Counted by the database in a single aggregate query over the name-matching products.
+     */
+    @Override
+    public ProductFacets findFacets(ProductSearchCriteria criteria, List<BigDecimal> bucketBounds) {
+        Specification<ProductEntity> priceRange = Specification.where(null);
+        if (criteria.minPrice() != null) {
+            priceRange = priceRange.and(priceGreaterThanOrEqual(criteria.minPrice()));
+        }
+        if (criteria.maxPrice() != null) {
+            priceRange = priceRange.and(priceLessThanOrEqual(criteria.maxPrice()));
+        }
+
+        List<Specification<ProductEntity>> conditions = new ArrayList<>();
+        for (int i = 0; i < bucketBounds.size(); i++) {
+            Specification<ProductEntity> bucket = priceGreaterThanOrEqual(bucketBounds.get(i));
+            if (i + 1 < bucketBounds.size()) {
+                bucket = bucket.and(priceLessThan(bucketBounds.get(i + 1)));
+            }
+            conditions.add(criteria.inStockOnly() ? bucket.and(inStockSpec()) : bucket);
+        }
+        conditions.add(priceRange.and(inStockSpec()));
+        conditions.add(priceRange.and(Specification.not(inStockSpec())));
+
+        long[] counts = jpaRepository.countEach(searchSpec(criteria.name(), null, null, false), conditions);
+        return ProductFacets.of(bucketBounds, counts, counts[bucketBounds.size()], counts[bucketBounds.size() + 1]);
+    }
+
+    /**
+     * Fallback without suggestion ranking: returns the first matching products in name order.
+     */
+    @Override
+    public List<Product> findByNamePrefix(String prefix, int limit) {
+        String normalized = prefix.stripLeading().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        Specification<ProductEntity> spec = Specification.where(notDeleted()).and(nameOrWordStartsWith(normalized));
+
+        return jpaRepository.findBy(spec, query -> query
+                        .sortBy(Sort.by("name", "id"))
+                        .limit(limit)
+                        .all())
+                .stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reads one extra row beyond the page size to tell whether another page follows.
+     * The keyset condition and the (sort key, id) order are served by the composite indexes.
+     */
+    @Override
+    public ProductPage findPage(ProductSearchCriteria criteria, ProductPageRequest pageRequest) {
+        Specification<ProductEntity> spec = searchSpec(criteria.name(), criteria.minPrice(),
+                                                       criteria.maxPrice(), criteria.inStockOnly());
+        if (!pageRequest.isFirstPage()) {
+            spec = spec.and(after(pageRequest));
+        }
+
+        List<ProductEntity> rows = jpaRepository.findBy(spec, query -> query
+                .sortBy(sortOf(pageRequest))
+                .limit(pageRequest.size() + 1)
+                .all());
+
+        List<Product> items = rows.stream()
+                .limit(pageRequest.size())
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+        return new ProductPage(items, rows.size() > pageRequest.size());
+    }
+
+    /**
+     * Selects only the columns behind the requested fields, so unrequested columns such as the
+     * description are neither read nor decoded, and builds the products from the tuples directly.
+     */
+    @Override
+    public ProductPage findPage(ProductSearchCriteria criteria, ProductPageRequest pageRequest, Set<ProductField> fields) {
+        Specification<ProductEntity> spec = searchSpec(criteria.name(), criteria.minPrice(),
+                                                       criteria.maxPrice(), criteria.inStockOnly());
+        if (!pageRequest.isFirstPage()) {
+            spec = spec.and(after(pageRequest));
+        }
+
+        Set<String> attributes = attributesOf(fields, pageRequest.sortKey());
+        List<Tuple> rows = jpaRepository.findAttributes(spec, sortOf(pageRequest), pageRequest.size() + 1, attributes);
+
+        List<Product> items = rows.stream()
+                .limit(pageRequest.size())
+                .map(row -> new Product(
+                        row.get("id", Long.class),
+                        attributes.contains("name") ? row.get("name", String.class) : null,
+                        attributes.contains("description") ? row.get("description", String.class) : null,
+                        attributes.contains("price") ? row.get("price", BigDecimal.class) : null,
+                        attributes.contains("quantity") ? row.get("quantity", Integer.class) : null,
+                        null, null, false))
+                .collect(Collectors.toList());
+        return new ProductPage(items, rows.size() > pageRequest.size());
+    }
+
+    /**
+     * Reads one extra row beyond the limit to tell whether more changes follow.
+     */
+    @Override
+    public ProductPage findChanges(Instant changedAfter, long afterId, Instant changedBefore, int limit) {
+        List<ProductEntity> rows = jpaRepository.findChanges(changedAfter, afterId, changedBefore, limit + 1);
+
+        List<Product> items = rows.stream()
+                .limit(limit)
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+        return new ProductPage(items, rows.size() > limit);
+    }
+
+    @Override
+    public void stream(ProductSearchCriteria criteria, Consumer<Product> action) {
+        Specification<ProductEntity> spec = searchSpec(criteria.name(), criteria.minPrice(),
+                                                       criteria.maxPrice(), criteria.inStockOnly());
+        jpaRepository.streamAll(spec, STREAM_FETCH_SIZE, entity -> action.accept(mapper.toDomain(entity)));
+    }
+
+    /**
+     * Every findAll reads the database, so nothing derived from an earlier read may be reused:
+     * each call returns a new version. The caching decorator keeps the version callers rely on.
+     */
+    @Override
+    public long getVersion() {
+        return version.incrementAndGet();
+    }
+
+    private Specification<ProductEntity> searchSpec(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean inStock) {
         Specification<ProductEntity> spec = Specification.where(notDeleted());
 
         if (name != null && !name.isBlank()) {
@@ -61,15 +321,15 @@ public class ProductRepositoryAdapter implements ProductRepository {
         if (inStock != null && inStock) {
             spec = spec.and(inStockSpec());
         }
-
-        return jpaRepository.findAll(spec).stream()
-                .map(mapper::toDomain)
-                .collect(Collectors.toList());
+        return spec;
     }
 
+    /**
+     * Soft-deletes with a single UPDATE that also stamps updated_at, so the deletion shows up in findChanges.
+     */
     @Override
     public void deleteById(Long id) {
-        jpaRepository.deleteById(id);
+        jpaRepository.softDelete(id, Instant.now());
     }
 
     @Override
@@ -77,13 +337,62 @@ public class ProductRepositoryAdapter implements ProductRepository {
         return jpaRepository.existsById(id);
     }
 
+    @Override
+    public boolean decreaseStock(Long id, int quantity) {
+        return jpaRepository.decreaseStock(id, quantity, Instant.now()) > 0;
+    }
+
+    @Override
+    public int decreaseStock(Map<Long, Integer> quantities) {
+        return jpaRepository.decreaseStock(quantities, Instant.now());
+    }
+
     // Specifications for search criteria
     private Specification<ProductEntity> notDeleted() {
         return (root, query, cb) -> cb.isFalse(root.get("deleted"));
     }
 
     private Specification<ProductEntity> nameContains(String name) {
-        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase() + "%");
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), containing(name), LIKE_ESCAPE);
+    }
+
+    private Specification<ProductEntity> containsAnyWord(Collection<String> words) {
+        return (root, query, cb) -> cb.or(words.stream()
+                .distinct()
+                .map(ProductRepositoryAdapter::containing)
+                .map(pattern -> cb.or(cb.like(cb.lower(root.get("name")), pattern, LIKE_ESCAPE),
+                                      cb.like(cb.lower(root.get("description")), pattern, LIKE_ESCAPE)))
+                .toArray(Predicate[]::new));
+    }
+
+    private Specification<ProductEntity> nameContainsAny(Collection<String> fragments) {
+        return (root, query, cb) -> cb.or(fragments.stream()
+                .map(fragment -> cb.like(cb.lower(root.get("name")), containing(fragment), LIKE_ESCAPE))
+                .toArray(Predicate[]::new));
+    }
+
+    private Specification<ProductEntity> nameOrWordStartsWith(String prefix) {
+        String escaped = escapeLike(prefix);
+        return (root, query, cb) -> cb.or(cb.like(cb.lower(root.get("name")), escaped + "%", LIKE_ESCAPE),
+                                          cb.like(cb.lower(root.get("name")), "% " + escaped + "%", LIKE_ESCAPE));
+    }
+
+    // Lower-cased substring pattern; both search paths build theirs here so they match the same rows
+    private static String containing(String text) {
+        return "%" + escapeLike(text.toLowerCase(Locale.ROOT)) + "%";
+    }
+
+    // User text is matched literally, so its own wildcards and escape characters are escaped
+    private static String escapeLike(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
     }
 
     private Specification<ProductEntity> priceGreaterThanOrEqual(BigDecimal minPrice) {
@@ -94,8 +403,63 @@ public class ProductRepositoryAdapter implements ProductRepository {
         return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
     }
 
+    private Specification<ProductEntity> priceLessThan(BigDecimal price) {
+        return (root, query, cb) -> cb.lessThan(root.get("price"), price);
+    }
+
     private Specification<ProductEntity> inStockSpec() {
         return (root, query, cb) -> cb.greaterThan(root.get("quantity"), 0);
     }
-}
 
+    // Keyset pagination: rows strictly after (afterValue, afterId) in the requested order
+    private Specification<ProductEntity> after(ProductPageRequest pageRequest) {
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+            Predicate idAfter = beyond(cb, id, pageRequest.afterId(), pageRequest.descending());
+            return switch (pageRequest.sortKey()) {
+                case ID -> idAfter;
+                case PRICE -> keyset(cb, root.get("price"), new BigDecimal(pageRequest.afterValue()),
+                                     idAfter, pageRequest.descending());
+                case NAME -> keyset(cb, root.get("name"), pageRequest.afterValue(),
+                                    idAfter, pageRequest.descending());
+            };
+        };
+    }
+
+    private static <T extends Comparable<? super T>> Predicate keyset(CriteriaBuilder cb, Path<T> column, T value,
+                                                                      Predicate idAfter, boolean descending) {
+        return cb.or(beyond(cb, column, value, descending), cb.and(cb.equal(column, value), idAfter));
+    }
+
+    private static <T extends Comparable<? super T>> Predicate beyond(CriteriaBuilder cb, Path<T> column, T value,
+                                                                      boolean descending) {
+        return descending ? cb.lessThan(column, value) : cb.greaterThan(column, value);
+    }
+
+    // The id and the sort key are always read, as the next page's cursor is built from them
+    private static Set<String> attributesOf(Set<ProductField> fields, ProductSortKey sortKey) {
+        Set<String> attributes = new LinkedHashSet<>();
+        attributes.add("id");
+        if (sortKey == ProductSortKey.NAME || fields.contains(ProductField.NAME)) {
+            attributes.add("name");
+        }
+        if (fields.contains(ProductField.DESCRIPTION)) {
+            attributes.add("description");
+        }
+        if (sortKey == ProductSortKey.PRICE || fields.contains(ProductField.PRICE)) {
+            attributes.add("price");
+        }
+        if (fields.contains(ProductField.QUANTITY) || fields.contains(ProductField.IN_STOCK)) {
+            attributes.add("quantity");
+        }
+        return attributes;
+    }
+
+    private static Sort sortOf(ProductPageRequest pageRequest) {
+        Sort.Direction direction = pageRequest.descending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort byId = Sort.by(direction, "id");
+        return pageRequest.sortKey() == ProductSortKey.ID
+                ? byId
+                : Sort.by(direction, pageRequest.sortKey() == ProductSortKey.PRICE ? "price" : "name").and(byId);
+    }
+}
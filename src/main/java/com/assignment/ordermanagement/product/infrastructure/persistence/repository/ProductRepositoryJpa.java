@@ -3,11 +3,99 @@ package com.assignment.ordermanagement.product.infrastructure.persistence.reposi
 import com.assignment.ordermanagement.product.infrastructure.persistence.entity.ProductEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Spring Data JPA Repository for ProductEntity
  */
 public interface ProductRepositoryJpa extends JpaRepository<ProductEntity, Long>, 
-                                               JpaSpecificationExecutor<ProductEntity> {
-}
+                                               JpaSpecificationExecutor<ProductEntity>,
+                                               ProductRepositoryJpaCustom {
+
+    /**
+     * Narrow projection that reads only the stock column of live products.
+     */
+    @Query("SELECT p.id AS id, p.quantity AS quantity FROM ProductEntity p " +
+           "WHERE p.id IN :ids AND p.deleted = false")
+    List<StockLevel> findStockLevels(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Guarded stock decrement: only succeeds when enough stock is left.
+     * Returns the number of updated rows (0 or 1).
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductEntity p SET p.quantity = p.quantity - :quantity, p.updatedAt = :updatedAt " +
+           "WHERE p.id = :id AND p.deleted = false AND p.quantity >= :quantity")
+    int decreaseStock(@Param("id") Long id,
+                      @Param("quantity") int quantity,
+                      @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Writes the catalog columns of an existing product with a single UPDATE,
+     * without loading or merging the entity first. Stock is left alone, so a concurrent
+     * guarded decrement is never overwritten by a quantity read before it.
+     * Returns the number of updated rows (0 or 1).
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductEntity p SET p.name = :name, p.description = :description, p.price = :price, " +
+           "p.updatedAt = :updatedAt WHERE p.id = :id AND p.deleted = false")
+    int updateDetails(@Param("id") Long id,
+                      @Param("name") String name,
+                      @Param("description") String description,
+                      @Param("price") BigDecimal price,
+                      @Param("updatedAt") Instant updatedAt);
 
+    /**
+     * Same as updateDetails, but also sets the stock level. Only used when the caller changed it.
+     * Returns the number of updated rows (0 or 1).
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductEntity p SET p.name = :name, p.description = :description, p.price = :price, " +
+           "p.quantity = :quantity, p.updatedAt = :updatedAt WHERE p.id = :id AND p.deleted = false")
+    int updateDetailsAndStock(@Param("id") Long id,
+                              @Param("name") String name,
+                              @Param("description") String description,
+                              @Param("price") BigDecimal price,
+                              @Param("quantity") Integer quantity,
+                              @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Soft-deletes a live product and stamps the change, so the delta sync feed reports the deletion.
+     * Returns the number of updated rows (0 or 1).
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductEntity p SET p.deleted = true, p.updatedAt = :updatedAt " +
+           "WHERE p.id = :id AND p.deleted = false")
+    int softDelete(@Param("id") Long id, @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Products changed after the (updatedAt, id) position and before the upper bound, in change order.
+     * Native, so deleted products are returned as well; the range is served by idx_products_updated_at_id.
+     */
+    @Query(value = "SELECT * FROM products " +
+                   "WHERE (updated_at > :afterUpdatedAt OR (updated_at = :afterUpdatedAt AND id > :afterId)) " +
+                   "AND updated_at < :before ORDER BY updated_at, id LIMIT :limit",
+           nativeQuery = true)
+    List<ProductEntity> findChanges(@Param("afterUpdatedAt") Instant afterUpdatedAt,
+                                    @Param("afterId") long afterId,
+                                    @Param("before") Instant before,
+                                    @Param("limit") int limit);
+
+    interface StockLevel {
+        Long getId();
+
+        Integer getQuantity();
+    }
+}
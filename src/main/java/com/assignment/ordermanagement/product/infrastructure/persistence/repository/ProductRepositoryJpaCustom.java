@@ -0,0 +1,64 @@
+package com.assignment.ordermanagement.product.infrastructure.persistence.repository;
+
+import com.assignment.ordermanagement.product.infrastructure.persistence.entity.ProductEntity;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Custom queries for ProductEntity that cannot be expressed as derived or static queries
+ */
+public interface ProductRepositoryJpaCustom {
+
+    /**
+     * Escape character used by every product LIKE pattern, so user text can carry literal % and _
+     */
+    char LIKE_ESCAPE = '\\';
+
+    /**
+     * Decrements the stock of several products with a single guarded UPDATE statement.
+     * Each row is only updated when it has at least the requested quantity left.
+     *
+     * @param quantities quantity to remove, keyed by product id
+     * @return the number of updated rows
+     */
+    int decreaseStock(Map<Long, Integer> quantities, Instant updatedAt);
+
+    /**
+     * Finds the live products matching the given filters with a precompiled JPQL query.
+     * Absent filters (null, or false for the stock filter) are left out of the query rather than
+     * bound as no-op parameters, so every call runs a plan that only checks the present ones.
+     *
+     * @param namePattern lower-cased LIKE pattern matched against the lower-cased name, with literal
+     *                    wildcards escaped by {@link #LIKE_ESCAPE}
+     */
+    List<ProductEntity> search(String namePattern, BigDecimal minPrice, BigDecimal maxPrice, boolean inStockOnly);
+
+    /**
+     * Streams the products matching the specification in id order within a read-only transaction.
+     * Rows are fetched from the database in chunks of the given size and each entity is detached
+     * once handed to the action, so memory use does not grow with the number of rows.
+     */
+    void streamAll(Specification<ProductEntity> spec, int fetchSize, Consumer<ProductEntity> action);
+
+    /**
+     * Counts, among the products matching the specification, those matching each condition,
+     * with a single aggregate query of one SUM(CASE ...) per condition.
+     *
+     * @return the count for each condition, in the same order
+     */
+    long[] countEach(Specification<ProductEntity> spec, List<Specification<ProductEntity>> conditions);
+
+    /**
+     * Reads only the given attributes of the products matching the specification, in the given order,
+     * as tuples whose elements are aliased by attribute name. No entities are loaded or managed.
+     */
+    List<Tuple> findAttributes(Specification<ProductEntity> spec, Sort sort, int limit, Collection<String> attributes);
+}
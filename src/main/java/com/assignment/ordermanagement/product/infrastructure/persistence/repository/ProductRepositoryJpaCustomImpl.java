@@ -0,0 +1,197 @@
+package com.assignment.ordermanagement.product.infrastructure.persistence.repository;
+
+import com.assignment.ordermanagement.product.infrastructure.persistence.entity.ProductEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the custom ProductEntity queries
+ */
+public class ProductRepositoryJpaCustomImpl implements ProductRepositoryJpaCustom {
+
+    // Bits of the search query variants, one per optional filter
+    private static final int NAME = 1;
+    private static final int MIN_PRICE = 2;
+    private static final int MAX_PRICE = 4;
+    private static final int IN_STOCK = 8;
+
+    /**
+     * One JPQL string per combination of present filters, indexed by the bitmask of those filters.
+     * The strings are fixed, so Hibernate translates each variant once and then reuses the plan
+     * from its query plan cache, unlike criteria queries, which are translated on every call.
+     */
+    private static final String[] SEARCH_QUERIES = searchQueries();
+
+    private final EntityManager entityManager;
+
+    public ProductRepositoryJpaCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public int decreaseStock(Map<Long, Integer> quantities, Instant updatedAt) {
+        if (quantities.isEmpty()) {
+            return 0;
+        }
+
+        // CASE p.id WHEN :id0 THEN :quantity0 WHEN :id1 THEN :quantity1 ... END
+        StringBuilder quantityCase = new StringBuilder("CASE p.id");
+        for (int i = 0; i < quantities.size(); i++) {
+            quantityCase.append(" WHEN :id").append(i).append(" THEN :quantity").append(i);
+        }
+        quantityCase.append(" ELSE 0 END");
+
+        Query query = entityManager.createQuery(
+                "UPDATE ProductEntity p SET p.quantity = p.quantity - " + quantityCase + ", p.updatedAt = :updatedAt " +
+                "WHERE p.id IN :ids AND p.deleted = false AND p.quantity >= " + quantityCase);
+
+        List<Long> ids = new ArrayList<>(quantities.keySet());
+        for (int i = 0; i < ids.size(); i++) {
+            query.setParameter("id" + i, ids.get(i));
+            query.setParameter("quantity" + i, quantities.get(ids.get(i)));
+        }
+        query.setParameter("ids", ids);
+        query.setParameter("updatedAt", updatedAt);
+
+        // Push pending changes before the bulk update, then drop the now stale managed products
+        entityManager.flush();
+        int updated = query.executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductEntity> search(String namePattern, BigDecimal minPrice, BigDecimal maxPrice, boolean inStockOnly) {
+        int filters = (namePattern != null ? NAME : 0)
+                | (minPrice != null ? MIN_PRICE : 0)
+                | (maxPrice != null ? MAX_PRICE : 0)
+                | (inStockOnly ? IN_STOCK : 0);
+
+        TypedQuery<ProductEntity> query = entityManager.createQuery(SEARCH_QUERIES[filters], ProductEntity.class);
+        if (namePattern != null) {
+            query.setParameter("name", namePattern);
+        }
+        if (minPrice != null) {
+            query.setParameter("minPrice", minPrice);
+        }
+        if (maxPrice != null) {
+            query.setParameter("maxPrice", maxPrice);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Specification<ProductEntity> spec, int fetchSize, Consumer<ProductEntity> action) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductEntity> criteria = cb.createQuery(ProductEntity.class);
+        Root<ProductEntity> root = criteria.from(ProductEntity.class);
+        Predicate predicate = spec.toPredicate(root, criteria, cb);
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+        criteria.orderBy(cb.asc(root.get("id")));
+
+        try (Stream<ProductEntity> rows = entityManager.createQuery(criteria)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            rows.forEach(entity -> {
+                action.accept(entity);
+                entityManager.detach(entity);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long[] countEach(Specification<ProductEntity> spec, List<Specification<ProductEntity>> conditions) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> criteria = cb.createQuery(Object[].class);
+        Root<ProductEntity> root = criteria.from(ProductEntity.class);
+        Predicate predicate = spec.toPredicate(root, criteria, cb);
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+        List<Selection<?>> sums = new ArrayList<>(conditions.size());
+        for (Specification<ProductEntity> condition : conditions) {
+            Predicate matches = condition.toPredicate(root, criteria, cb);
+            sums.add(cb.sum(cb.<Long>selectCase()
+                    .when(matches != null ? matches : cb.conjunction(), 1L)
+                    .otherwise(0L)));
+        }
+        criteria.multiselect(sums);
+
+        Object[] row = entityManager.createQuery(criteria).getSingleResult();
+        long[] counts = new long[conditions.size()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = row[i] != null ? ((Number) row[i]).longValue() : 0;
+        }
+        return counts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Tuple> findAttributes(Specification<ProductEntity> spec, Sort sort, int limit,
+                                      Collection<String> attributes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = cb.createTupleQuery();
+        Root<ProductEntity> root = criteria.from(ProductEntity.class);
+        criteria.multiselect(attributes.stream()
+                .<Selection<?>>map(attribute -> root.get(attribute).alias(attribute))
+                .toList());
+        Predicate predicate = spec.toPredicate(root, criteria, cb);
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+        criteria.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(criteria)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static String[] searchQueries() {
+        String[] queries = new String[IN_STOCK << 1];
+        for (int filters = 0; filters < queries.length; filters++) {
+            StringBuilder jpql = new StringBuilder("SELECT p FROM ProductEntity p WHERE p.deleted = false");
+            if ((filters & NAME) != 0) {
+                jpql.append(" AND LOWER(p.name) LIKE :name ESCAPE '").append(LIKE_ESCAPE).append("'");
+            }
+            if ((filters & MIN_PRICE) != 0) {
+                jpql.append(" AND p.price >= :minPrice");
+            }
+            if ((filters & MAX_PRICE) != 0) {
+                jpql.append(" AND p.price <= :maxPrice");
+            }
+            if ((filters & IN_STOCK) != 0) {
+                jpql.append(" AND p.quantity > 0");
+            }
+            queries[filters] = jpql.toString();
+        }
+        return queries;
+    }
+}
@@ -1,15 +1,28 @@
 package com.assignment.ordermanagement.shared.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * Cache Configuration
+ * Bounded Caffeine caches, sized per cache from application.yaml.
+ * Statistics are recorded so actuator can publish hit, miss, eviction and load metrics.
  */
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheSpecProperties.class)
 public class CacheConfig {
-    // Using default Spring Boot cache configuration
-    // Can be extended with Redis or Caffeine if needed
-}
 
+    @Bean
+    public CacheManager cacheManager(CacheSpecProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(properties.defaults().toCaffeine());
+        properties.caches().forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, spec.toCaffeine().build()));
+        return cacheManager;
+    }
+}
@@ -0,0 +1,44 @@
+package com.assignment.ordermanagement.shared.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Per-cache sizing and expiry settings, bound from the "caching" section of application.yaml
+ *
+ * @param defaults settings for caches that have no entry of their own
+ * @param caches   settings keyed by cache name
+ */
+@ConfigurationProperties(prefix = "caching")
+public record CacheSpecProperties(Spec defaults, Map<String, Spec> caches) {
+
+    public CacheSpecProperties {
+        defaults = defaults != null ? defaults : new Spec(1000L, Duration.ofMinutes(10), null);
+        caches = caches != null ? caches : Map.of();
+    }
+
+    /**
+     * @param maximumSize       maximum number of entries before eviction
+     * @param expireAfterWrite  entries expire this long after they were written, if set
+     * @param expireAfterAccess entries expire this long after they were last read, if set
+     */
+    public record Spec(Long maximumSize, Duration expireAfterWrite, Duration expireAfterAccess) {
+
+        public Caffeine<Object, Object> toCaffeine() {
+            Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+            if (maximumSize != null) {
+                builder.maximumSize(maximumSize);
+            }
+            if (expireAfterWrite != null) {
+                builder.expireAfterWrite(expireAfterWrite);
+            }
+            if (expireAfterAccess != null) {
+                builder.expireAfterAccess(expireAfterAccess);
+            }
+            return builder;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.assignment.ordermanagement.shared.config;
+
+import com.assignment.ordermanagement.order.application.usecase.PlaceOrderUseCase;
+import com.assignment.ordermanagement.order.domain.service.OrderDomainService;
+import com.assignment.ordermanagement.product.adapter.rest.ProductListRepresentationCache;
+import com.assignment.ordermanagement.product.application.usecase.GetAllProductsUseCase;
+import com.assignment.ordermanagement.product.application.usecase.GetProductsUseCase;
+import com.assignment.ordermanagement.product.application.usecase.SearchProductsUseCase;
+import com.assignment.ordermanagement.product.domain.port.ProductService;
+import com.assignment.ordermanagement.shared.warmup.ApplicationWarmUp;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Warm-up Configuration
+ * Runs the warm-up before the application reports ready; it can be switched off with warm-up.enabled=false.
+ */
+@Configuration
+@EnableConfigurationProperties(WarmUpProperties.class)
+public class WarmUpConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "warm-up", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ApplicationWarmUp applicationWarmUp(WarmUpProperties properties,
+                                               ProductService productService,
+                                               OrderDomainService orderDomainService,
+                                               GetAllProductsUseCase getAllProductsUseCase,
+                                               GetProductsUseCase getProductsUseCase,
+                                               SearchProductsUseCase searchProductsUseCase,
+                                               ProductListRepresentationCache productListRepresentationCache,
+                                               PlaceOrderUseCase placeOrderUseCase) {
+        return new ApplicationWarmUp(properties, productService, orderDomainService, getAllProductsUseCase,
+                getProductsUseCase, searchProductsUseCase, productListRepresentationCache, placeOrderUseCase);
+    }
+}
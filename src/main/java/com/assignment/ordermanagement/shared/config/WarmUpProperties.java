@@ -0,0 +1,21 @@
+package com.assignment.ordermanagement.shared.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Startup warm-up settings, bound from the "warm-up" section of application.yaml
+ *
+ * @param enabled         whether the application warms up before it reports ready
+ * @param preloadProducts number of products loaded into the product cache, most ordered first
+ * @param iterations      how many times each hot request path is exercised
+ * @param orderUsername   user the order previews are priced for; no previews when unset
+ */
+@ConfigurationProperties(prefix = "warm-up")
+public record WarmUpProperties(Boolean enabled, Integer preloadProducts, Integer iterations, String orderUsername) {
+
+    public WarmUpProperties {
+        enabled = enabled != null ? enabled : Boolean.TRUE;
+        preloadProducts = preloadProducts != null ? preloadProducts : 1000;
+        iterations = iterations != null ? iterations : 100;
+    }
+}
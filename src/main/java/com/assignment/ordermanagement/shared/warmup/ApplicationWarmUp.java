@@ -0,0 +1,163 @@
+package com.assignment.ordermanagement.shared.warmup;
+
+import com.assignment.ordermanagement.order.application.dto.OrderItemRequest;
+import com.assignment.ordermanagement.order.application.dto.OrderRequest;
+import com.assignment.ordermanagement.order.application.usecase.PlaceOrderUseCase;
+import com.assignment.ordermanagement.order.domain.service.OrderDomainService;
+import com.assignment.ordermanagement.product.adapter.rest.ProductListRepresentationCache;
+import com.assignment.ordermanagement.product.application.dto.ProductSearchRequest;
+import com.assignment.ordermanagement.product.application.usecase.GetAllProductsUseCase;
+import com.assignment.ordermanagement.product.application.usecase.GetProductsUseCase;
+import com.assignment.ordermanagement.product.application.usecase.SearchProductsUseCase;
+import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.port.ProductService;
+import com.assignment.ordermanagement.shared.config.WarmUpProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Warms caches and hot code paths during startup
+ * Spring Boot only reports the readiness state ACCEPTING_TRAFFIC after all application runners have
+ * finished, so a node stays out of the load balancer until its caches are loaded and the request
+ * paths have been compiled by the JIT. A failing step is logged and never stops the application.
+ */
+public class ApplicationWarmUp implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationWarmUp.class);
+    private static final int PAGE_SIZE = 20;
+
+    private final WarmUpProperties properties;
+    private final ProductService productService;
+    private final OrderDomainService orderDomainService;
+    private final GetAllProductsUseCase getAllProductsUseCase;
+    private final GetProductsUseCase getProductsUseCase;
+    private final SearchProductsUseCase searchProductsUseCase;
+    private final ProductListRepresentationCache productListRepresentationCache;
+    private final PlaceOrderUseCase placeOrderUseCase;
+
+    public ApplicationWarmUp(WarmUpProperties properties,
+                             ProductService productService,
+                             OrderDomainService orderDomainService,
+                             GetAllProductsUseCase getAllProductsUseCase,
+                             GetProductsUseCase getProductsUseCase,
+                             SearchProductsUseCase searchProductsUseCase,
+                             ProductListRepresentationCache productListRepresentationCache,
+                             PlaceOrderUseCase placeOrderUseCase) {
+        this.properties = properties;
+        this.productService = productService;
+        this.orderDomainService = orderDomainService;
+        this.getAllProductsUseCase = getAllProductsUseCase;
+        this.getProductsUseCase = getProductsUseCase;
+        this.searchProductsUseCase = searchProductsUseCase;
+        this.productListRepresentationCache = productListRepresentationCache;
+        this.placeOrderUseCase = placeOrderUseCase;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+
+        List<Product> catalog = preloadCaches();
+        if (!catalog.isEmpty()) {
+            exerciseReadPaths(catalog);
+            previewOrders(catalog);
+        }
+
+        log.info("Warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Loads the product list, then the most ordered products followed by the rest of the catalog
+     * into the product cache, up to the configured number of products.
+     */
+    List<Product> preloadCaches() {
+        try {
+            List<Product> catalog = productService.getAllProducts();
+
+            Set<Long> ids = new LinkedHashSet<>(orderDomainService.getMostOrderedProductIds(properties.preloadProducts()));
+            for (Product product : catalog) {
+                if (ids.size() >= properties.preloadProducts()) {
+                    break;
+                }
+                ids.add(product.getId());
+            }
+
+            List<Long> batch = new ArrayList<>(GetProductsUseCase.MAX_BATCH_SIZE);
+            for (Long id : ids) {
+                batch.add(id);
+                if (batch.size() == GetProductsUseCase.MAX_BATCH_SIZE) {
+                    productService.getProductsByIds(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                productService.getProductsByIds(batch);
+            }
+            return catalog;
+        } catch (RuntimeException e) {
+            log.warn("Warm-up could not preload the product caches", e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Runs the public read endpoints' use cases, so their code is compiled before real traffic arrives.
+     */
+    void exerciseReadPaths(List<Product> catalog) {
+        try {
+            for (int i = 0; i < properties.iterations(); i++) {
+                Product product = catalog.get(i % catalog.size());
+
+                productListRepresentationCache.current();
+                getAllProductsUseCase.execute();
+                getAllProductsUseCase.execute("price", "asc", PAGE_SIZE, null);
+                getProductsUseCase.execute(product.getId());
+                searchProductsUseCase.execute(ProductSearchRequest.of(searchTerm(product), null, null, null));
+                ProductSearchRequest byName = ProductSearchRequest.of(product.getName(), null, null, null);
+                searchProductsUseCase.execute(byName.withMode("relevance"));
+                searchProductsUseCase.execute(byName.withMode("fuzzy"));
+                searchProductsUseCase.page(ProductSearchRequest.of(null, null, product.getPrice(), true)
+                                                   .withPage("name", "asc", PAGE_SIZE, null));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Warm-up could not exercise the product read paths", e);
+        }
+    }
+
+    /**
+     * Validates and prices orders for one unit of an in-stock product. Previews only read, so no
+     * stock is locked or reserved and no order ids are drawn from the sequences.
+     */
+    void previewOrders(List<Product> catalog) {
+        if (properties.orderUsername() == null || properties.orderUsername().isBlank()) {
+            return;
+        }
+        Product product = catalog.stream().filter(Product::isInStock).findFirst().orElse(null);
+        if (product == null) {
+            return;
+        }
+
+        OrderRequest request = new OrderRequest(List.of(new OrderItemRequest(product.getId(), 1)));
+        try {
+            for (int i = 0; i < properties.iterations(); i++) {
+                placeOrderUseCase.preview(request, properties.orderUsername());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Warm-up could not preview order placement", e);
+        }
+    }
+
+    private static String searchTerm(Product product) {
+        String name = product.getName().trim();
+        int space = name.indexOf(' ');
+        return (space > 0 ? name.substring(0, space) : name).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,12 @@
+-- ID SEQUENCES
+-- Pooled id generation for products, orders and order_items.
+-- INCREMENT BY must match the allocationSize of the matching @SequenceGenerator.
+-- Each sequence restarts at MAX(id) + 50 so the first pooled block starts right after the existing rows.
+CREATE SEQUENCE products_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE products_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM products);
+
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE orders_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM orders);
+
+CREATE SEQUENCE order_items_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE order_items_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM order_items);
@@ -0,0 +1,5 @@
+-- KEYSET PAGINATION INDEXES
+-- Back the paginated product listing and search.
+-- Each sort key is paired with the id tie-breaker, so reading the rows after (value, id) is an index range scan.
+CREATE INDEX idx_products_price_id ON products (price, id);
+CREATE INDEX idx_products_name_id ON products (name, id);
@@ -0,0 +1,4 @@
+-- PRODUCT CHANGES INDEX
+-- Backs the delta sync feed, which reads the products changed after an (updated_at, id) position.
+-- Deleted products keep their row with a fresh updated_at, so deletions are found through the same index.
+CREATE INDEX idx_products_updated_at_id ON products (updated_at, id);
@@ -33,7 +33,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureMockMvc
 @TestPropertySource(properties = {
     "jwt.secret=mySecretKeyForJWTTokenGenerationAndValidationThatNeedsToBeAtLeast256BitsLong12345678",
-    "jwt.expiration=3600000"
+    "jwt.expiration=3600000",
+    "warm-up.enabled=false"
 })
 class OrderControllerTest {
 
@@ -0,0 +1,77 @@
+package com.assignment.ordermanagement.order.application.usecase;
+
+import com.assignment.ordermanagement.order.application.dto.OrderItemRequest;
+import com.assignment.ordermanagement.order.application.dto.OrderRequest;
+import com.assignment.ordermanagement.order.application.dto.OrderResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductRequest;
+import com.assignment.ordermanagement.product.application.usecase.CreateProductUseCase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "jwt.secret=mySecretKeyForJWTTokenGenerationAndValidationThatNeedsToBeAtLeast256BitsLong12345678",
+    "jwt.expiration=3600000",
+    "warm-up.enabled=false",
+    "spring.datasource.hikari.maximum-pool-size=" + PlaceOrderConnectionPoolTest.POOL_SIZE,
+    "spring.datasource.hikari.connection-timeout=5000"
+})
+class PlaceOrderConnectionPoolTest {
+
+    static final int POOL_SIZE = 2;
+
+    private static final String ORDER_USER = "user";
+    private static final int CHECKOUTS = POOL_SIZE * 4;
+
+    @Autowired
+    private PlaceOrderUseCase placeOrderUseCase;
+
+    @Autowired
+    private CreateProductUseCase createProductUseCase;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void shouldPlaceMoreConcurrentOrdersThanPooledConnectionsWhenProductsMissTheCache() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < CHECKOUTS; i++) {
+            ids.add(createProductUseCase.execute(
+                    new ProductRequest("Pool Product " + i, "Connection pool test product", new BigDecimal("10.00"), 5)).id());
+        }
+        // Every checkout loads its product from the database while holding its own connection
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        ExecutorService pool = Executors.newFixedThreadPool(CHECKOUTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrderResponse>> orders = new ArrayList<>();
+        try {
+            for (Long id : ids) {
+                orders.add(pool.submit(() -> {
+                    start.await();
+                    return placeOrderUseCase.execute(new OrderRequest(List.of(new OrderItemRequest(id, 1))), ORDER_USER);
+                }));
+            }
+            start.countDown();
+            for (Future<OrderResponse> order : orders) {
+                assertThat(order.get(30, TimeUnit.SECONDS).id()).isNotNull();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.assignment.ordermanagement.order.application.usecase;
+
+import com.assignment.ordermanagement.order.application.dto.OrderItemRequest;
+import com.assignment.ordermanagement.order.application.dto.OrderRequest;
+import com.assignment.ordermanagement.order.application.dto.OrderResponse;
+import com.assignment.ordermanagement.order.domain.exception.OutOfStockException;
+import com.assignment.ordermanagement.product.application.dto.ProductRequest;
+import com.assignment.ordermanagement.product.application.usecase.CreateProductUseCase;
+import com.assignment.ordermanagement.product.domain.port.ProductService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "jwt.secret=mySecretKeyForJWTTokenGenerationAndValidationThatNeedsToBeAtLeast256BitsLong12345678",
+    "jwt.expiration=3600000",
+    "warm-up.enabled=false",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.assignment.ordermanagement.order.application.usecase.PlaceOrderUseCaseIntegrationTest$PreparedStatements"
+})
+class PlaceOrderUseCaseIntegrationTest {
+
+    private static final String ORDER_USER = "user";
+
+    @Autowired
+    private PlaceOrderUseCase placeOrderUseCase;
+
+    @Autowired
+    private CreateProductUseCase createProductUseCase;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldRollBackStockReservedForEarlierLinesWhenLaterLineFails() {
+        Long laptop = createProduct("Rollback Laptop", 10);
+        Long mouse = createProduct("Rollback Mouse", 1);
+        // The caches still show the mouse in stock, so the order gets as far as reserving it
+        productService.getProductsByIds(List.of(laptop, mouse));
+        jdbcTemplate.update("UPDATE products SET quantity = 0 WHERE id = ?", mouse);
+        int ordersBefore = countOrders();
+
+        OrderRequest request = new OrderRequest(List.of(new OrderItemRequest(laptop, 3), new OrderItemRequest(mouse, 1)));
+
+        assertThatThrownBy(() -> placeOrderUseCase.execute(request, ORDER_USER))
+            .isInstanceOf(OutOfStockException.class);
+        assertThat(storedQuantity(laptop)).isEqualTo(10);
+        assertThat(countOrders()).isEqualTo(ordersBefore);
+    }
+
+    @Test
+    void shouldWriteEachTableWithOneBatchedStatement() {
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(new OrderItemRequest(createProduct("Batch Product " + i, 5), 2));
+        }
+        // Take the first blocks of the id sequences outside the measured order
+        placeOrderUseCase.execute(new OrderRequest(List.of(items.get(0))), ORDER_USER);
+        PreparedStatements.clear();
+
+        OrderResponse response = placeOrderUseCase.execute(new OrderRequest(items), ORDER_USER);
+
+        assertThat(response.items()).hasSize(10);
+        assertThat(PreparedStatements.count("insert into orders")).isEqualTo(1);
+        assertThat(PreparedStatements.count("insert into order_items")).isEqualTo(1);
+        assertThat(PreparedStatements.count("update products")).isEqualTo(1);
+    }
+
+    private Long createProduct(String name, int quantity) {
+        return createProductUseCase.execute(
+                new ProductRequest(name, "Order test product", new BigDecimal("10.00"), quantity)).id();
+    }
+
+    private Integer storedQuantity(Long productId) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM products WHERE id = ?", Integer.class, productId);
+    }
+
+    private int countOrders() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Integer.class);
+    }
+
+    /**
+     * Counts how often each SQL statement is prepared. A batched statement is prepared once per batch,
+     * however many rows it writes.
+     */
+    public static class PreparedStatements implements StatementInspector {
+
+        private static final Map<String, AtomicInteger> COUNTS = new ConcurrentHashMap<>();
+
+        @Override
+        public String inspect(String sql) {
+            COUNTS.computeIfAbsent(sql.toLowerCase(Locale.ROOT), key -> new AtomicInteger()).incrementAndGet();
+            return sql;
+        }
+
+        static int count(String prefix) {
+            return COUNTS.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(prefix))
+                    .mapToInt(entry -> entry.getValue().get())
+                    .sum();
+        }
+
+        static void clear() {
+            COUNTS.clear();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.assignment.ordermanagement.order.application.usecase;
 
 import com.assignment.ordermanagement.order.application.dto.OrderItemRequest;
+import com.assignment.ordermanagement.order.application.dto.OrderItemResponse;
 import com.assignment.ordermanagement.order.application.dto.OrderRequest;
 import com.assignment.ordermanagement.order.application.dto.OrderResponse;
 import com.assignment.ordermanagement.order.domain.exception.OutOfStockException;
@@ -8,6 +9,7 @@ import com.assignment.ordermanagement.order.domain.model.Order;
 import com.assignment.ordermanagement.order.domain.model.OrderItem;
 import com.assignment.ordermanagement.order.domain.service.OrderDomainService;
 import com.assignment.ordermanagement.order.domain.service.discount.DiscountCalculator;
+import com.assignment.ordermanagement.product.domain.exception.ProductNotFoundException;
 import com.assignment.ordermanagement.product.domain.model.Product;
 import com.assignment.ordermanagement.product.domain.port.ProductService;
 import com.assignment.ordermanagement.user.domain.model.Role;
@@ -24,6 +26,8 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -63,7 +67,8 @@ class PlaceOrderUseCaseTest {
         OrderRequest request = new OrderRequest(Arrays.asList(itemRequest));
 
         when(userService.getUserByUsername(username)).thenReturn(user);
-        when(productService.getProductById(1L)).thenReturn(product);
+        when(productService.getProductsByIds(Set.of(1L))).thenReturn(Arrays.asList(product));
+        when(productService.reserveStock(any())).thenReturn(true);
         when(discountCalculator.calculate(any())).thenReturn(BigDecimal.ZERO);
         
         Order savedOrder = new Order(1L, user.getId(), 
@@ -79,7 +84,7 @@ class PlaceOrderUseCaseTest {
         assertThat(response.id()).isEqualTo(100L);
         assertThat(response.userId()).isEqualTo(user.getId());
         assertThat(response.items()).hasSize(1);
-        verify(productService).decreaseStock(1L, 2);
+        verify(productService).reserveStock(Map.of(1L, 2));
         verify(orderDomainService).createOrder(any(Order.class));
     }
 
@@ -93,13 +98,13 @@ class PlaceOrderUseCaseTest {
         OrderRequest request = new OrderRequest(Arrays.asList(itemRequest));
 
         when(userService.getUserByUsername(username)).thenReturn(user);
-        when(productService.getProductById(1L)).thenReturn(product);
+        when(productService.getProductsByIds(Set.of(1L))).thenReturn(Arrays.asList(product));
 
         assertThatThrownBy(() -> placeOrderUseCase.execute(request, username))
             .isInstanceOf(OutOfStockException.class)
             .hasMessageContaining("out of stock");
 
-        verify(productService, never()).decreaseStock(anyLong(), anyInt());
+        verify(productService, never()).reserveStock(any());
         verify(orderDomainService, never()).createOrder(any());
     }
 
@@ -113,7 +118,8 @@ class PlaceOrderUseCaseTest {
         OrderRequest request = new OrderRequest(Arrays.asList(itemRequest));
 
         when(userService.getUserByUsername(username)).thenReturn(user);
-        when(productService.getProductById(1L)).thenReturn(product);
+        when(productService.getProductsByIds(Set.of(1L))).thenReturn(Arrays.asList(product));
+        when(productService.reserveStock(any())).thenReturn(true);
         when(discountCalculator.calculate(any())).thenReturn(new BigDecimal("20.00"));
         
         ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
@@ -142,8 +148,8 @@ class PlaceOrderUseCaseTest {
         OrderRequest request = new OrderRequest(Arrays.asList(itemRequest1, itemRequest2));
 
         when(userService.getUserByUsername(username)).thenReturn(user);
-        when(productService.getProductById(1L)).thenReturn(product1);
-        when(productService.getProductById(2L)).thenReturn(product2);
+        when(productService.getProductsByIds(Set.of(1L, 2L))).thenReturn(Arrays.asList(product1, product2));
+        when(productService.reserveStock(any())).thenReturn(true);
         when(discountCalculator.calculate(any())).thenReturn(BigDecimal.ZERO);
         
         Order savedOrder = new Order(1L);
@@ -152,8 +158,7 @@ class PlaceOrderUseCaseTest {
 
         placeOrderUseCase.execute(request, username);
 
-        verify(productService).decreaseStock(1L, 2);
-        verify(productService).decreaseStock(2L, 3);
+        verify(productService).reserveStock(Map.of(1L, 2, 2L, 3));
         verify(orderDomainService).createOrder(any(Order.class));
     }
 
@@ -169,8 +174,8 @@ class PlaceOrderUseCaseTest {
         OrderRequest request = new OrderRequest(Arrays.asList(itemRequest1, itemRequest2));
 
         when(userService.getUserByUsername(username)).thenReturn(user);
-        when(productService.getProductById(1L)).thenReturn(product1);
-        when(productService.getProductById(2L)).thenReturn(product2);
+        when(productService.getProductsByIds(Set.of(1L, 2L))).thenReturn(Arrays.asList(product1, product2));
+        when(productService.reserveStock(any())).thenReturn(true);
         when(discountCalculator.calculate(any())).thenReturn(new BigDecimal("15.00"));
         
         ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
@@ -184,5 +189,124 @@ class PlaceOrderUseCaseTest {
         Order capturedOrder = orderCaptor.getValue();
         assertThat(capturedOrder.getItems()).hasSize(2);
     }
-}
 
+    @Test
+    void shouldMergeDuplicateProductLines() {
+        String username = "testuser";
+        User user = new User(1L, username, "password", Role.USER);
+        Product product = new Product(1L, "Product1", "Description", new BigDecimal("50.00"), 10, Instant.now(), null, false);
+
+        OrderRequest request = new OrderRequest(Arrays.asList(
+            new OrderItemRequest(1L, 2),
+            new OrderItemRequest(1L, 3)
+        ));
+
+        when(userService.getUserByUsername(username)).thenReturn(user);
+        when(productService.getProductsByIds(Set.of(1L))).thenReturn(Arrays.asList(product));
+        when(productService.reserveStock(any())).thenReturn(true);
+        when(discountCalculator.calculate(any())).thenReturn(BigDecimal.ZERO);
+
+        ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
+        Order savedOrder = new Order(1L);
+        savedOrder.setId(100L);
+        when(orderDomainService.createOrder(any(Order.class))).thenReturn(savedOrder);
+
+        placeOrderUseCase.execute(request, username);
+
+        verify(productService, times(1)).getProductsByIds(any());
+        verify(productService).reserveStock(Map.of(1L, 5));
+        verify(orderDomainService).createOrder(orderCaptor.capture());
+        assertThat(orderCaptor.getValue().getItems()).hasSize(1);
+        assertThat(orderCaptor.getValue().getItems().get(0).getQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldNotDecreaseAnyStockWhenLaterLineIsOutOfStock() {
+        String username = "testuser";
+        User user = new User(1L, username, "password", Role.USER);
+        Product product1 = new Product(1L, "Product1", "Description", new BigDecimal("50.00"), 10, Instant.now(), null, false);
+        Product product2 = new Product(2L, "Product2", "Description", new BigDecimal("30.00"), 1, Instant.now(), null, false);
+
+        OrderRequest request = new OrderRequest(Arrays.asList(
+            new OrderItemRequest(1L, 2),
+            new OrderItemRequest(2L, 5)
+        ));
+
+        when(userService.getUserByUsername(username)).thenReturn(user);
+        when(productService.getProductsByIds(Set.of(1L, 2L))).thenReturn(Arrays.asList(product1, product2));
+
+        assertThatThrownBy(() -> placeOrderUseCase.execute(request, username))
+            .isInstanceOf(OutOfStockException.class);
+
+        verify(productService, never()).reserveStock(any());
+        verify(orderDomainService, never()).createOrder(any());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenProductNotFound() {
+        String username = "testuser";
+        User user = new User(1L, username, "password", Role.USER);
+
+        OrderRequest request = new OrderRequest(Arrays.asList(new OrderItemRequest(99L, 1)));
+
+        when(userService.getUserByUsername(username)).thenReturn(user);
+        when(productService.getProductsByIds(Set.of(99L))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> placeOrderUseCase.execute(request, username))
+            .isInstanceOf(ProductNotFoundException.class)
+            .hasMessage("Product not found with id: 99");
+
+        verify(orderDomainService, never()).createOrder(any());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenStockReservationFails() {
+        String username = "testuser";
+        User user = new User(1L, username, "password", Role.USER);
+        Product product = new Product(1L, "Product1", "Description", new BigDecimal("50.00"), 10, Instant.now(), null, false);
+
+        OrderRequest request = new OrderRequest(Arrays.asList(new OrderItemRequest(1L, 2)));
+
+        when(userService.getUserByUsername(username)).thenReturn(user);
+        when(productService.getProductsByIds(Set.of(1L))).thenReturn(Arrays.asList(product));
+        when(productService.reserveStock(Map.of(1L, 2))).thenReturn(false);
+
+        assertThatThrownBy(() -> placeOrderUseCase.execute(request, username))
+            .isInstanceOf(OutOfStockException.class);
+
+        verify(orderDomainService, never()).createOrder(any());
+    }
+
+    @Test
+    void shouldPreviewPricedOrderWithoutReservingOrSaving() {
+        String username = "premiumuser";
+        User user = new User(1L, username, "password", Role.PREMIUM_USER);
+        Product product = new Product(1L, "Product1", "Description", new BigDecimal("100.00"), 10, Instant.now(), null, false);
+        OrderRequest request = new OrderRequest(List.of(new OrderItemRequest(1L, 2)));
+
+        when(userService.getUserByUsername(username)).thenReturn(user);
+        when(productService.getProductsByIds(Set.of(1L))).thenReturn(List.of(product));
+        when(discountCalculator.calculate(any())).thenReturn(new BigDecimal("20.00"));
+
+        OrderResponse response = placeOrderUseCase.preview(request, username);
+
+        assertThat(response.id()).isNull();
+        assertThat(response.orderTotal()).isEqualByComparingTo("180.00");
+        assertThat(response.items()).extracting(OrderItemResponse::discountApplied).containsExactly(new BigDecimal("20.00"));
+        verify(productService, never()).reserveStock(any());
+        verifyNoInteractions(orderDomainService);
+    }
+
+    @Test
+    void shouldRejectPreviewOfOutOfStockProduct() {
+        User user = new User(1L, "testuser", "password", Role.USER);
+        Product product = new Product(1L, "Product1", "Description", new BigDecimal("50.00"), 1, Instant.now(), null, false);
+
+        when(userService.getUserByUsername("testuser")).thenReturn(user);
+        when(productService.getProductsByIds(Set.of(1L))).thenReturn(List.of(product));
+
+        assertThatThrownBy(() -> placeOrderUseCase.preview(new OrderRequest(List.of(new OrderItemRequest(1L, 5))), "testuser"))
+            .isInstanceOf(OutOfStockException.class);
+        verifyNoInteractions(orderDomainService);
+    }
+}
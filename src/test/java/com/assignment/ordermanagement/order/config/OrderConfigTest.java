@@ -0,0 +1,73 @@
+package com.assignment.ordermanagement.order.config;
+
+import com.assignment.ordermanagement.order.application.dto.OrderItemRequest;
+import com.assignment.ordermanagement.order.application.dto.OrderRequest;
+import com.assignment.ordermanagement.order.application.usecase.PlaceOrderUseCase;
+import com.assignment.ordermanagement.order.domain.service.OrderDomainService;
+import com.assignment.ordermanagement.order.domain.service.discount.DiscountCalculator;
+import com.assignment.ordermanagement.product.domain.port.ProductService;
+import com.assignment.ordermanagement.user.domain.exception.UserNotFoundException;
+import com.assignment.ordermanagement.user.domain.port.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderConfigTest {
+
+    private static final OrderRequest ORDER = new OrderRequest(List.of(new OrderItemRequest(1L, 1)));
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final TransactionStatus status = mock(TransactionStatus.class);
+
+    private PlaceOrderUseCase placeOrderUseCase;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        when(userService.getUserByUsername("ghost")).thenThrow(new UserNotFoundException("User not found: ghost"));
+        placeOrderUseCase = new OrderConfig().placeOrderUseCase(mock(OrderDomainService.class),
+                mock(ProductService.class), userService, mock(DiscountCalculator.class), transactionManager);
+    }
+
+    @Test
+    void shouldPlaceOrderInSingleTransactionRolledBackOnFailure() {
+        assertThatThrownBy(() -> placeOrderUseCase.execute(ORDER, "ghost"))
+            .isInstanceOf(UserNotFoundException.class);
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().isReadOnly()).isFalse();
+        verify(transactionManager).rollback(status);
+    }
+
+    @Test
+    void shouldPreviewOrderInReadOnlyTransaction() {
+        assertThatThrownBy(() -> placeOrderUseCase.preview(ORDER, "ghost"))
+            .isInstanceOf(UserNotFoundException.class);
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().isReadOnly()).isTrue();
+    }
+}
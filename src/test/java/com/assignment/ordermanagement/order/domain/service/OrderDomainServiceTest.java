@@ -8,8 +8,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,5 +42,17 @@ class OrderDomainServiceTest {
         assertThat(result.getId()).isEqualTo(100L);
         verify(orderRepository).save(order);
     }
-}
 
+    @Test
+    void shouldGetMostOrderedProductIds() {
+        when(orderRepository.findMostOrderedProductIds(10)).thenReturn(List.of(3L, 1L));
+
+        assertThat(orderDomainService.getMostOrderedProductIds(10)).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void shouldReturnNoProductIdsForNonPositiveLimit() {
+        assertThat(orderDomainService.getMostOrderedProductIds(0)).isEmpty();
+        verifyNoInteractions(orderRepository);
+    }
+}
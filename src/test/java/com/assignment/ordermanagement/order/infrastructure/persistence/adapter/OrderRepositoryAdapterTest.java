@@ -9,9 +9,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -54,5 +56,13 @@ class OrderRepositoryAdapterTest {
         verify(jpaRepository).save(entity);
         verify(mapper).toDomain(savedEntity);
     }
-}
 
+    @Test
+    void shouldFindMostOrderedProductIds() {
+        when(jpaRepository.findMostOrderedProductIds(Limit.of(2))).thenReturn(List.of(3L, 1L));
+
+        List<Long> result = orderRepositoryAdapter.findMostOrderedProductIds(2);
+
+        assertThat(result).containsExactly(3L, 1L);
+    }
+}
@@ -0,0 +1,142 @@
+package com.assignment.ordermanagement.order.infrastructure.persistence.repository;
+
+import com.assignment.ordermanagement.order.infrastructure.persistence.entity.OrderEntity;
+import com.assignment.ordermanagement.order.infrastructure.persistence.entity.OrderItemEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inserts-per-second benchmark for order writes on in-memory H2, before and after pooled sequence ids.
+ * "Before" persists the same entities through a second persistence unit that maps their ids back to
+ * IDENTITY, so Hibernate inserts every row on its own to read its key. "After" uses the application's
+ * mapping, where the pooled sequences let each order go out as one batched insert per table.
+ * Both write one transaction per order and alternate within every round.
+ * In-memory H2 has no network round trip per statement, so the statement count is the figure that carries
+ * over to a real database; the rows/s gap here is small once the JIT has warmed up.
+ * Run with: mvn test -Dtest=OrderInsertBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=warn",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=warn",
+        "logging.level.org.hibernate.orm.jdbc.bind=warn"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderInsertBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderInsertBenchmarkTest.class);
+
+    private static final long USER_ID = 1L;
+    private static final int ITEMS_PER_ORDER = 10;
+    private static final int WARM_UP_ORDERS = 10_000;
+    private static final int ORDERS_PER_ROUND = 5_000;
+    private static final int ROUNDS = 8;
+    private static final long IDENTITY_START = 1_000_000_000L;
+
+    @Autowired
+    private EntityManagerFactory pooledIds;
+
+    @Autowired
+    private EntityManagerFactoryBuilder builder;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compareIdentityWithPooledSequenceInserts() {
+        // Both units write to the same tables; keep the identity keys clear of the sequence blocks
+        jdbcTemplate.execute("ALTER TABLE orders ALTER COLUMN id RESTART WITH " + IDENTITY_START);
+        jdbcTemplate.execute("ALTER TABLE order_items ALTER COLUMN id RESTART WITH " + IDENTITY_START);
+
+        LocalContainerEntityManagerFactoryBean factory = builder.dataSource(dataSource)
+                .packages(OrderEntity.class)
+                .mappingResources("benchmark/identity-order-ids-orm.xml")
+                .persistenceUnit("identityIds")
+                .build();
+        factory.afterPropertiesSet();
+        EntityManagerFactory identityIds = factory.getObject();
+        try {
+            insert(identityIds, WARM_UP_ORDERS);
+            insert(pooledIds, WARM_UP_ORDERS);
+
+            int rowsPerRound = ORDERS_PER_ROUND * (1 + ITEMS_PER_ORDER);
+            for (int round = 1; round <= ROUNDS; round++) {
+                Statistics before = statisticsOf(identityIds);
+                Statistics after = statisticsOf(pooledIds);
+                long beforeNanos = insert(identityIds, ORDERS_PER_ROUND);
+                long afterNanos = insert(pooledIds, ORDERS_PER_ROUND);
+
+                log.info("Round {}: before (IDENTITY) {} statements, {} rows/s | after (pooled) {} statements, {} rows/s",
+                         round, before.getPrepareStatementCount(), rowsPerSecond(rowsPerRound, beforeNanos),
+                         after.getPrepareStatementCount(), rowsPerSecond(rowsPerRound, afterNanos));
+                assertThat(before.getEntityInsertCount()).isEqualTo(rowsPerRound);
+                assertThat(after.getEntityInsertCount()).isEqualTo(rowsPerRound);
+                assertThat(after.getPrepareStatementCount()).isLessThan(before.getPrepareStatementCount());
+            }
+        } finally {
+            factory.destroy();
+        }
+    }
+
+    private static long insert(EntityManagerFactory entityManagerFactory, int orders) {
+        long start = System.nanoTime();
+        for (int i = 0; i < orders; i++) {
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            try {
+                entityManager.getTransaction().begin();
+                entityManager.persist(order());
+                entityManager.getTransaction().commit();
+            } finally {
+                entityManager.close();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static Statistics statisticsOf(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private static OrderEntity order() {
+        OrderEntity order = new OrderEntity(null, USER_ID, new BigDecimal("100.00"), null, null);
+        List<OrderItemEntity> items = new ArrayList<>(ITEMS_PER_ORDER);
+        for (int item = 0; item < ITEMS_PER_ORDER; item++) {
+            items.add(new OrderItemEntity(null, order, (long) item + 1, 1, new BigDecimal("10.00"),
+                                          BigDecimal.ZERO, new BigDecimal("10.00")));
+        }
+        order.setItems(items);
+        return order;
+    }
+
+    private static String rowsPerSecond(int rows, long nanos) {
+        return String.format("%,.0f", rows * 1_000_000_000.0 / nanos);
+    }
+}
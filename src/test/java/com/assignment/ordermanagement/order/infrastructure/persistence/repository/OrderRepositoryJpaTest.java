@@ -0,0 +1,108 @@
+package com.assignment.ordermanagement.order.infrastructure.persistence.repository;
+
+import com.assignment.ordermanagement.order.infrastructure.persistence.entity.OrderEntity;
+import com.assignment.ordermanagement.order.infrastructure.persistence.entity.OrderItemEntity;
+import com.assignment.ordermanagement.product.infrastructure.persistence.entity.ProductEntity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=warn",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=warn"
+})
+class OrderRepositoryJpaTest {
+
+    private static final long USER_ID = 1L;
+
+    @Autowired
+    private OrderRepositoryJpa orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldAssignIdsFromSequencesBeforeInserting() {
+        OrderEntity order = order(3);
+
+        entityManager.persist(order);
+
+        assertThat(order.getId()).isNotNull();
+        assertThat(order.getItems()).allSatisfy(item -> assertThat(item.getId()).isNotNull());
+        assertThat(statistics.getEntityInsertCount()).isZero();
+    }
+
+    @Test
+    void shouldHandOutConsecutiveIdsFromOnePooledBlock() {
+        OrderEntity order = order(10);
+
+        orderRepository.saveAndFlush(order);
+
+        List<Long> itemIds = order.getItems().stream().map(OrderItemEntity::getId).toList();
+        for (int i = 1; i < itemIds.size(); i++) {
+            assertThat(itemIds.get(i)).isEqualTo(itemIds.get(i - 1) + 1);
+        }
+        // The block was reserved from the sequence, so the next value lies beyond every id handed out
+        Long nextValue = ((Number) entityManager
+                .createNativeQuery("SELECT NEXT VALUE FOR order_items_seq")
+                .getSingleResult()).longValue();
+        assertThat(nextValue).isGreaterThan(itemIds.get(itemIds.size() - 1));
+    }
+
+    @Test
+    void shouldWriteOrderWithItemsAsTwoBatchedInserts() {
+        // Take the first blocks of both sequences outside the measured order
+        orderRepository.saveAndFlush(order(1));
+        statistics.clear();
+
+        orderRepository.saveAndFlush(order(10));
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(11);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldStartProductIdsAfterExistingRows() {
+        Long maxExistingId = ((Number) entityManager
+                .createNativeQuery("SELECT MAX(id) FROM products")
+                .getSingleResult()).longValue();
+        ProductEntity product = new ProductEntity(null, "Headset", "Wireless headset", new BigDecimal("59.00"),
+                                                  7, null, null, false);
+
+        entityManager.persist(product);
+        entityManager.flush();
+
+        assertThat(product.getId()).isGreaterThan(maxExistingId);
+    }
+
+    private static OrderEntity order(int itemCount) {
+        OrderEntity order = new OrderEntity(null, USER_ID, new BigDecimal("10.00").multiply(BigDecimal.valueOf(itemCount)),
+                                            null, null);
+        List<OrderItemEntity> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new OrderItemEntity(null, order, (long) (i % 10) + 1, 1, new BigDecimal("10.00"),
+                                          BigDecimal.ZERO, new BigDecimal("10.00")));
+        }
+        order.setItems(items);
+        return order;
+    }
+}
@@ -1,38 +1,67 @@
 package com.assignment.ordermanagement.product.adapter.rest;
 
+import com.assignment.ordermanagement.product.application.dto.ProductBatchRequest;
+import com.assignment.ordermanagement.product.application.dto.ProductBatchResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductChangeResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductChangesResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductFacetsResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductPageResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductProjectionPageResponse;
 import com.assignment.ordermanagement.product.application.dto.ProductRequest;
 import com.assignment.ordermanagement.product.application.dto.ProductResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductSearchRequest;
+import com.assignment.ordermanagement.product.application.dto.ProductSuggestionResponse;
 import com.assignment.ordermanagement.product.application.usecase.*;
 import com.assignment.ordermanagement.product.domain.exception.ProductNotFoundException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
 @TestPropertySource(properties = {
     "jwt.secret=mySecretKeyForJWTTokenGenerationAndValidationThatNeedsToBeAtLeast256BitsLong12345678",
-    "jwt.expiration=3600000"
+    "jwt.expiration=3600000",
+    "warm-up.enabled=false"
 })
 class ProductControllerTest {
 
@@ -68,21 +97,38 @@ class ProductControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @MockBean
     private CreateProductUseCase createProductUseCase;
 
     @MockBean
     private GetAllProductsUseCase getAllProductsUseCase;
 
+    @MockBean
+    private GetProductsUseCase getProductsUseCase;
+
     @MockBean
     private SearchProductsUseCase searchProductsUseCase;
 
+    @MockBean
+    private SuggestProductsUseCase suggestProductsUseCase;
+
+    @MockBean
+    private GetProductChangesUseCase getProductChangesUseCase;
+
     @MockBean
     private UpdateProductUseCase updateProductUseCase;
 
     @MockBean
     private DeleteProductUseCase deleteProductUseCase;
 
+    @BeforeEach
+    void clearProductListResponses() {
+        cacheManager.getCache("productListResponse").clear();
+    }
+
     @Test
     @WithMockUser(username = ADMIN_USER, roles = ROLE_ADMIN)
     void shouldCreateProduct() throws Exception {
@@ -127,6 +173,62 @@ class ProductControllerTest {
             .andExpect(jsonPath("$[1].id").value(2));
     }
 
+    @Test
+    void shouldReturn304WhenProductListIsUnchanged() throws Exception {
+        ProductResponse response = new ProductResponse(PRODUCT_ID_1, PRODUCT_NAME_1, DESCRIPTION_1, new BigDecimal("10.00"), STOCK_QUANTITY_5, true);
+
+        when(getAllProductsUseCase.currentVersion()).thenReturn(7L);
+        when(getAllProductsUseCase.execute()).thenReturn(List.of(response));
+
+        String eTag = mockMvc.perform(get(API_PRODUCTS_URL))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(API_PRODUCTS_URL)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().bytes(new byte[0]));
+
+        verify(getAllProductsUseCase, times(1)).execute();
+    }
+
+    @Test
+    void shouldRenderProductListAgainWhenVersionChanges() throws Exception {
+        ProductResponse before = new ProductResponse(PRODUCT_ID_1, PRODUCT_NAME_1, DESCRIPTION_1, new BigDecimal("10.00"), STOCK_QUANTITY_5, true);
+        ProductResponse after = new ProductResponse(PRODUCT_ID_1, PRODUCT_NAME_1, DESCRIPTION_1, new BigDecimal("10.00"), 0, false);
+
+        when(getAllProductsUseCase.currentVersion()).thenReturn(1L, 2L);
+        when(getAllProductsUseCase.execute()).thenReturn(List.of(before), List.of(after));
+
+        String eTag = mockMvc.perform(get(API_PRODUCTS_URL))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(API_PRODUCTS_URL)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].inStock").value(false));
+    }
+
+    @Test
+    void shouldServeGzipCompressedProductList() throws Exception {
+        ProductResponse response = new ProductResponse(PRODUCT_ID_1, PRODUCT_NAME_1, DESCRIPTION_1, new BigDecimal("10.00"), STOCK_QUANTITY_5, true);
+
+        when(getAllProductsUseCase.execute()).thenReturn(List.of(response));
+
+        byte[] body = mockMvc.perform(get(API_PRODUCTS_URL)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                .isEqualTo(objectMapper.writeValueAsString(List.of(response)));
+        }
+    }
+
     @Test
     void shouldReturnEmptyListWhenNoProducts() throws Exception {
         when(getAllProductsUseCase.execute()).thenReturn(Collections.emptyList());
@@ -141,7 +243,7 @@ class ProductControllerTest {
     void shouldSearchProductsByName() throws Exception {
         ProductResponse response = new ProductResponse(PRODUCT_ID_1, TEST_PRODUCT_NAME, PRODUCT_DESCRIPTION, new BigDecimal("10.00"), STOCK_QUANTITY_5, true);
 
-        when(searchProductsUseCase.execute(eq(TEST_SEARCH_TERM), eq(null), eq(null), eq(null)))
+        when(searchProductsUseCase.execute(ProductSearchRequest.of(TEST_SEARCH_TERM, null, null, null)))
             .thenReturn(Arrays.asList(response));
 
         mockMvc.perform(get(API_PRODUCTS_SEARCH_URL)
@@ -155,7 +257,7 @@ class ProductControllerTest {
     void shouldSearchProductsByPriceRange() throws Exception {
         ProductResponse response = new ProductResponse(PRODUCT_ID_1, PRODUCT_NAME, PRODUCT_DESCRIPTION, new BigDecimal("25.00"), STOCK_QUANTITY_5, true);
 
-        when(searchProductsUseCase.execute(eq(null), eq(new BigDecimal("10.00")), eq(new BigDecimal("50.00")), eq(null)))
+        when(searchProductsUseCase.execute(ProductSearchRequest.of(null, new BigDecimal("10.00"), new BigDecimal("50.00"), null)))
             .thenReturn(Arrays.asList(response));
 
         mockMvc.perform(get(API_PRODUCTS_SEARCH_URL)
@@ -169,7 +271,7 @@ class ProductControllerTest {
     void shouldSearchInStockProducts() throws Exception {
         ProductResponse response = new ProductResponse(PRODUCT_ID_1, PRODUCT_NAME, PRODUCT_DESCRIPTION, new BigDecimal("10.00"), STOCK_QUANTITY_5, true);
 
-        when(searchProductsUseCase.execute(eq(null), eq(null), eq(null), eq(true)))
+        when(searchProductsUseCase.execute(ProductSearchRequest.of(null, null, null, true)))
             .thenReturn(Arrays.asList(response));
 
         mockMvc.perform(get(API_PRODUCTS_SEARCH_URL)
@@ -178,6 +280,257 @@ class ProductControllerTest {
             .andExpect(jsonPath("$[0].inStock").value(true));
     }
 
+    @Test
+    void shouldSuggestProductsForPrefix() throws Exception {
+        when(suggestProductsUseCase.execute("mou", 10)).thenReturn(List.of(new ProductSuggestionResponse(PRODUCT_ID_1, "Mouse")));
+
+        mockMvc.perform(get("/api/products/autocomplete")
+                .param("prefix", "mou"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(PRODUCT_ID_1))
+            .andExpect(jsonPath("$[0].name").value("Mouse"));
+    }
+
+    @Test
+    void shouldReturnProductChangesSinceCursor() throws Exception {
+        Instant updatedAt = Instant.parse("2026-03-01T10:15:30Z");
+        ProductChangeResponse deleted = new ProductChangeResponse(PRODUCT_ID_1, "Mouse", PRODUCT_DESCRIPTION,
+                new BigDecimal("25.00"), 0, false, true, updatedAt);
+        when(getProductChangesUseCase.execute("abc", 100))
+            .thenReturn(new ProductChangesResponse(List.of(deleted), "def", false));
+
+        mockMvc.perform(get("/api/products/changes")
+                .param("cursor", "abc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].id").value(PRODUCT_ID_1))
+            .andExpect(jsonPath("$.items[0].deleted").value(true))
+            .andExpect(jsonPath("$.items[0].updatedAt").value("2026-03-01T10:15:30Z"))
+            .andExpect(jsonPath("$.nextCursor").value("def"))
+            .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void shouldSearchProductsByRelevance() throws Exception {
+        ProductResponse response = new ProductResponse(PRODUCT_ID_1, TEST_PRODUCT_NAME, PRODUCT_DESCRIPTION, new BigDecimal("10.00"), STOCK_QUANTITY_5, true);
+
+        when(searchProductsUseCase.execute(ProductSearchRequest.of(TEST_SEARCH_TERM, null, null, null).withMode("relevance")))
+            .thenReturn(Arrays.asList(response));
+
+        mockMvc.perform(get(API_PRODUCTS_SEARCH_URL)
+                .param(PARAM_NAME, TEST_SEARCH_TERM)
+                .param("mode", "relevance"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].name").value(TEST_PRODUCT_NAME));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamAllProductsAsNdjson() throws Exception {
+        ProductResponse response1 = new ProductResponse(PRODUCT_ID_1, PRODUCT_NAME_1, DESCRIPTION_1, new BigDecimal("10.00"), STOCK_QUANTITY_5, true);
+        ProductResponse response2 = new ProductResponse(PRODUCT_ID_2, PRODUCT_NAME_2, DESCRIPTION_2, new BigDecimal("20.00"), STOCK_QUANTITY_10, true);
+        doAnswer(invocation -> {
+            Consumer<ProductResponse> action = invocation.getArgument(0);
+            action.accept(response1);
+            action.accept(response2);
+            return null;
+        }).when(getAllProductsUseCase).stream(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get(API_PRODUCTS_URL)
+                .accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(objectMapper.writeValueAsString(response1) + "\n"
+                    + objectMapper.writeValueAsString(response2) + "\n"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamSearchResultsAsNdjson() throws Exception {
+        ProductResponse response = new ProductResponse(PRODUCT_ID_1, TEST_PRODUCT_NAME, PRODUCT_DESCRIPTION, new BigDecimal("10.00"), STOCK_QUANTITY_5, true);
+        doAnswer(invocation -> {
+            invocation.<Consumer<ProductResponse>>getArgument(1).accept(response);
+            return null;
+        }).when(searchProductsUseCase).stream(eq(ProductSearchRequest.of(TEST_SEARCH_TERM, null, null, null)), any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get(API_PRODUCTS_SEARCH_URL)
+                .param(PARAM_NAME, TEST_SEARCH_TERM)
+                .accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().string(objectMapper.writeValueAsString(response) + "\n"));
+    }
+
+    @Test
+    void shouldGetProductPage() throws Exception {
+        ProductResponse response = new ProductResponse(PRODUCT_ID_1, PRODUCT_NAME_1, DESCRIPTION_1, new BigDecimal("10.00"), STOCK_QUANTITY_5, true);
+
+        when(getAllProductsUseCase.execute("price", "desc", 1, null))
+            .thenReturn(new ProductPageResponse(List.of(response), "next"));
+
+        mockMvc.perform(get(API_PRODUCTS_URL)
+                .param("size", "1")
+                .param("sort", "price")
+                .param("direction", "desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].id").value(1))
+            .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void shouldDefaultToIdOrderWhenPaging() throws Exception {
+        when(getAllProductsUseCase.execute("id", "asc", 20, "abc"))
+            .thenReturn(new ProductPageResponse(List.of(), null));
+
+        mockMvc.perform(get(API_PRODUCTS_URL)
+                .param("size", "20")
+                .param("cursor", "abc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items").isEmpty());
+    }
+
+    @Test
+    void shouldReturn400ForInvalidPageRequest() throws Exception {
+        when(getAllProductsUseCase.execute("id", "asc", 500, null))
+            .thenThrow(new IllegalArgumentException("Page size must be between 1 and 100"));
+
+        mockMvc.perform(get(API_PRODUCTS_URL)
+                .param("size", "500"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Page size must be between 1 and 100"));
+    }
+
+    @Test
+    void shouldGetProductByIdWithoutAuthentication() throws Exception {
+        ProductResponse response = new ProductResponse(PRODUCT_ID_1, PRODUCT_NAME_1, DESCRIPTION_1, new BigDecimal("10.00"), STOCK_QUANTITY_5, true);
+
+        when(getProductsUseCase.execute(PRODUCT_ID_1)).thenReturn(response);
+
+        mockMvc.perform(get(API_PRODUCTS_URL + "/{id}", PRODUCT_ID_1))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(PRODUCT_ID_1))
+            .andExpect(jsonPath("$.name").value(PRODUCT_NAME_1));
+    }
+
+    @Test
+    void shouldReturn404WhenGettingNonExistentProduct() throws Exception {
+        when(getProductsUseCase.execute(NON_EXISTENT_ID))
+            .thenThrow(new ProductNotFoundException("Product not found with id: " + NON_EXISTENT_ID));
+
+        mockMvc.perform(get(API_PRODUCTS_URL + "/{id}", NON_EXISTENT_ID))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldGetProductsByIds() throws Exception {
+        List<ProductResponse> responses = Arrays.asList(
+            new ProductResponse(PRODUCT_ID_2, PRODUCT_NAME_2, DESCRIPTION_2, new BigDecimal("20.00"), STOCK_QUANTITY_10, true),
+            new ProductResponse(PRODUCT_ID_1, PRODUCT_NAME_1, DESCRIPTION_1, new BigDecimal("10.00"), STOCK_QUANTITY_5, true)
+        );
+
+        when(getProductsUseCase.execute(List.of(PRODUCT_ID_2, PRODUCT_ID_1))).thenReturn(new ProductBatchResponse(responses, List.of()));
+
+        mockMvc.perform(get(API_PRODUCTS_URL)
+                .param("ids", "2,1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(2))
+            .andExpect(jsonPath("$.items[0].id").value(PRODUCT_ID_2))
+            .andExpect(jsonPath("$.items[1].id").value(PRODUCT_ID_1))
+            .andExpect(jsonPath("$.missingIds").isEmpty());
+    }
+
+    @Test
+    void shouldGetProductsBatchWithoutAuthentication() throws Exception {
+        ProductResponse response = new ProductResponse(PRODUCT_ID_1, PRODUCT_NAME_1, DESCRIPTION_1, new BigDecimal("10.00"), STOCK_QUANTITY_5, true);
+
+        when(getProductsUseCase.execute(List.of(PRODUCT_ID_1, NON_EXISTENT_ID)))
+            .thenReturn(new ProductBatchResponse(List.of(response), List.of(NON_EXISTENT_ID)));
+
+        mockMvc.perform(post(API_PRODUCTS_URL + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ProductBatchRequest(List.of(PRODUCT_ID_1, NON_EXISTENT_ID)))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(1))
+            .andExpect(jsonPath("$.items[0].id").value(PRODUCT_ID_1))
+            .andExpect(jsonPath("$.missingIds[0]").value(NON_EXISTENT_ID));
+    }
+
+    @Test
+    void shouldReturn400WhenBatchHasNoIds() throws Exception {
+        mockMvc.perform(post(API_PRODUCTS_URL + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new ProductBatchRequest(List.of()))))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldSearchProductPage() throws Exception {
+        ProductResponse response = new ProductResponse(PRODUCT_ID_1, TEST_PRODUCT_NAME, PRODUCT_DESCRIPTION, new BigDecimal("10.00"), STOCK_QUANTITY_5, true);
+
+        ProductSearchRequest request = ProductSearchRequest.of(TEST_SEARCH_TERM, null, null, true)
+            .withPage("name", "asc", 10, null);
+        when(searchProductsUseCase.page(request))
+            .thenReturn(new ProductPageResponse(List.of(response), null));
+
+        mockMvc.perform(get(API_PRODUCTS_SEARCH_URL)
+                .param(PARAM_NAME, TEST_SEARCH_TERM)
+                .param(PARAM_IN_STOCK, "true")
+                .param("size", "10")
+                .param("sort", "name"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].name").value(TEST_PRODUCT_NAME))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist())
+            .andExpect(jsonPath("$.facets").doesNotExist());
+    }
+
+    @Test
+    void shouldGetProductPageWithRequestedFields() throws Exception {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("id", PRODUCT_ID_1);
+        item.put("price", new BigDecimal("10.00"));
+        when(getAllProductsUseCase.execute("id", "asc", 20, null, "id,price"))
+            .thenReturn(new ProductProjectionPageResponse(List.of(item), null, null));
+
+        mockMvc.perform(get(API_PRODUCTS_URL)
+                .param("size", "20")
+                .param("fields", "id,price"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].id").value(PRODUCT_ID_1))
+            .andExpect(jsonPath("$.items[0].price").value(10.00))
+            .andExpect(jsonPath("$.items[0].description").doesNotExist())
+            .andExpect(jsonPath("$.facets").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnFacetsWithSearchPage() throws Exception {
+        ProductFacetsResponse facets = new ProductFacetsResponse(List.of(
+            new ProductFacetsResponse.PriceBucketResponse(new BigDecimal("0"), new BigDecimal("50"), 3),
+            new ProductFacetsResponse.PriceBucketResponse(new BigDecimal("50"), null, 1)
+        ), 2, 2);
+
+        ProductSearchRequest request = ProductSearchRequest.of(null, null, null, null)
+            .withPage("id", "asc", 10, null)
+            .withFacets(true, List.of(new BigDecimal("0"), new BigDecimal("50")));
+        when(searchProductsUseCase.page(request))
+            .thenReturn(new ProductPageResponse(List.of(), null, facets));
+
+        mockMvc.perform(get(API_PRODUCTS_SEARCH_URL)
+                .param("size", "10")
+                .param("facets", "true")
+                .param("priceBuckets", "0,50"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.facets.priceBuckets[0].count").value(3))
+            .andExpect(jsonPath("$.facets.priceBuckets[1].to").doesNotExist())
+            .andExpect(jsonPath("$.facets.inStock").value(2))
+            .andExpect(jsonPath("$.facets.outOfStock").value(2));
+    }
+
     @Test
     @WithMockUser(username = ADMIN_USER, roles = ROLE_ADMIN)
     void shouldUpdateProduct() throws Exception {
@@ -0,0 +1,82 @@
+package com.assignment.ordermanagement.product.adapter.rest;
+
+import com.assignment.ordermanagement.product.application.dto.ProductResponse;
+import com.assignment.ordermanagement.product.application.usecase.GetAllProductsUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductListRepresentationCacheTest {
+
+    @Mock
+    private GetAllProductsUseCase getAllProductsUseCase;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ProductListRepresentationCache representationCache;
+
+    @BeforeEach
+    void setUp() {
+        representationCache = new ProductListRepresentationCache(getAllProductsUseCase, objectMapper,
+                new ConcurrentMapCacheManager("productListResponse"));
+    }
+
+    @Test
+    void shouldRenderOncePerVersion() throws Exception {
+        List<ProductResponse> products = List.of(
+            new ProductResponse(1L, "Product", "Description", new BigDecimal("10.00"), 5, true));
+
+        when(getAllProductsUseCase.currentVersion()).thenReturn(3L);
+        when(getAllProductsUseCase.execute()).thenReturn(products);
+
+        ProductListRepresentationCache.Representation first = representationCache.current();
+        ProductListRepresentationCache.Representation second = representationCache.current();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.json()).isEqualTo(objectMapper.writeValueAsBytes(products));
+        verify(getAllProductsUseCase, times(1)).execute();
+    }
+
+    @Test
+    void shouldCompressJson() throws Exception {
+        when(getAllProductsUseCase.execute()).thenReturn(List.of(
+            new ProductResponse(1L, "Product", "Description", new BigDecimal("10.00"), 5, true)));
+
+        ProductListRepresentationCache.Representation representation = representationCache.current();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(representation.gzip()))) {
+            assertThat(in.readAllBytes()).isEqualTo(representation.json());
+        }
+    }
+
+    @Test
+    void shouldDeriveStrongETagFromContent() {
+        ProductResponse product = new ProductResponse(1L, "Product", "Description", new BigDecimal("10.00"), 5, true);
+
+        when(getAllProductsUseCase.currentVersion()).thenReturn(1L, 2L, 3L);
+        when(getAllProductsUseCase.execute()).thenReturn(List.of(product), List.of(product), List.of());
+
+        String first = representationCache.current().eTag();
+        String sameContent = representationCache.current().eTag();
+        String otherContent = representationCache.current().eTag();
+
+        assertThat(first).startsWith("\"").endsWith("\"").doesNotStartWith("W/");
+        assertThat(sameContent).isEqualTo(first);
+        assertThat(otherContent).isNotEqualTo(first);
+    }
+}
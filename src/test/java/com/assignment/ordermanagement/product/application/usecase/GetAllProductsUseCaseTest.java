@@ -1,7 +1,13 @@
 package com.assignment.ordermanagement.product.application.usecase;
 
+import com.assignment.ordermanagement.product.application.dto.ProductPageResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductProjectionPageResponse;
 import com.assignment.ordermanagement.product.application.dto.ProductResponse;
 import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductField;
+import com.assignment.ordermanagement.product.domain.model.ProductPage;
+import com.assignment.ordermanagement.product.domain.model.ProductPageRequest;
+import com.assignment.ordermanagement.product.domain.model.ProductSortKey;
 import com.assignment.ordermanagement.product.domain.port.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,13 +16,25 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -57,5 +75,114 @@ class GetAllProductsUseCaseTest {
 
         assertThat(responses).isEmpty();
     }
-}
 
+    @Test
+    void shouldReturnFirstPageWithCursorToNextPage() {
+        Product product = new Product(2L, "Product2", "Description2", new BigDecimal("20.00"), 10, Instant.now(), null, false);
+        ProductPageRequest firstPage = ProductPageRequest.first(ProductSortKey.PRICE, false, 1);
+
+        when(productService.getProductPage(firstPage)).thenReturn(new ProductPage(List.of(product), true));
+
+        ProductPageResponse response = getAllProductsUseCase.execute("price", "asc", 1, null);
+
+        assertThat(response.items()).extracting(ProductResponse::id).containsExactly(2L);
+        assertThat(response.nextCursor()).isNotNull();
+    }
+
+    @Test
+    void shouldReturnOnlyRequestedFields() {
+        Product product = new Product(2L, "Product2", null, new BigDecimal("20.00"), 10, null, null, false);
+        ProductPageRequest firstPage = ProductPageRequest.first(ProductSortKey.PRICE, false, 1);
+        Set<ProductField> fields = EnumSet.of(ProductField.NAME, ProductField.PRICE, ProductField.IN_STOCK);
+
+        when(productService.searchProductPage(null, null, null, null, firstPage, fields))
+                .thenReturn(new ProductPage(List.of(product), true));
+
+        ProductProjectionPageResponse response = getAllProductsUseCase.execute("price", "asc", 1, null, "inStock,name,price");
+
+        assertThat(response.items()).containsExactly(Map.of("name", "Product2", "price", new BigDecimal("20.00"), "inStock", true));
+        assertThat(response.items().get(0).keySet()).containsExactly("name", "price", "inStock");
+        assertThat(response.nextCursor()).isNotNull();
+    }
+
+    @Test
+    void shouldContinueAfterPositionEncodedInCursor() {
+        Product product = new Product(2L, "Product2", "Description2", new BigDecimal("20.00"), 10, Instant.now(), null, false);
+        ProductPageRequest firstPage = ProductPageRequest.first(ProductSortKey.PRICE, true, 1);
+        ProductPageRequest secondPage = new ProductPageRequest(ProductSortKey.PRICE, true, 1, "20.00", 2L);
+
+        when(productService.getProductPage(firstPage)).thenReturn(new ProductPage(List.of(product), true));
+        when(productService.getProductPage(secondPage)).thenReturn(new ProductPage(List.of(), false));
+
+        String cursor = getAllProductsUseCase.execute("price", "desc", 1, null).nextCursor();
+        ProductPageResponse response = getAllProductsUseCase.execute("price", "desc", 1, cursor);
+
+        assertThat(response.items()).isEmpty();
+        assertThat(response.nextCursor()).isNull();
+        verify(productService).getProductPage(secondPage);
+    }
+
+    @Test
+    void shouldRejectCursorFromDifferentSortOrder() {
+        Product product = new Product(2L, "Product2", "Description2", new BigDecimal("20.00"), 10, Instant.now(), null, false);
+        when(productService.getProductPage(ProductPageRequest.first(ProductSortKey.PRICE, false, 1)))
+                .thenReturn(new ProductPage(List.of(product), true));
+
+        String cursor = getAllProductsUseCase.execute("price", "asc", 1, null).nextCursor();
+
+        assertThatThrownBy(() -> getAllProductsUseCase.execute("name", "asc", 1, cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor does not match the requested sort order");
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> getAllProductsUseCase.execute("id", "asc", 10, "not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void shouldRejectCursorWithTamperedPrice() {
+        String cursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("PRICE|false|2|twenty".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> getAllProductsUseCase.execute("price", "asc", 10, cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void shouldRejectUnsupportedSortDirection() {
+        assertThatThrownBy(() -> getAllProductsUseCase.execute("id", "sideways", 10, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported sort direction");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamAllProducts() {
+        Product product1 = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        Product product2 = new Product(2L, "Product2", "Description2", new BigDecimal("20.00"), 0, Instant.now(), null, false);
+        doAnswer(invocation -> {
+            Consumer<Product> action = invocation.getArgument(4);
+            action.accept(product1);
+            action.accept(product2);
+            return null;
+        }).when(productService).streamProducts(isNull(), isNull(), isNull(), isNull(), any(Consumer.class));
+
+        List<ProductResponse> streamed = new ArrayList<>();
+        getAllProductsUseCase.stream(streamed::add);
+
+        assertThat(streamed).extracting(ProductResponse::id).containsExactly(1L, 2L);
+        assertThat(streamed.get(1).inStock()).isFalse();
+    }
+
+    @Test
+    void shouldReturnCurrentVersion() {
+        when(productService.getProductsVersion()).thenReturn(5L);
+
+        assertThat(getAllProductsUseCase.currentVersion()).isEqualTo(5L);
+    }
+}
@@ -0,0 +1,102 @@
+package com.assignment.ordermanagement.product.application.usecase;
+
+import com.assignment.ordermanagement.product.application.dto.ProductChangeResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductChangesResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductRequest;
+import com.assignment.ordermanagement.product.domain.port.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "jwt.secret=mySecretKeyForJWTTokenGenerationAndValidationThatNeedsToBeAtLeast256BitsLong12345678",
+    "jwt.expiration=3600000",
+    "warm-up.enabled=false",
+    "product.changes.settle-time=1s"
+})
+class GetProductChangesConcurrencyTest {
+
+    private static final long SETTLE_TIME_MILLIS = 1000;
+
+    @Autowired
+    private GetProductChangesUseCase getProductChangesUseCase;
+
+    @Autowired
+    private CreateProductUseCase createProductUseCase;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void shouldDeliverChangeCommittedAfterPollWithinSettleTime() throws Exception {
+        Long id = createProduct("Late Commit");
+        Long otherId = createProduct("Fast Commit");
+        String cursor = drain(null, new ArrayList<>());
+
+        CountDownLatch stamped = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            productService.updateProduct(id, "Late Commit Renamed", null, null, null);
+            stamped.countDown();
+            await(commit);
+        }));
+
+        // A faster write stamped later commits first, then a client polls while the slow one is in flight
+        assertThat(stamped.await(10, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(5);
+        productService.updateProduct(otherId, "Fast Commit Renamed", null, null, null);
+        List<ProductChangeResponse> seenInFlight = new ArrayList<>();
+        String cursorInFlight = drain(cursor, seenInFlight);
+        commit.countDown();
+        write.get(10, TimeUnit.SECONDS);
+
+        Thread.sleep(SETTLE_TIME_MILLIS + 200);
+        List<ProductChangeResponse> seenAfterCommit = new ArrayList<>();
+        drain(cursorInFlight, seenAfterCommit);
+
+        assertThat(seenInFlight).extracting(ProductChangeResponse::name).doesNotContain("Late Commit Renamed");
+        assertThat(seenAfterCommit).filteredOn(change -> change.id().equals(id))
+                .extracting(ProductChangeResponse::name).containsExactly("Late Commit Renamed");
+    }
+
+    private Long createProduct(String name) {
+        return createProductUseCase.execute(
+                new ProductRequest(name, "Change feed test product", new BigDecimal("10.00"), 1)).id();
+    }
+
+    private String drain(String cursor, List<ProductChangeResponse> seen) {
+        ProductChangesResponse page;
+        do {
+            page = getProductChangesUseCase.execute(cursor, GetProductChangesUseCase.MAX_SIZE);
+            seen.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (page.hasMore());
+        return cursor;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the test to release the commit");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.assignment.ordermanagement.product.application.usecase;
+
+import com.assignment.ordermanagement.product.application.dto.ProductChangeResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductChangesResponse;
+import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductPage;
+import com.assignment.ordermanagement.product.domain.port.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GetProductChangesUseCaseTest {
+
+    private static final Instant UPDATED = Instant.parse("2026-03-01T10:15:30.123456Z");
+
+    @Mock
+    private ProductService productService;
+
+    private GetProductChangesUseCase getProductChangesUseCase;
+
+    @BeforeEach
+    void setUp() {
+        getProductChangesUseCase = new GetProductChangesUseCase(productService);
+    }
+
+    @Test
+    void shouldReturnChangesWithCursorAfterLastChange() {
+        Product updated = new Product(3L, "Mouse", "Description", new BigDecimal("25.00"), 5, UPDATED, UPDATED, false);
+        Product deleted = new Product(8L, "Keyboard", "Description", new BigDecimal("45.00"), 0, UPDATED, UPDATED, true);
+        when(productService.getProductChanges(null, null, 2)).thenReturn(new ProductPage(List.of(updated, deleted), true));
+
+        ProductChangesResponse changes = getProductChangesUseCase.execute(null, 2);
+
+        assertThat(changes.items()).containsExactly(
+            new ProductChangeResponse(3L, "Mouse", "Description", new BigDecimal("25.00"), 5, true, false, UPDATED),
+            new ProductChangeResponse(8L, "Keyboard", "Description", new BigDecimal("45.00"), 0, false, true, UPDATED)
+        );
+        assertThat(changes.hasMore()).isTrue();
+        assertThat(changes.nextCursor()).isEqualTo(cursor(UPDATED + "|8"));
+    }
+
+    @Test
+    void shouldContinueAfterCursorPosition() {
+        when(productService.getProductChanges(UPDATED, 8L, 100)).thenReturn(new ProductPage(List.of(), false));
+
+        ProductChangesResponse changes = getProductChangesUseCase.execute(cursor(UPDATED + "|8"), 100);
+
+        assertThat(changes.items()).isEmpty();
+        assertThat(changes.hasMore()).isFalse();
+        assertThat(changes.nextCursor()).isEqualTo(cursor(UPDATED + "|8"));
+    }
+
+    @Test
+    void shouldRejectInvalidCursor() {
+        assertThatThrownBy(() -> getProductChangesUseCase.execute("not a cursor", 100))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> getProductChangesUseCase.execute(cursor("yesterday|8"), 100))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid cursor");
+        assertThatThrownBy(() -> getProductChangesUseCase.execute(cursor(UPDATED + "|x"), 100))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Invalid cursor");
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void shouldRejectSizeOutsideRange() {
+        assertThatThrownBy(() -> getProductChangesUseCase.execute(null, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> getProductChangesUseCase.execute(null, GetProductChangesUseCase.MAX_SIZE + 1))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Page size must be between 1 and 500");
+        verifyNoInteractions(productService);
+    }
+
+    private static String cursor(String position) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,112 @@
+package com.assignment.ordermanagement.product.application.usecase;
+
+import com.assignment.ordermanagement.product.application.dto.ProductBatchResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductResponse;
+import com.assignment.ordermanagement.product.domain.exception.ProductNotFoundException;
+import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.port.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GetProductsUseCaseTest {
+
+    @Mock
+    private ProductService productService;
+
+    private GetProductsUseCase getProductsUseCase;
+
+    @BeforeEach
+    void setUp() {
+        getProductsUseCase = new GetProductsUseCase(productService);
+    }
+
+    @Test
+    void shouldGetProductById() {
+        Product product = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+
+        when(productService.getProductById(1L)).thenReturn(product);
+
+        ProductResponse response = getProductsUseCase.execute(1L);
+
+        assertThat(response.id()).isEqualTo(1L);
+        assertThat(response.name()).isEqualTo("Product1");
+        assertThat(response.inStock()).isTrue();
+    }
+
+    @Test
+    void shouldPropagateNotFoundForUnknownId() {
+        when(productService.getProductById(999L)).thenThrow(new ProductNotFoundException("Product not found with id: 999"));
+
+        assertThatThrownBy(() -> getProductsUseCase.execute(999L))
+            .isInstanceOf(ProductNotFoundException.class);
+    }
+
+    @Test
+    void shouldGetProductsByIdsWithoutDuplicates() {
+        List<Product> products = Arrays.asList(
+            new Product(2L, "Product2", "Description2", new BigDecimal("20.00"), 0, Instant.now(), null, false),
+            new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false)
+        );
+
+        when(productService.getProductsByIds(new LinkedHashSet<>(List.of(2L, 1L)))).thenReturn(products);
+
+        ProductBatchResponse response = getProductsUseCase.execute(List.of(2L, 1L, 2L));
+
+        assertThat(response.items()).extracting(ProductResponse::id).containsExactly(2L, 1L);
+        assertThat(response.items().get(0).inStock()).isFalse();
+        assertThat(response.missingIds()).isEmpty();
+    }
+
+    @Test
+    void shouldListUnknownIdsAsMissingInRequestOrder() {
+        Product product = new Product(2L, "Product2", "Description2", new BigDecimal("20.00"), 3, Instant.now(), null, false);
+
+        when(productService.getProductsByIds(new LinkedHashSet<>(List.of(9L, 2L, 7L)))).thenReturn(List.of(product));
+
+        ProductBatchResponse response = getProductsUseCase.execute(List.of(9L, 2L, 7L, 9L));
+
+        assertThat(response.items()).extracting(ProductResponse::id).containsExactly(2L);
+        assertThat(response.missingIds()).containsExactly(9L, 7L);
+    }
+
+    @Test
+    void shouldRejectEmptyIds() {
+        assertThatThrownBy(() -> getProductsUseCase.execute(List.of()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("At least one product id is required");
+    }
+
+    @Test
+    void shouldRejectNullIds() {
+        assertThatThrownBy(() -> getProductsUseCase.execute(Arrays.asList(1L, null)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Product ids must not be null");
+    }
+
+    @Test
+    void shouldRejectTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, GetProductsUseCase.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        assertThatThrownBy(() -> getProductsUseCase.execute(ids))
+            .isInstanceOf(IllegalArgumentException.class);
+        verify(productService, never()).getProductsByIds(any());
+    }
+}
@@ -0,0 +1,56 @@
+package com.assignment.ordermanagement.product.application.usecase;
+
+import com.assignment.ordermanagement.product.application.dto.ProductRequest;
+import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.port.ProductService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "jwt.secret=mySecretKeyForJWTTokenGenerationAndValidationThatNeedsToBeAtLeast256BitsLong12345678",
+    "jwt.expiration=3600000",
+    "warm-up.enabled=false",
+    "product.index.consistency=strong"
+})
+class SearchProductsCacheTest {
+
+    @Autowired
+    private CreateProductUseCase createProductUseCase;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void shouldServeRepeatedSearchFromSearchCacheWithoutIndex() {
+        createProductUseCase.execute(new ProductRequest("Cached Search Lamp", "Search cache test product",
+                                                        new BigDecimal("42.00"), 3));
+        CacheStats before = searchCacheStats();
+
+        List<Product> first = productService.searchProducts("cached search", null, new BigDecimal("50"), true);
+        List<Product> second = productService.searchProducts("  CACHED SEARCH ", null, new BigDecimal("50.00"), true);
+
+        CacheStats after = searchCacheStats();
+        assertThat(first).extracting(Product::getName).containsExactly("Cached Search Lamp");
+        assertThat(second).extracting(Product::getId).isEqualTo(first.stream().map(Product::getId).toList());
+        assertThat(after.missCount() - before.missCount()).isEqualTo(1);
+        assertThat(after.hitCount() - before.hitCount()).isEqualTo(1);
+    }
+
+    private CacheStats searchCacheStats() {
+        return ((CaffeineCache) cacheManager.getCache("productSearch")).getNativeCache().stats();
+    }
+}
@@ -1,7 +1,14 @@
 package com.assignment.ordermanagement.product.application.usecase;
 
+import com.assignment.ordermanagement.product.application.dto.ProductFacetsResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductPageResponse;
 import com.assignment.ordermanagement.product.application.dto.ProductResponse;
+import com.assignment.ordermanagement.product.application.dto.ProductSearchRequest;
 import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductFacets;
+import com.assignment.ordermanagement.product.domain.model.ProductPage;
+import com.assignment.ordermanagement.product.domain.model.ProductPageRequest;
+import com.assignment.ordermanagement.product.domain.model.ProductSortKey;
 import com.assignment.ordermanagement.product.domain.port.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,9 +19,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,13 +54,63 @@ class SearchProductsUseCaseTest {
 
         when(productService.searchProducts(name, null, null, null)).thenReturn(products);
 
-        List<ProductResponse> responses = searchProductsUseCase.execute(name, null, null, null);
+        List<ProductResponse> responses = searchProductsUseCase.execute(ProductSearchRequest.of(name, null, null, null));
 
         assertThat(responses).hasSize(1);
         assertThat(responses.get(0).name()).contains("Test");
         verify(productService).searchProducts(name, null, null, null);
     }
 
+    @Test
+    void shouldSearchByRelevanceInRelevanceMode() {
+        List<Product> products = Arrays.asList(
+            new Product(2L, "Wireless Mouse", "Description", new BigDecimal("25.00"), 5, Instant.now(), null, false),
+            new Product(1L, "Mouse Pad", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false)
+        );
+
+        when(productService.searchProductsByRelevance("wireless mouse", null, null, true,
+                SearchProductsUseCase.MAX_RANKED_RESULTS)).thenReturn(products);
+
+        List<ProductResponse> responses = searchProductsUseCase.execute(
+                ProductSearchRequest.of("wireless mouse", null, null, true).withMode("relevance"));
+
+        assertThat(responses).extracting(ProductResponse::id).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void shouldSearchSimilarNamesInFuzzyMode() {
+        when(productService.searchSimilarProducts("keybaord", null, null, null, SearchProductsUseCase.MAX_RANKED_RESULTS))
+            .thenReturn(List.of(new Product(3L, "Keyboard", "Description", new BigDecimal("45.00"), 5, Instant.now(), null, false)));
+
+        List<ProductResponse> responses = searchProductsUseCase.execute(
+                ProductSearchRequest.of("keybaord", null, null, null).withMode("fuzzy"));
+
+        assertThat(responses).extracting(ProductResponse::name).containsExactly("Keyboard");
+    }
+
+    @Test
+    void shouldSearchByNameInNameMode() {
+        when(productService.searchProducts("mouse", null, null, null)).thenReturn(List.of());
+
+        assertThat(searchProductsUseCase.execute(ProductSearchRequest.of("mouse", null, null, null).withMode("NAME"))).isEmpty();
+        verify(productService).searchProducts("mouse", null, null, null);
+    }
+
+    @Test
+    void shouldRejectUnknownSearchMode() {
+        assertThatThrownBy(() -> searchProductsUseCase.execute(
+                ProductSearchRequest.of("mouse", null, null, null).withMode("sounds-like")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unsupported search mode");
+    }
+
+    @Test
+    void shouldRejectPagedSearchWithoutPageSize() {
+        assertThatThrownBy(() -> searchProductsUseCase.page(ProductSearchRequest.of("mouse", null, null, null)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Page size is required");
+    }
+
     @Test
     void shouldSearchProductsByPriceRange() {
         BigDecimal minPrice = new BigDecimal("10.00");
@@ -57,7 +121,7 @@ class SearchProductsUseCaseTest {
 
         when(productService.searchProducts(null, minPrice, maxPrice, null)).thenReturn(products);
 
-        List<ProductResponse> responses = searchProductsUseCase.execute(null, minPrice, maxPrice, null);
+        List<ProductResponse> responses = searchProductsUseCase.execute(ProductSearchRequest.of(null, minPrice, maxPrice, null));
 
         assertThat(responses).hasSize(1);
         verify(productService).searchProducts(null, minPrice, maxPrice, null);
@@ -72,7 +136,7 @@ class SearchProductsUseCaseTest {
 
         when(productService.searchProducts(null, null, null, inStock)).thenReturn(products);
 
-        List<ProductResponse> responses = searchProductsUseCase.execute(null, null, null, inStock);
+        List<ProductResponse> responses = searchProductsUseCase.execute(ProductSearchRequest.of(null, null, null, inStock));
 
         assertThat(responses).hasSize(1);
         assertThat(responses.get(0).inStock()).isTrue();
@@ -92,10 +156,58 @@ class SearchProductsUseCaseTest {
 
         when(productService.searchProducts(name, minPrice, maxPrice, inStock)).thenReturn(products);
 
-        List<ProductResponse> responses = searchProductsUseCase.execute(name, minPrice, maxPrice, inStock);
+        List<ProductResponse> responses = searchProductsUseCase.execute(ProductSearchRequest.of(name, minPrice, maxPrice, inStock));
 
         assertThat(responses).hasSize(1);
         verify(productService).searchProducts(name, minPrice, maxPrice, inStock);
     }
-}
 
+    @Test
+    void shouldSearchOnePage() {
+        Product product = new Product(1L, "Test Product", "Description", new BigDecimal("25.00"), 5, Instant.now(), null, false);
+        ProductPageRequest pageRequest = ProductPageRequest.first(ProductSortKey.NAME, false, 10);
+
+        when(productService.searchProductPage("Test", null, null, true, pageRequest))
+                .thenReturn(new ProductPage(List.of(product), false));
+
+        ProductPageResponse response = searchProductsUseCase.page(
+                ProductSearchRequest.of("Test", null, null, true).withPage("name", "asc", 10, null));
+
+        assertThat(response.items()).extracting(ProductResponse::name).containsExactly("Test Product");
+        assertThat(response.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldAddFacetsToPageWithDefaultBuckets() {
+        ProductPageRequest pageRequest = ProductPageRequest.first(ProductSortKey.ID, false, 10);
+        long[] counts = new long[SearchProductsUseCase.DEFAULT_PRICE_BUCKETS.size()];
+        counts[1] = 4;
+        when(productService.searchProductPage(null, null, null, null, pageRequest))
+                .thenReturn(new ProductPage(List.of(), false));
+        when(productService.getProductFacets(null, null, null, null, SearchProductsUseCase.DEFAULT_PRICE_BUCKETS))
+                .thenReturn(ProductFacets.of(SearchProductsUseCase.DEFAULT_PRICE_BUCKETS, counts, 3, 1));
+
+        ProductPageResponse response = searchProductsUseCase.page(
+                ProductSearchRequest.of(null, null, null, null).withPage("id", "asc", 10, null).withFacets(true, null));
+
+        assertThat(response.facets().priceBuckets().get(1))
+                .isEqualTo(new ProductFacetsResponse.PriceBucketResponse(new BigDecimal("25"), new BigDecimal("50"), 4));
+        assertThat(response.facets().inStock()).isEqualTo(3);
+        assertThat(response.facets().outOfStock()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamMatchingProducts() {
+        Product product = new Product(1L, "Test Product", "Description", new BigDecimal("25.00"), 5, Instant.now(), null, false);
+        doAnswer(invocation -> {
+            invocation.<Consumer<Product>>getArgument(4).accept(product);
+            return null;
+        }).when(productService).streamProducts(eq("Test"), isNull(), isNull(), eq(true), any(Consumer.class));
+
+        List<ProductResponse> streamed = new ArrayList<>();
+        searchProductsUseCase.stream(ProductSearchRequest.of("Test", null, null, true), streamed::add);
+
+        assertThat(streamed).extracting(ProductResponse::name).containsExactly("Test Product");
+    }
+}
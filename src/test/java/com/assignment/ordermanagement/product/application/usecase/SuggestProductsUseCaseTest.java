@@ -0,0 +1,58 @@
+package com.assignment.ordermanagement.product.application.usecase;
+
+import com.assignment.ordermanagement.product.application.dto.ProductSuggestionResponse;
+import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.port.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SuggestProductsUseCaseTest {
+
+    @Mock
+    private ProductService productService;
+
+    private SuggestProductsUseCase suggestProductsUseCase;
+
+    @BeforeEach
+    void setUp() {
+        suggestProductsUseCase = new SuggestProductsUseCase(productService);
+    }
+
+    @Test
+    void shouldReturnIdsAndNamesOfSuggestedProducts() {
+        when(productService.suggestProducts("mou", 5)).thenReturn(List.of(
+            new Product(2L, "Mouse", "Description", new BigDecimal("25.00"), 5, Instant.now(), null, false),
+            new Product(7L, "Wireless Mouse", "Description", new BigDecimal("35.00"), 0, Instant.now(), null, false)
+        ));
+
+        List<ProductSuggestionResponse> suggestions = suggestProductsUseCase.execute("mou", 5);
+
+        assertThat(suggestions).containsExactly(
+            new ProductSuggestionResponse(2L, "Mouse"),
+            new ProductSuggestionResponse(7L, "Wireless Mouse")
+        );
+    }
+
+    @Test
+    void shouldRejectLimitOutsideRange() {
+        assertThatThrownBy(() -> suggestProductsUseCase.execute("mou", 0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> suggestProductsUseCase.execute("mou", SuggestProductsUseCase.MAX_SUGGESTIONS + 1))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Suggestion limit must be between 1 and 10");
+        verifyNoInteractions(productService);
+    }
+}
@@ -0,0 +1,116 @@
+package com.assignment.ordermanagement.product.application.usecase;
+
+import com.assignment.ordermanagement.order.application.dto.OrderItemRequest;
+import com.assignment.ordermanagement.order.application.dto.OrderRequest;
+import com.assignment.ordermanagement.order.application.usecase.PlaceOrderUseCase;
+import com.assignment.ordermanagement.product.application.dto.ProductRequest;
+import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.port.ProductRepository;
+import com.assignment.ordermanagement.product.domain.port.ProductService;
+import com.assignment.ordermanagement.product.infrastructure.persistence.entity.ProductEntity;
+import com.assignment.ordermanagement.product.infrastructure.persistence.repository.ProductRepositoryJpa;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+    "jwt.secret=mySecretKeyForJWTTokenGenerationAndValidationThatNeedsToBeAtLeast256BitsLong12345678",
+    "jwt.expiration=3600000",
+    "warm-up.enabled=false"
+})
+class UpdateProductConcurrencyTest {
+
+    private static final String ORDER_USER = "user";
+
+    @Autowired
+    private CreateProductUseCase createProductUseCase;
+
+    @Autowired
+    private PlaceOrderUseCase placeOrderUseCase;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductRepositoryJpa jpaRepository;
+
+    @Test
+    void shouldKeepStockTakenByOrderPlacedWhileProductWasBeingUpdated() {
+        Long id = createProduct("Race Laptop", 10);
+
+        // The update reads the product, an order takes stock, then the update is written
+        Product read = productService.getProductById(id);
+        placeOrderUseCase.execute(new OrderRequest(List.of(new OrderItemRequest(id, 3))), ORDER_USER);
+        read.updateDetails("Race Laptop Pro", null, new BigDecimal("900.00"), null);
+        productRepository.save(read);
+
+        assertThat(jpaRepository.findById(id)).get().extracting(ProductEntity::getQuantity).isEqualTo(7);
+        Product current = productService.getProductById(id);
+        assertThat(current.getName()).isEqualTo("Race Laptop Pro");
+        assertThat(current.getQuantity()).isEqualTo(7);
+    }
+
+    @Test
+    void shouldWriteRestockEqualToStaleCachedLevel() {
+        Long id = createProduct("Race Keyboard", 10);
+
+        // The cached level stays at 10 while another instance takes stock in the database
+        assertThat(productService.getProductById(id).getQuantity()).isEqualTo(10);
+        jpaRepository.decreaseStock(id, 6, Instant.now());
+        productService.updateProduct(id, null, null, null, 10);
+
+        assertThat(jpaRepository.findById(id)).get().extracting(ProductEntity::getQuantity).isEqualTo(10);
+    }
+
+    @Test
+    void shouldNotLoseStockWhenOrdersAndPriceUpdatesHitTheSameProduct() throws Exception {
+        Long id = createProduct("Race Monitor", 100);
+        int rounds = 20;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> tasks = new ArrayList<>();
+        try {
+            for (int i = 0; i < rounds; i++) {
+                BigDecimal price = new BigDecimal(200 + i);
+                tasks.add(pool.submit(() -> {
+                    start.await();
+                    return placeOrderUseCase.execute(new OrderRequest(List.of(new OrderItemRequest(id, 1))), ORDER_USER);
+                }));
+                tasks.add(pool.submit(() -> {
+                    start.await();
+                    return productService.updateProduct(id, null, null, price, null);
+                }));
+            }
+            start.countDown();
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(jpaRepository.findById(id)).get().extracting(ProductEntity::getQuantity).isEqualTo(100 - rounds);
+    }
+
+    private Long createProduct(String name, int quantity) {
+        return createProductUseCase.execute(
+                new ProductRequest(name, "Concurrency test product", new BigDecimal("100.00"), quantity)).id();
+    }
+}
@@ -0,0 +1,35 @@
+package com.assignment.ordermanagement.product.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductFieldTest {
+
+    @Test
+    void shouldParseFieldNamesIgnoringCaseAndBlanks() {
+        assertThat(ProductField.parse(" instock, ID,,price ")).containsExactly(ProductField.ID, ProductField.PRICE, ProductField.IN_STOCK);
+    }
+
+    @Test
+    void shouldRejectUnknownOrMissingFields() {
+        assertThatThrownBy(() -> ProductField.parse("id,colour"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Unsupported field: colour. Use any of: id, name, description, price, quantity, inStock");
+        assertThatThrownBy(() -> ProductField.parse(" , "))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("At least one field is required");
+    }
+
+    @Test
+    void shouldReadFieldValuesFromProduct() {
+        Product product = new Product(1L, "Mouse", null, new BigDecimal("25.00"), null, Instant.now(), null, false);
+
+        assertThat(ProductField.NAME.valueOf(product)).isEqualTo("Mouse");
+        assertThat(ProductField.IN_STOCK.valueOf(product)).isEqualTo(false);
+    }
+}
@@ -0,0 +1,44 @@
+package com.assignment.ordermanagement.product.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductPageRequestTest {
+
+    @Test
+    void shouldCreateFirstPageRequest() {
+        ProductPageRequest request = ProductPageRequest.first(ProductSortKey.PRICE, true, 20);
+
+        assertThat(request.isFirstPage()).isTrue();
+        assertThat(request.descending()).isTrue();
+    }
+
+    @Test
+    void shouldRejectPageSizeAboveLimit() {
+        assertThatThrownBy(() -> ProductPageRequest.first(ProductSortKey.ID, false, ProductPageRequest.MAX_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Page size must be between 1 and 100");
+    }
+
+    @Test
+    void shouldRejectEmptyPage() {
+        assertThatThrownBy(() -> ProductPageRequest.first(ProductSortKey.ID, false, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRejectPositionWithoutId() {
+        assertThatThrownBy(() -> new ProductPageRequest(ProductSortKey.NAME, false, 10, "Laptop", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldParseSortKeyIgnoringCase() {
+        assertThat(ProductSortKey.from("Price")).isEqualTo(ProductSortKey.PRICE);
+        assertThatThrownBy(() -> ProductSortKey.from("rating"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported sort key");
+    }
+}
@@ -0,0 +1,35 @@
+package com.assignment.ordermanagement.product.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchCriteriaTest {
+
+    @Test
+    void shouldNormalizeEquivalentCriteriaToEqualValues() {
+        ProductSearchCriteria first = ProductSearchCriteria.of("  Laptop ", new BigDecimal("10.00"), new BigDecimal("100"), false);
+        ProductSearchCriteria second = ProductSearchCriteria.of("laptop", new BigDecimal("10"), new BigDecimal("100.0"), null);
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first.hashCode()).isEqualTo(second.hashCode());
+    }
+
+    @Test
+    void shouldTreatBlankNameAsNoNameFilter() {
+        ProductSearchCriteria criteria = ProductSearchCriteria.of("   ", null, null, null);
+
+        assertThat(criteria.name()).isNull();
+        assertThat(criteria.inStockOnly()).isFalse();
+    }
+
+    @Test
+    void shouldDropStockFilter() {
+        ProductSearchCriteria criteria = ProductSearchCriteria.of("laptop", null, null, true);
+
+        assertThat(criteria.inStockOnly()).isTrue();
+        assertThat(criteria.withoutStockFilter()).isEqualTo(ProductSearchCriteria.of("laptop", null, null, null));
+    }
+}
@@ -198,6 +198,22 @@ class ProductTest {
         assertThat(product.getQuantity()).isEqualTo(5);
     }
 
+    @Test
+    void shouldFlagStockChangeWheneverQuantityIsGiven() {
+        Product unchanged = new Product(1L, "Name", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        Product sameLevel = new Product(1L, "Name", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        Product changed = new Product(1L, "Name", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+
+        unchanged.updateDetails("New Name", "Description", new BigDecimal("12.00"), null);
+        sameLevel.updateDetails("Name", "Description", new BigDecimal("10.00"), 5);
+        changed.updateDetails("Name", "Description", new BigDecimal("10.00"), 7);
+
+        assertThat(unchanged.isStockChanged()).isFalse();
+        assertThat(sameLevel.isStockChanged()).isTrue();
+        assertThat(changed.isStockChanged()).isTrue();
+        assertThat(changed.withQuantity(7).isStockChanged()).isFalse();
+    }
+
     @Test
     void shouldMarkProductAsDeleted() {
         Product product = new Product("Name", "Description", new BigDecimal("10.00"), 5);
@@ -208,6 +224,19 @@ class ProductTest {
         assertThat(product.getUpdatedAt()).isNotNull();
     }
 
+    @Test
+    void shouldCopyWithQuantity() {
+        Product product = new Product(1L, "Name", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+
+        Product copy = product.withQuantity(0);
+
+        assertThat(copy).isNotSameAs(product);
+        assertThat(copy.getId()).isEqualTo(1L);
+        assertThat(copy.getName()).isEqualTo("Name");
+        assertThat(copy.isInStock()).isFalse();
+        assertThat(product.getQuantity()).isEqualTo(5);
+    }
+
     @Test
     void shouldSetId() {
         Product product = new Product("Name", "Description", new BigDecimal("10.00"), 5);
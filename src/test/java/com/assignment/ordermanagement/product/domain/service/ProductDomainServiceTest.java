@@ -2,6 +2,11 @@ package com.assignment.ordermanagement.product.domain.service;
 
 import com.assignment.ordermanagement.product.domain.exception.ProductNotFoundException;
 import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductFacets;
+import com.assignment.ordermanagement.product.domain.model.ProductPage;
+import com.assignment.ordermanagement.product.domain.model.ProductPageRequest;
+import com.assignment.ordermanagement.product.domain.model.ProductSearchCriteria;
+import com.assignment.ordermanagement.product.domain.model.ProductSortKey;
 import com.assignment.ordermanagement.product.domain.port.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,14 +15,20 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -142,6 +153,29 @@ class ProductDomainServiceTest {
             .hasMessage("Product not found with id: " + id);
     }
 
+    @Test
+    void shouldGetProductsByIds() {
+        List<Product> products = Arrays.asList(
+            new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false),
+            new Product(2L, "Product2", "Description2", new BigDecimal("20.00"), 10, Instant.now(), null, false)
+        );
+
+        when(productRepository.findAllByIds(List.of(1L, 2L))).thenReturn(products);
+
+        List<Product> result = productDomainService.getProductsByIds(List.of(1L, 2L));
+
+        assertThat(result).hasSize(2);
+        verify(productRepository).findAllByIds(List.of(1L, 2L));
+    }
+
+    @Test
+    void shouldNotQueryRepositoryForEmptyIds() {
+        List<Product> result = productDomainService.getProductsByIds(List.of());
+
+        assertThat(result).isEmpty();
+        verify(productRepository, never()).findAllByIds(any());
+    }
+
     @Test
     void shouldGetAllProducts() {
         List<Product> products = Arrays.asList(
@@ -176,6 +210,84 @@ class ProductDomainServiceTest {
         verify(productRepository).search(name, minPrice, maxPrice, inStock);
     }
 
+    @Test
+    void shouldSearchProductsByRelevanceWithinFilters() {
+        List<Product> products = List.of(
+            new Product(1L, "Test Product", "Description", new BigDecimal("25.00"), 5, Instant.now(), null, false)
+        );
+        ProductSearchCriteria filters = ProductSearchCriteria.of(null, new BigDecimal("10"), null, true);
+        when(productRepository.searchRanked("test", filters, 20)).thenReturn(products);
+
+        List<Product> result = productDomainService.searchProductsByRelevance("test", new BigDecimal("10"), null, true, 20);
+
+        assertThat(result).isEqualTo(products);
+    }
+
+    @Test
+    void shouldRequireTextForRelevanceSearch() {
+        assertThatThrownBy(() -> productDomainService.searchProductsByRelevance(" ", null, null, null, 20))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Search text is required for relevance search");
+        verify(productRepository, never()).searchRanked(any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldSearchSimilarProductsWithinFilters() {
+        List<Product> products = List.of(
+            new Product(1L, "Test Product", "Description", new BigDecimal("25.00"), 5, Instant.now(), null, false)
+        );
+        ProductSearchCriteria filters = ProductSearchCriteria.of(null, null, new BigDecimal("50"), null);
+        when(productRepository.searchSimilar("tset", filters, 20)).thenReturn(products);
+
+        assertThat(productDomainService.searchSimilarProducts("tset", null, new BigDecimal("50"), null, 20)).isEqualTo(products);
+    }
+
+    @Test
+    void shouldRequireTextForFuzzySearch() {
+        assertThatThrownBy(() -> productDomainService.searchSimilarProducts("", null, null, null, 20))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Search text is required for fuzzy search");
+        verify(productRepository, never()).searchSimilar(any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldCountFacetsForFilters() {
+        List<BigDecimal> bounds = List.of(BigDecimal.ZERO, new BigDecimal("100"));
+        ProductFacets facets = ProductFacets.of(bounds, new long[]{3, 1}, 2, 2);
+        when(productRepository.findFacets(ProductSearchCriteria.of("test", null, null, true), bounds)).thenReturn(facets);
+
+        assertThat(productDomainService.getProductFacets("test", null, null, true, bounds)).isEqualTo(facets);
+    }
+
+    @Test
+    void shouldRejectUnorderedOrNegativePriceBuckets() {
+        assertThatThrownBy(() -> productDomainService.getProductFacets(null, null, null, null,
+                List.of(new BigDecimal("50"), new BigDecimal("50"))))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Price bucket bounds must be non-negative and ascending");
+        assertThatThrownBy(() -> productDomainService.getProductFacets(null, null, null, null, List.of(new BigDecimal("-1"))))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> productDomainService.getProductFacets(null, null, null, null, List.of()))
+            .isInstanceOf(IllegalArgumentException.class);
+        verify(productRepository, never()).findFacets(any(), any());
+    }
+
+    @Test
+    void shouldSuggestProductsForPrefix() {
+        List<Product> products = List.of(
+            new Product(1L, "Test Product", "Description", new BigDecimal("25.00"), 5, Instant.now(), null, false)
+        );
+        when(productRepository.findByNamePrefix("te", 5)).thenReturn(products);
+
+        assertThat(productDomainService.suggestProducts("te", 5)).isEqualTo(products);
+    }
+
+    @Test
+    void shouldNotSuggestForBlankPrefix() {
+        assertThat(productDomainService.suggestProducts("  ", 5)).isEmpty();
+        verify(productRepository, never()).findByNamePrefix(any(), anyInt());
+    }
+
     @Test
     void shouldDeleteProduct() {
         Long id = 1L;
@@ -202,24 +314,140 @@ class ProductDomainServiceTest {
     @Test
     void shouldDecreaseStock() {
         Long id = 1L;
-        Product product = new Product(id, "Product", "Description", new BigDecimal("10.00"), 10, Instant.now(), null, false);
 
-        when(productRepository.findById(id)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.decreaseStock(id, 3)).thenReturn(true);
 
         productDomainService.decreaseStock(id, 3);
 
-        verify(productRepository).findById(id);
-        verify(productRepository).save(product);
+        verify(productRepository).decreaseStock(id, 3);
+        verify(productRepository, never()).findById(any());
+        verify(productRepository, never()).save(any());
     }
 
     @Test
     void shouldThrowExceptionWhenDecreasingStockOfNonExistentProduct() {
         Long id = 999L;
-        when(productRepository.findById(id)).thenReturn(Optional.empty());
+        when(productRepository.decreaseStock(id, 3)).thenReturn(false);
+        when(productRepository.existsById(id)).thenReturn(false);
 
         assertThatThrownBy(() -> productDomainService.decreaseStock(id, 3))
             .isInstanceOf(ProductNotFoundException.class);
     }
-}
 
+    @Test
+    void shouldThrowExceptionWhenDecreasingStockBeyondAvailable() {
+        Long id = 1L;
+        when(productRepository.decreaseStock(id, 30)).thenReturn(false);
+        when(productRepository.existsById(id)).thenReturn(true);
+
+        assertThatThrownBy(() -> productDomainService.decreaseStock(id, 30))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Insufficient stock for product with id: " + id);
+    }
+
+    @Test
+    void shouldRejectNonPositiveStockDecrease() {
+        assertThatThrownBy(() -> productDomainService.decreaseStock(1L, 0))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Stock quantity must be positive");
+    }
+
+    @Test
+    void shouldReserveStockWhenEveryLineIsDecreased() {
+        Map<Long, Integer> quantities = Map.of(1L, 2, 2L, 3);
+        when(productRepository.decreaseStock(quantities)).thenReturn(2);
+
+        assertThat(productDomainService.reserveStock(quantities)).isTrue();
+    }
+
+    @Test
+    void shouldFailReservationWhenAnyLineIsNotDecreased() {
+        Map<Long, Integer> quantities = Map.of(1L, 2, 2L, 3);
+        when(productRepository.decreaseStock(quantities)).thenReturn(1);
+
+        assertThat(productDomainService.reserveStock(quantities)).isFalse();
+    }
+
+    @Test
+    void shouldGetProductPageWithoutFilters() {
+        ProductPageRequest pageRequest = ProductPageRequest.first(ProductSortKey.ID, false, 20);
+        ProductPage page = new ProductPage(List.of(), false);
+
+        when(productRepository.findPage(ProductSearchCriteria.of(null, null, null, null), pageRequest)).thenReturn(page);
+
+        assertThat(productDomainService.getProductPage(pageRequest)).isSameAs(page);
+    }
+
+    @Test
+    void shouldSearchProductPageWithNormalizedCriteria() {
+        ProductPageRequest pageRequest = ProductPageRequest.first(ProductSortKey.PRICE, true, 20);
+        ProductPage page = new ProductPage(List.of(), false);
+
+        when(productRepository.findPage(new ProductSearchCriteria("laptop", new BigDecimal("1E+1"), null, true), pageRequest))
+                .thenReturn(page);
+
+        assertThat(productDomainService.searchProductPage(" Laptop", new BigDecimal("10.00"), null, true, pageRequest))
+                .isSameAs(page);
+    }
+
+    @Test
+    void shouldReadChangesFromTheBeginningWithoutPosition() {
+        ProductPage page = new ProductPage(List.of(), false);
+        when(productRepository.findChanges(eq(Instant.EPOCH), eq(0L), any(Instant.class), eq(100))).thenReturn(page);
+
+        assertThat(productDomainService.getProductChanges(null, null, 100)).isSameAs(page);
+    }
+
+    @Test
+    void shouldHoldBackChangesYoungerThanSettleTime() {
+        Instant after = Instant.parse("2026-01-01T00:00:00Z");
+        ProductPage page = new ProductPage(List.of(), false);
+        when(productRepository.findChanges(eq(after), eq(7L), any(Instant.class), eq(50))).thenReturn(page);
+
+        Instant start = Instant.now();
+        productDomainService.getProductChanges(after, 7L, 50);
+
+        verify(productRepository).findChanges(eq(after), eq(7L),
+                argThat(before -> !before.isAfter(Instant.now().minus(ProductDomainService.DEFAULT_CHANGE_SETTLE_TIME))
+                        && !before.isBefore(start.minus(ProductDomainService.DEFAULT_CHANGE_SETTLE_TIME))),
+                eq(50));
+    }
+
+    @Test
+    void shouldHoldBackChangesYoungerThanConfiguredSettleTime() {
+        ProductDomainService service = new ProductDomainService(productRepository, Duration.ofMinutes(1));
+        ProductPage page = new ProductPage(List.of(), false);
+        when(productRepository.findChanges(eq(Instant.EPOCH), eq(0L), any(Instant.class), eq(50))).thenReturn(page);
+
+        Instant start = Instant.now();
+        service.getProductChanges(null, null, 50);
+
+        verify(productRepository).findChanges(eq(Instant.EPOCH), eq(0L),
+                argThat(before -> !before.isAfter(Instant.now().minus(Duration.ofMinutes(1)))
+                        && !before.isBefore(start.minus(Duration.ofMinutes(1)))),
+                eq(50));
+    }
+
+    @Test
+    void shouldRejectNonPositiveChangeLimit() {
+        assertThatThrownBy(() -> productDomainService.getProductChanges(null, null, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Change limit must be positive");
+    }
+
+    @Test
+    void shouldStreamProductsWithNormalizedCriteria() {
+        Consumer<Product> action = product -> { };
+
+        productDomainService.streamProducts("Laptop ", null, null, false, action);
+
+        verify(productRepository).stream(new ProductSearchCriteria("laptop", null, null, false), action);
+    }
+
+    @Test
+    void shouldReturnProductsVersion() {
+        when(productRepository.getVersion()).thenReturn(42L);
+
+        assertThat(productDomainService.getProductsVersion()).isEqualTo(42L);
+    }
+}
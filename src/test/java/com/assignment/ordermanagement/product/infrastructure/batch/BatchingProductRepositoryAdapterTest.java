@@ -0,0 +1,264 @@
+package com.assignment.ordermanagement.product.infrastructure.batch;
+
+import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.port.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class BatchingProductRepositoryAdapterTest {
+
+    @Mock
+    private ProductRepository delegate;
+
+    private BatchingProductRepositoryAdapter adapter;
+
+    @AfterEach
+    void tearDown() {
+        if (adapter != null) {
+            adapter.close();
+        }
+    }
+
+    @Test
+    void shouldResolveConcurrentLookupsWithOneQuery() throws Exception {
+        adapter = new BatchingProductRepositoryAdapter(delegate, Duration.ofMillis(300), 100);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.findAllByIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            if (ids.contains(0L)) {
+                loading.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return ids.stream()
+                    .map(id -> new Product(id, "Product" + id, "Description" + id, new BigDecimal("10.00"), 5,
+                                           Instant.now(), null, false))
+                    .toList();
+        });
+        // A load in flight makes the following lookups wait for the window and share a batch
+        CompletableFuture<Optional<Product>> running = CompletableFuture.supplyAsync(() -> adapter.findById(0L));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Optional<Product>> first = CompletableFuture.supplyAsync(() -> adapter.findById(1L));
+        CompletableFuture<Optional<Product>> second = CompletableFuture.supplyAsync(() -> adapter.findById(2L));
+        CompletableFuture<List<Product>> third = CompletableFuture.supplyAsync(() -> adapter.findAllByIds(List.of(3L, 2L)));
+        release.countDown();
+
+        assertThat(running.get(5, TimeUnit.SECONDS)).map(Product::getId).contains(0L);
+        assertThat(first.get(5, TimeUnit.SECONDS)).map(Product::getId).contains(1L);
+        assertThat(second.get(5, TimeUnit.SECONDS)).map(Product::getId).contains(2L);
+        assertThat(third.get(5, TimeUnit.SECONDS)).extracting(Product::getId).containsExactly(3L, 2L);
+
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(delegate, times(2)).findAllByIds(ids.capture());
+        assertThat(ids.getAllValues().get(1)).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void shouldSendLookupRightAwayWhenIdle() throws Exception {
+        adapter = new BatchingProductRepositoryAdapter(delegate, Duration.ofMinutes(1), 100);
+        Product product = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        when(delegate.findAllByIds(List.of(1L))).thenReturn(List.of(product));
+
+        CompletableFuture<Optional<Product>> lookup = CompletableFuture.supplyAsync(() -> adapter.findById(1L));
+
+        assertThat(lookup.get(5, TimeUnit.SECONDS)).map(Product::getId).contains(1L);
+    }
+
+    @Test
+    void shouldSendFullBatchWithoutWaitingForWindow() {
+        adapter = new BatchingProductRepositoryAdapter(delegate, Duration.ofMinutes(1), 2);
+        when(delegate.findAllByIds(List.of(1L, 2L))).thenReturn(List.of(
+            new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false),
+            new Product(2L, "Product2", "Description2", new BigDecimal("10.00"), 5, Instant.now(), null, false)));
+
+        List<Product> result = adapter.findAllByIds(List.of(1L, 2L));
+
+        assertThat(result).extracting(Product::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void shouldSplitLookupsLargerThanMaxBatchSize() {
+        adapter = new BatchingProductRepositoryAdapter(delegate, Duration.ofMillis(1), 2);
+        when(delegate.findAllByIds(List.of(1L, 2L))).thenReturn(List.of(
+            new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false),
+            new Product(2L, "Product2", "Description2", new BigDecimal("10.00"), 5, Instant.now(), null, false)));
+        Product product = new Product(3L, "Product3", "Description3", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        when(delegate.findAllByIds(List.of(3L))).thenReturn(List.of(product));
+
+        List<Product> result = adapter.findAllByIds(List.of(1L, 2L, 1L, 3L));
+
+        assertThat(result).extracting(Product::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void shouldLeaveOutUnknownIds() {
+        adapter = new BatchingProductRepositoryAdapter(delegate, Duration.ofMillis(1), 100);
+        Product product = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        when(delegate.findAllByIds(List.of(1L, 999L))).thenReturn(List.of(product));
+
+        assertThat(adapter.findAllByIds(List.of(1L, 999L))).extracting(Product::getId).containsExactly(1L);
+    }
+
+    @Test
+    void shouldPropagateLoadFailureToCallers() {
+        adapter = new BatchingProductRepositoryAdapter(delegate, Duration.ofMillis(1), 100);
+        when(delegate.findAllByIds(List.of(1L))).thenThrow(new IllegalStateException("Database unavailable"));
+
+        assertThatThrownBy(() -> adapter.findById(1L))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Database unavailable");
+    }
+
+    @Test
+    void shouldCompleteCallersWhenLoadThrowsError() {
+        adapter = new BatchingProductRepositoryAdapter(delegate, Duration.ofMillis(1), 100);
+        when(delegate.findAllByIds(List.of(1L))).thenThrow(new OutOfMemoryError("Java heap space"));
+
+        assertThatThrownBy(() -> adapter.findById(1L))
+            .isInstanceOf(OutOfMemoryError.class)
+            .hasMessage("Java heap space");
+    }
+
+    @Test
+    void shouldLoadFullBatchOffCallerThread() {
+        adapter = new BatchingProductRepositoryAdapter(delegate, Duration.ofMinutes(1), 1);
+        AtomicReference<Thread> loadingThread = new AtomicReference<>();
+        when(delegate.findAllByIds(List.of(1L))).thenAnswer(invocation -> {
+            loadingThread.set(Thread.currentThread());
+            return List.of(new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false));
+        });
+
+        assertThat(adapter.findById(1L)).isPresent();
+        assertThat(loadingThread.get()).isNotSameAs(Thread.currentThread());
+        assertThat(loadingThread.get().getName()).startsWith("product-batch-loader-");
+    }
+
+    @Test
+    void shouldLoadOnCallerThreadInsideTransaction() {
+        adapter = new BatchingProductRepositoryAdapter(delegate, Duration.ofMinutes(1), 100);
+        AtomicReference<Thread> loadingThread = new AtomicReference<>();
+        when(delegate.findAllByIds(List.of(1L))).thenAnswer(invocation -> {
+            loadingThread.set(Thread.currentThread());
+            return List.of(new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false));
+        });
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThat(adapter.findById(1L)).isPresent();
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        assertThat(loadingThread.get()).isSameAs(Thread.currentThread());
+    }
+
+    @Test
+    void shouldRunBatchLoadsConcurrently() throws Exception {
+        adapter = new BatchingProductRepositoryAdapter(delegate, Duration.ofMinutes(1), 1, 2);
+        CountDownLatch bothLoading = new CountDownLatch(2);
+        when(delegate.findAllByIds(anyCollection())).thenAnswer(invocation -> {
+            bothLoading.countDown();
+            // Each load only finishes once the other one has started as well
+            if (!bothLoading.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Loads ran one after the other");
+            }
+            Long id = ((Collection<Long>) invocation.getArgument(0)).iterator().next();
+            return List.of(new Product(id, "Product" + id, "Description" + id, new BigDecimal("10.00"), 5,
+                                       Instant.now(), null, false));
+        });
+
+        CompletableFuture<Optional<Product>> first = CompletableFuture.supplyAsync(() -> adapter.findById(1L));
+        CompletableFuture<Optional<Product>> second = CompletableFuture.supplyAsync(() -> adapter.findById(2L));
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).map(Product::getId).contains(1L);
+        assertThat(second.get(10, TimeUnit.SECONDS)).map(Product::getId).contains(2L);
+    }
+
+    @Test
+    void shouldDelegateOtherOperations() {
+        adapter = new BatchingProductRepositoryAdapter(delegate, Duration.ofMillis(1), 100);
+        Product product = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        when(delegate.findAll()).thenReturn(List.of(product));
+        when(delegate.existsById(1L)).thenReturn(true);
+
+        assertThat(adapter.findAll()).hasSize(1);
+        assertThat(adapter.existsById(1L)).isTrue();
+        verify(delegate).findAll();
+        verify(delegate).existsById(1L);
+    }
+
+    @Test
+    void shouldSendPendingLookupsOnClose() throws Exception {
+        adapter = new BatchingProductRepositoryAdapter(delegate, Duration.ofMinutes(1), 100);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.findAllByIds(List.of(0L))).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(new Product(0L, "Product0", "Description0", new BigDecimal("10.00"), 5, Instant.now(), null, false));
+        });
+        Product product = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        when(delegate.findAllByIds(List.of(1L))).thenReturn(List.of(product));
+        // Keep a load in flight so the next lookup stays pending until the window closes
+        CompletableFuture<Optional<Product>> running = CompletableFuture.supplyAsync(() -> adapter.findById(0L));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        AtomicReference<Optional<Product>> result = new AtomicReference<>();
+        Thread lookup = new Thread(() -> result.set(adapter.findById(1L)));
+        lookup.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (lookup.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+
+        adapter.close();
+        lookup.join(5000);
+        release.countDown();
+
+        assertThat(result.get()).isPresent();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isPresent();
+    }
+
+    @Test
+    void shouldLoadDirectlyAfterClose() {
+        adapter = new BatchingProductRepositoryAdapter(delegate, Duration.ofMinutes(1), 100);
+        Product product = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        when(delegate.findAllByIds(List.of(1L))).thenReturn(List.of(product));
+        adapter.close();
+
+        assertThat(adapter.findAllByIds(List.of(1L))).extracting(Product::getId).containsExactly(1L);
+    }
+
+    @Test
+    void shouldRejectInvalidMaxBatchSize() {
+        assertThatThrownBy(() -> new BatchingProductRepositoryAdapter(delegate, Duration.ofMillis(1), 0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BatchingProductRepositoryAdapter(delegate, Duration.ofMillis(1), 100, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
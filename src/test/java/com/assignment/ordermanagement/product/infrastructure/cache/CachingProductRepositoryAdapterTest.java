@@ -1,34 +1,62 @@
 package com.assignment.ordermanagement.product.infrastructure.cache;
 
 import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductSearchCriteria;
 import com.assignment.ordermanagement.product.domain.port.ProductRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
 class CachingProductRepositoryAdapterTest {
 
     @Mock
     private ProductRepository delegate;
 
+    private CacheManager cacheManager;
+
     private CachingProductRepositoryAdapter cachingAdapter;
 
     @BeforeEach
     void setUp() {
-        cachingAdapter = new CachingProductRepositoryAdapter(delegate);
+        cacheManager = new ConcurrentMapCacheManager("products", "productList", "productStock", "productSearch", "productMisses");
+        cachingAdapter = new CachingProductRepositoryAdapter(delegate, cacheManager);
     }
 
     @Test
@@ -45,17 +73,45 @@ class CachingProductRepositoryAdapterTest {
     }
 
     @Test
-    void shouldDelegateFindById() {
+    void shouldLoadProductOnCacheMissInFindById() {
         Long id = 1L;
         Product product = new Product(id, "Product", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false);
 
-        when(delegate.findById(id)).thenReturn(Optional.of(product));
+        when(delegate.findAllByIds(List.of(id))).thenReturn(List.of(product));
 
         Optional<Product> result = cachingAdapter.findById(id);
 
         assertThat(result).isPresent();
-        assertThat(result.get()).isEqualTo(product);
-        verify(delegate).findById(id);
+        assertThat(result.get().getName()).isEqualTo("Product");
+        assertThat(result.get().getQuantity()).isEqualTo(5);
+        assertThat(cacheManager.getCache("products").get(id).get()).isSameAs(product);
+        assertThat(cacheManager.getCache("productStock").get(id).get()).isEqualTo(5);
+        verify(delegate, never()).findStockLevels(anyCollection());
+    }
+
+    @Test
+    void shouldServeFindByIdFromCatalogAndStockCaches() {
+        Product catalog = new Product(1L, "Product", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        cacheManager.getCache("products").put(1L, catalog);
+        cacheManager.getCache("productStock").put(1L, 2);
+
+        Optional<Product> result = cachingAdapter.findById(1L);
+
+        assertThat(result).isPresent();
+        assertThat(result.get().getQuantity()).isEqualTo(2);
+        assertThat(catalog.getQuantity()).isEqualTo(5);
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void shouldNotHandOutCachedInstances() {
+        Product catalog = new Product(1L, "Product", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        cacheManager.getCache("products").put(1L, catalog);
+        cacheManager.getCache("productStock").put(1L, 5);
+
+        cachingAdapter.findById(1L).get().updateDetails("Changed", null, null, null);
+
+        assertThat(catalog.getName()).isEqualTo("Product");
     }
 
     @Test
@@ -73,22 +129,205 @@ class CachingProductRepositoryAdapterTest {
         verify(delegate).findAll();
     }
 
+    @Test
+    void shouldOverlayCurrentStockOnCachedList() {
+        Product product1 = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        Product product2 = new Product(2L, "Product2", "Description2", new BigDecimal("20.00"), 10, Instant.now(), null, false);
+        cacheManager.getCache("productList").put("all", List.of(product1, product2));
+        cacheManager.getCache("productStock").put(1L, 0);
+
+        when(delegate.findStockLevels(List.of(2L))).thenReturn(Map.of(2L, 7));
+
+        List<Product> result = cachingAdapter.findAll();
+
+        assertThat(result).extracting(Product::getQuantity).containsExactly(0, 7);
+        assertThat(result.get(0).isInStock()).isFalse();
+        verify(delegate, never()).findAll();
+    }
+
+    @Test
+    void shouldDropCachedProductsWithoutStockLevel() {
+        Product product = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        cacheManager.getCache("products").put(1L, product);
+
+        when(delegate.findStockLevels(List.of(1L))).thenReturn(Map.of());
+
+        assertThat(cachingAdapter.findById(1L)).isEmpty();
+    }
+
+    @Test
+    void shouldServeStockLevelsFromCache() {
+        cacheManager.getCache("productStock").put(1L, 4);
+
+        when(delegate.findStockLevels(List.of(2L))).thenReturn(Map.of(2L, 9));
+
+        Map<Long, Integer> result = cachingAdapter.findStockLevels(List.of(1L, 2L));
+
+        assertThat(result).containsExactlyInAnyOrderEntriesOf(Map.of(1L, 4, 2L, 9));
+        assertThat(cacheManager.getCache("productStock").get(2L).get()).isEqualTo(9);
+    }
+
+    @Test
+    void shouldLoadStockMissesInBoundedChunks() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 2 * CachingProductRepositoryAdapter.STOCK_LOOKUP_CHUNK_SIZE + 1; id++) {
+            ids.add(id);
+        }
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(delegate.findStockLevels(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+            Map<Long, Integer> levels = new HashMap<>();
+            chunk.forEach(id -> levels.put(id, 1));
+            return levels;
+        });
+
+        Map<Long, Integer> result = cachingAdapter.findStockLevels(ids);
+
+        assertThat(result).hasSize(ids.size());
+        assertThat(chunkSizes).containsExactly(CachingProductRepositoryAdapter.STOCK_LOOKUP_CHUNK_SIZE,
+                                               CachingProductRepositoryAdapter.STOCK_LOOKUP_CHUNK_SIZE, 1);
+    }
+
     @Test
     void shouldDelegateSearch() {
-        String name = "Test";
-        BigDecimal minPrice = new BigDecimal("10.00");
-        BigDecimal maxPrice = new BigDecimal("50.00");
-        Boolean inStock = true;
         List<Product> products = Arrays.asList(
             new Product(1L, "Test Product", "Description", new BigDecimal("25.00"), 5, Instant.now(), null, false)
         );
 
-        when(delegate.search(name, minPrice, maxPrice, inStock)).thenReturn(products);
+        when(delegate.search("test", new BigDecimal("1E+1"), new BigDecimal("5E+1"), null)).thenReturn(products);
 
-        List<Product> result = cachingAdapter.search(name, minPrice, maxPrice, inStock);
+        List<Product> result = cachingAdapter.search(" Test ", new BigDecimal("10.00"), new BigDecimal("50.00"), true);
 
         assertThat(result).hasSize(1);
-        verify(delegate).search(name, minPrice, maxPrice, inStock);
+        verify(delegate).search("test", new BigDecimal("1E+1"), new BigDecimal("5E+1"), null);
+    }
+
+    @Test
+    void shouldServeEquivalentSearchesFromCache() {
+        Product product = new Product(1L, "Laptop", "Description", new BigDecimal("25.00"), 5, Instant.now(), null, false);
+
+        when(delegate.search("laptop", new BigDecimal("1E+1"), null, null)).thenReturn(List.of(product));
+
+        cachingAdapter.search("laptop", new BigDecimal("10"), null, null);
+        List<Product> result = cachingAdapter.search("  LAPTOP", new BigDecimal("10.00"), null, false);
+
+        assertThat(result).extracting(Product::getId).containsExactly(1L);
+        verify(delegate).search("laptop", new BigDecimal("1E+1"), null, null);
+    }
+
+    @Test
+    void shouldSendEverySearchToDelegateWhenSearchCachingIsOff() {
+        CachingProductRepositoryAdapter adapter =
+            new CachingProductRepositoryAdapter(delegate, cacheManager, null, null, Runnable::run, false);
+        Product product = new Product(1L, "Laptop", "Description", new BigDecimal("25.00"), 5, Instant.now(), null, false);
+
+        when(delegate.search("laptop", null, null, null)).thenReturn(List.of(product));
+
+        adapter.search("laptop", null, null, null);
+        adapter.search(" LAPTOP ", null, null, null);
+
+        verify(delegate, times(2)).search("laptop", null, null, null);
+    }
+
+    @Test
+    void shouldApplyInStockFilterToCurrentStock() {
+        Product inStock = new Product(1L, "Laptop", "Description", new BigDecimal("25.00"), 5, Instant.now(), null, false);
+        Product soldOut = new Product(2L, "Laptop Bag", "Description", new BigDecimal("15.00"), 3, Instant.now(), null, false);
+
+        when(delegate.search("laptop", null, null, null)).thenReturn(List.of(inStock, soldOut));
+
+        assertThat(cachingAdapter.search("laptop", null, null, true)).hasSize(2);
+
+        cacheManager.getCache("productStock").put(2L, 0);
+
+        assertThat(cachingAdapter.search("laptop", null, null, true)).extracting(Product::getId).containsExactly(1L);
+        assertThat(cachingAdapter.search("laptop", null, null, null)).hasSize(2);
+        verify(delegate).search("laptop", null, null, null);
+    }
+
+    @Test
+    void shouldNotServeCachedSearchAfterCatalogWrite() {
+        Product product = new Product(1L, "Laptop", "Description", new BigDecimal("25.00"), 5, Instant.now(), null, false);
+        Product renamed = new Product(1L, "Notebook", "Description", new BigDecimal("25.00"), 5, Instant.now(), null, false);
+
+        when(delegate.search("laptop", null, null, null)).thenReturn(List.of(product), List.of());
+        when(delegate.save(renamed)).thenReturn(renamed);
+
+        assertThat(cachingAdapter.search("laptop", null, null, null)).hasSize(1);
+        cachingAdapter.save(renamed);
+
+        assertThat(cachingAdapter.search("laptop", null, null, null)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepCachedSearchAcrossStockDecreases() {
+        Product product = new Product(1L, "Laptop", "Description", new BigDecimal("25.00"), 5, Instant.now(), null, false);
+
+        when(delegate.search("laptop", null, null, null)).thenReturn(List.of(product));
+        when(delegate.decreaseStock(1L, 2)).thenReturn(true);
+        when(delegate.findStockLevels(List.of(1L))).thenReturn(Map.of(1L, 3));
+
+        cachingAdapter.search("laptop", null, null, null);
+        cachingAdapter.decreaseStock(1L, 2);
+        List<Product> result = cachingAdapter.search("laptop", null, null, null);
+
+        assertThat(result).extracting(Product::getQuantity).containsExactly(3);
+        verify(delegate).search("laptop", null, null, null);
+    }
+
+    @Test
+    void shouldApplyInStockFilterToFreshStockOnceStockEntryHasExpired() {
+        List<Runnable> refreshes = new ArrayList<>();
+        CachingProductRepositoryAdapter adapter = new CachingProductRepositoryAdapter(
+            delegate, cacheManager, Duration.ofHours(1), Duration.ofHours(2), refreshes::add);
+        Product product = new Product(1L, "Laptop", "Description", new BigDecimal("25.00"), 5, Instant.now(), null, false);
+        when(delegate.search("laptop", null, null, null)).thenReturn(List.of(product));
+        adapter.search("laptop", null, null, null);
+
+        // The catalog entry still carries 5, but the product has sold out since
+        cacheManager.getCache("productStock").evict(1L);
+        when(delegate.findStockLevels(List.of(1L))).thenReturn(Map.of(1L, 0));
+
+        assertThat(adapter.search("laptop", null, null, true)).isEmpty();
+        assertThat(adapter.search("laptop", null, null, null)).extracting(Product::getQuantity).containsExactly(0);
+        verify(delegate).findStockLevels(List.of(1L));
+        assertThat(refreshes).isEmpty();
+    }
+
+    @Test
+    void shouldStartOneBackgroundStockReloadAtATime() {
+        List<Runnable> refreshes = new ArrayList<>();
+        CachingProductRepositoryAdapter adapter = new CachingProductRepositoryAdapter(
+            delegate, cacheManager, Duration.ofHours(1), Duration.ofHours(2), refreshes::add);
+        Product product = new Product(1L, "Laptop", "Description", new BigDecimal("25.00"), 5, Instant.now(), null, false);
+        when(delegate.findAll()).thenReturn(List.of(product));
+        adapter.findAll();
+        cacheManager.getCache("productStock").clear();
+
+        adapter.findAll();
+        adapter.findAll();
+
+        assertThat(refreshes).hasSize(1);
+    }
+
+    @Test
+    void shouldDropProductsDeletedElsewhereWhenStockReloadFindsNone() {
+        List<Runnable> refreshes = new ArrayList<>();
+        CachingProductRepositoryAdapter adapter = new CachingProductRepositoryAdapter(
+            delegate, cacheManager, Duration.ofHours(1), Duration.ofHours(2), refreshes::add);
+        Product product = new Product(1L, "Laptop", "Description", new BigDecimal("25.00"), 5, Instant.now(), null, false);
+        when(delegate.findAll()).thenReturn(List.of(product));
+        cacheManager.getCache("products").put(1L, product);
+        adapter.findAll();
+        cacheManager.getCache("productStock").evict(1L);
+
+        adapter.findAll();
+        when(delegate.findStockLevels(List.of(1L))).thenReturn(Map.of());
+        refreshes.get(0).run();
+
+        assertThat(cacheManager.getCache("products").get(1L)).isNull();
+        assertThat(cacheManager.getCache("productStock").get(1L)).isNull();
     }
 
     @Test
@@ -111,5 +350,437 @@ class CachingProductRepositoryAdapterTest {
         assertThat(result).isTrue();
         verify(delegate).existsById(id);
     }
-}
 
+    @Test
+    void shouldLoadOnlyCacheMissesInFindAllByIds() {
+        Product cached = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        Product loaded = new Product(2L, "Product2", "Description2", new BigDecimal("20.00"), 10, Instant.now(), null, false);
+        cacheManager.getCache("products").put(1L, cached);
+        cacheManager.getCache("productStock").put(1L, 5);
+
+        when(delegate.findAllByIds(List.of(2L, 3L))).thenReturn(List.of(loaded));
+
+        List<Product> result = cachingAdapter.findAllByIds(List.of(2L, 1L, 3L, 2L));
+
+        assertThat(result).extracting(Product::getId).containsExactly(2L, 1L);
+        assertThat(cacheManager.getCache("products").get(2L).get()).isEqualTo(loaded);
+        verify(delegate).findAllByIds(List.of(2L, 3L));
+    }
+
+    @Test
+    void shouldNotHitDelegateWhenAllIdsAreCached() {
+        Product cached = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        cacheManager.getCache("products").put(1L, cached);
+        cacheManager.getCache("productStock").put(1L, 5);
+
+        List<Product> result = cachingAdapter.findAllByIds(List.of(1L));
+
+        assertThat(result).extracting(Product::getId).containsExactly(1L);
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void shouldDelegateDecreaseStock() {
+        when(delegate.decreaseStock(1L, 3)).thenReturn(true);
+
+        assertThat(cachingAdapter.decreaseStock(1L, 3)).isTrue();
+        verify(delegate).decreaseStock(1L, 3);
+    }
+
+    @Test
+    void shouldDelegateMultiRowDecreaseStock() {
+        Map<Long, Integer> quantities = Map.of(1L, 2, 2L, 3);
+        when(delegate.decreaseStock(quantities)).thenReturn(2);
+
+        assertThat(cachingAdapter.decreaseStock(quantities)).isEqualTo(2);
+        verify(delegate).decreaseStock(quantities);
+    }
+
+    @Test
+    void shouldWriteSavedProductThroughToCaches() {
+        Product other = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        Product original = new Product(2L, "Product2", "Description2", new BigDecimal("20.00"), 10, Instant.now(), null, false);
+        Product updated = new Product(2L, "Product2", "Description2", new BigDecimal("20.00"), 10, Instant.now(), null, false);
+        updated.updateDetails("Renamed", null, new BigDecimal("25.00"), 8);
+        cacheManager.getCache("products").put(1L, other);
+        cacheManager.getCache("products").put(2L, original);
+        cacheManager.getCache("productList").put("all", List.of(other, original));
+        cacheManager.getCache("productStock").put(2L, 10);
+
+        when(delegate.save(updated)).thenReturn(updated);
+
+        cachingAdapter.save(updated);
+
+        assertThat(cacheManager.getCache("products").get(1L).get()).isSameAs(other);
+        assertThat(((Product) cacheManager.getCache("products").get(2L).get()).getName()).isEqualTo("Renamed");
+        assertThat((List<Product>) cacheManager.getCache("productList").get("all").get())
+                .extracting(Product::getName).containsExactly("Product1", "Renamed");
+        assertThat(cacheManager.getCache("productStock").get(2L).get()).isEqualTo(8);
+    }
+
+    @Test
+    void shouldKeepCachedStockWhenSaveLeavesStockAlone() {
+        // Read with 10 in stock before an order took two, then renamed
+        Product renamed = new Product(2L, "Product2", "Description2", new BigDecimal("20.00"), 10, Instant.now(), null, false);
+        renamed.updateDetails("Renamed", null, null, null);
+        cacheManager.getCache("productStock").put(2L, 8);
+
+        when(delegate.save(renamed)).thenReturn(renamed);
+
+        cachingAdapter.save(renamed);
+
+        assertThat(cacheManager.getCache("productStock").get(2L).get()).isEqualTo(8);
+        assertThat(cachingAdapter.findById(2L)).get().extracting(Product::getQuantity).isEqualTo(8);
+    }
+
+    @Test
+    void shouldAppendCreatedProductToCachedList() {
+        Product existing = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        Product product = new Product("Product2", "Description2", new BigDecimal("20.00"), 10);
+        Product created = new Product(2L, "Product2", "Description2", new BigDecimal("20.00"), 10, Instant.now(), null, false);
+        cacheManager.getCache("productList").put("all", List.of(existing));
+
+        when(delegate.save(product)).thenReturn(created);
+
+        cachingAdapter.save(product);
+
+        assertThat((List<Product>) cacheManager.getCache("productList").get("all").get())
+                .extracting(Product::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void shouldEvictOnlyDeletedProduct() {
+        Product kept = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        Product deleted = new Product(2L, "Product2", "Description2", new BigDecimal("20.00"), 10, Instant.now(), null, false);
+        cacheManager.getCache("products").put(1L, kept);
+        cacheManager.getCache("products").put(2L, deleted);
+        cacheManager.getCache("productList").put("all", List.of(kept, deleted));
+        cacheManager.getCache("productStock").put(2L, 10);
+
+        cachingAdapter.deleteById(2L);
+
+        assertThat(cacheManager.getCache("products").get(1L).get()).isSameAs(kept);
+        assertThat(cacheManager.getCache("products").get(2L)).isNull();
+        assertThat(cacheManager.getCache("productStock").get(2L)).isNull();
+        assertThat((List<Product>) cacheManager.getCache("productList").get("all").get()).containsExactly(kept);
+    }
+
+    @Test
+    void shouldReloadOnlyStockInBackgroundAfterDecreasingStock() {
+        List<Runnable> refreshes = new ArrayList<>();
+        CachingProductRepositoryAdapter adapter = new CachingProductRepositoryAdapter(
+            delegate, cacheManager, Duration.ofHours(1), Duration.ofHours(2), refreshes::add);
+        Product product1 = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        Product product2 = new Product(2L, "Product2", "Description2", new BigDecimal("20.00"), 10, Instant.now(), null, false);
+        List<Product> list = List.of(product1, product2);
+        cacheManager.getCache("products").put(2L, product2);
+        cacheManager.getCache("productList").put("all", list);
+        cacheManager.getCache("productStock").put(1L, 5);
+        cacheManager.getCache("productStock").put(2L, 10);
+
+        when(delegate.decreaseStock(Map.of(2L, 3))).thenReturn(1);
+        when(delegate.findStockLevels(List.of(2L))).thenReturn(Map.of(2L, 7));
+
+        adapter.decreaseStock(Map.of(2L, 3));
+
+        assertThat(cacheManager.getCache("productStock").get(2L)).isNull();
+        verify(delegate, never()).findStockLevels(any());
+        assertThat(refreshes).hasSize(1);
+        refreshes.get(0).run();
+
+        assertThat(cacheManager.getCache("products").get(2L).get()).isSameAs(product2);
+        assertThat(cacheManager.getCache("productList").get("all").get()).isSameAs(list);
+        assertThat(cacheManager.getCache("productStock").get(1L).get()).isEqualTo(5);
+        assertThat(cacheManager.getCache("productStock").get(2L).get()).isEqualTo(7);
+        verify(delegate, never()).findAllByIds(anyCollection());
+    }
+
+    @Test
+    void shouldMergeStockQueuedDuringReloadIntoNextReload() {
+        List<Runnable> refreshes = new ArrayList<>();
+        CachingProductRepositoryAdapter adapter = new CachingProductRepositoryAdapter(
+            delegate, cacheManager, Duration.ofHours(1), Duration.ofHours(2), refreshes::add);
+        when(delegate.decreaseStock(1L, 1)).thenReturn(true);
+        when(delegate.decreaseStock(2L, 1)).thenReturn(true);
+        when(delegate.decreaseStock(3L, 1)).thenReturn(true);
+        when(delegate.findStockLevels(anyCollection())).thenReturn(Map.of(1L, 4, 2L, 4, 3L, 4));
+
+        adapter.decreaseStock(1L, 1);
+        adapter.decreaseStock(2L, 1);
+        adapter.decreaseStock(3L, 1);
+        assertThat(refreshes).hasSize(1);
+
+        refreshes.get(0).run();
+
+        // Ids queued while the first reload was pending were not dropped: they were reloaded with it
+        assertThat(cacheManager.getCache("productStock").get(1L).get()).isEqualTo(4);
+        assertThat(cacheManager.getCache("productStock").get(2L).get()).isEqualTo(4);
+        assertThat(cacheManager.getCache("productStock").get(3L).get()).isEqualTo(4);
+        assertThat(refreshes).hasSize(1);
+
+        adapter.decreaseStock(2L, 1);
+        assertThat(refreshes).hasSize(2);
+    }
+
+    @Test
+    void shouldNotTouchCachesWhenStockIsNotDecreased() {
+        cacheManager.getCache("productStock").put(1L, 5);
+
+        when(delegate.decreaseStock(1L, 10)).thenReturn(false);
+
+        assertThat(cachingAdapter.decreaseStock(1L, 10)).isFalse();
+        assertThat(cacheManager.getCache("productStock").get(1L).get()).isEqualTo(5);
+        verify(delegate, never()).findStockLevels(any());
+    }
+
+    @Test
+    void shouldDeferCacheUpdatesUntilTransactionCommits() {
+        cacheManager.getCache("productStock").put(1L, 5);
+
+        when(delegate.decreaseStock(1L, 2)).thenReturn(true);
+        when(delegate.findStockLevels(List.of(1L))).thenReturn(Map.of(1L, 3));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cachingAdapter.decreaseStock(1L, 2);
+            assertThat(cacheManager.getCache("productStock").get(1L).get()).isEqualTo(5);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cacheManager.getCache("productStock").get(1L)).isNull();
+        verify(delegate, never()).findStockLevels(any());
+        assertThat(cachingAdapter.findStockLevels(List.of(1L))).containsEntry(1L, 3);
+    }
+
+    @Test
+    void shouldStreamFromDelegateWithoutCaching() {
+        ProductSearchCriteria criteria = ProductSearchCriteria.of(null, null, null, null);
+        Consumer<Product> action = product -> { };
+
+        cachingAdapter.stream(criteria, action);
+
+        verify(delegate).stream(criteria, action);
+        assertThat(cacheManager.getCache("products").get(1L)).isNull();
+    }
+
+    @Test
+    void shouldBumpVersionOnlyAfterCommittedChanges() {
+        Product product = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        when(delegate.save(product)).thenReturn(product);
+        when(delegate.decreaseStock(1L, 2)).thenReturn(true);
+        when(delegate.decreaseStock(1L, 50)).thenReturn(false);
+
+        long initial = cachingAdapter.getVersion();
+        cachingAdapter.decreaseStock(1L, 50);
+        assertThat(cachingAdapter.getVersion()).isEqualTo(initial);
+
+        cachingAdapter.save(product);
+        long afterSave = cachingAdapter.getVersion();
+        assertThat(afterSave).isGreaterThan(initial);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cachingAdapter.decreaseStock(1L, 2);
+            assertThat(cachingAdapter.getVersion()).isEqualTo(afterSave);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(cachingAdapter.getVersion()).isGreaterThan(afterSave);
+    }
+
+    @Test
+    void shouldRememberMissingIdsBriefly() {
+        when(delegate.findAllByIds(List.of(999L))).thenReturn(List.of());
+
+        assertThat(cachingAdapter.findById(999L)).isEmpty();
+        assertThat(cachingAdapter.findById(999L)).isEmpty();
+        assertThat(cachingAdapter.existsById(999L)).isFalse();
+
+        verify(delegate, times(1)).findAllByIds(List.of(999L));
+        verify(delegate, never()).existsById(999L);
+    }
+
+    @Test
+    void shouldForgetMissingIdOnceProductIsSaved() {
+        Product product = new Product("Product5", "Description5", new BigDecimal("10.00"), 5);
+        Product created = new Product(5L, "Product5", "Description5", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        cacheManager.getCache("productMisses").put(5L, Boolean.TRUE);
+        when(delegate.save(product)).thenReturn(created);
+
+        cachingAdapter.save(product);
+
+        assertThat(cacheManager.getCache("productMisses").get(5L)).isNull();
+        assertThat(cachingAdapter.findById(5L)).isPresent();
+    }
+
+    @Test
+    void shouldRememberDeletedProductAsMissing() {
+        cachingAdapter.deleteById(1L);
+
+        assertThat(cachingAdapter.existsById(1L)).isFalse();
+        assertThat(cachingAdapter.findById(1L)).isEmpty();
+        verify(delegate, never()).existsById(1L);
+        verify(delegate, never()).findAllByIds(anyCollection());
+    }
+
+    @Test
+    void shouldNotRememberMissWhenCatalogChangesDuringLoad() {
+        Product created = new Product(7L, "Product7", "Description7", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        when(delegate.save(created)).thenReturn(created);
+        when(delegate.findAllByIds(List.of(8L))).thenAnswer(invocation -> {
+            cachingAdapter.save(created);
+            return List.of();
+        });
+
+        assertThat(cachingAdapter.findById(8L)).isEmpty();
+
+        assertThat(cacheManager.getCache("productMisses").get(8L)).isNull();
+    }
+
+    @Test
+    void shouldShareConcurrentLoadOfSameProduct() throws Exception {
+        Product product = new Product(1L, "Product", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        when(delegate.findAllByIds(List.of(1L))).thenAnswer(invocation -> {
+            loadStarted.countDown();
+            releaseLoad.await(5, TimeUnit.SECONDS);
+            return List.of(product);
+        });
+
+        CompletableFuture<Optional<Product>> first = CompletableFuture.supplyAsync(() -> cachingAdapter.findById(1L));
+        assertThat(loadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        AtomicReference<Optional<Product>> second = new AtomicReference<>();
+        Thread waiter = new Thread(() -> second.set(cachingAdapter.findById(1L)));
+        waiter.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (waiter.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        releaseLoad.countDown();
+        waiter.join(5000);
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isPresent();
+        assertThat(second.get()).isPresent();
+        verify(delegate, times(1)).findAllByIds(List.of(1L));
+    }
+
+    @Test
+    void shouldPropagateFailedLoadAndAllowRetry() {
+        Product product = new Product(1L, "Product", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        when(delegate.findAllByIds(List.of(1L)))
+            .thenThrow(new IllegalStateException("Database unavailable"))
+            .thenReturn(List.of(product));
+
+        assertThatThrownBy(() -> cachingAdapter.findById(1L))
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThat(cachingAdapter.findById(1L)).isPresent();
+        assertThat(cacheManager.getCache("productMisses").get(1L)).isNull();
+    }
+
+    @Test
+    void shouldServeCachedListWhileRefreshingInBackground() {
+        List<Runnable> refreshes = new ArrayList<>();
+        CachingProductRepositoryAdapter adapter =
+            new CachingProductRepositoryAdapter(delegate, cacheManager, Duration.ZERO, Duration.ofHours(1), refreshes::add);
+        Product original = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        Product renamed = new Product(1L, "Renamed", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        when(delegate.findAll()).thenReturn(List.of(original), List.of(renamed));
+
+        assertThat(adapter.findAll()).extracting(Product::getName).containsExactly("Product1");
+        assertThat(adapter.findAll()).extracting(Product::getName).containsExactly("Product1");
+        assertThat(refreshes).hasSize(1);
+
+        long versionBeforeRefresh = adapter.getVersion();
+        refreshes.get(0).run();
+
+        assertThat(adapter.findAll()).extracting(Product::getName).containsExactly("Renamed");
+        assertThat(adapter.getVersion()).isGreaterThan(versionBeforeRefresh);
+        verify(delegate, times(2)).findAll();
+    }
+
+    @Test
+    void shouldServeListWithoutDatabaseOnceStockEntriesHaveExpired() {
+        AtomicLong nanos = new AtomicLong();
+        CaffeineCacheManager expiringCacheManager = new CaffeineCacheManager();
+        expiringCacheManager.registerCustomCache("productList", Caffeine.newBuilder().build());
+        expiringCacheManager.registerCustomCache("productStock",
+            Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(1)).ticker(nanos::get).build());
+        List<Runnable> refreshes = new ArrayList<>();
+        CachingProductRepositoryAdapter adapter = new CachingProductRepositoryAdapter(
+            delegate, expiringCacheManager, Duration.ofHours(1), Duration.ofHours(2), refreshes::add);
+        Product product = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        when(delegate.findAll()).thenReturn(List.of(product));
+        adapter.findAll();
+
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        assertThat(adapter.findAll()).extracting(Product::getQuantity).containsExactly(5);
+        verify(delegate, times(1)).findAll();
+        verify(delegate, never()).findStockLevels(any());
+        assertThat(refreshes).hasSize(1);
+
+        when(delegate.findStockLevels(List.of(1L))).thenReturn(Map.of(1L, 2));
+        refreshes.get(0).run();
+
+        assertThat(adapter.findAll()).extracting(Product::getQuantity).containsExactly(2);
+    }
+
+    @Test
+    void shouldReloadListOlderThanMaxStaleness() {
+        CachingProductRepositoryAdapter adapter =
+            new CachingProductRepositoryAdapter(delegate, cacheManager, Duration.ZERO, Duration.ZERO, Runnable::run);
+        Product original = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        Product renamed = new Product(1L, "Renamed", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        when(delegate.findAll()).thenReturn(List.of(original), List.of(renamed));
+
+        assertThat(adapter.findAll()).extracting(Product::getName).containsExactly("Product1");
+        assertThat(adapter.findAll()).extracting(Product::getName).containsExactly("Renamed");
+    }
+
+    @Test
+    void shouldKeepPatchedListWhenCatalogChangesDuringRefresh() {
+        List<Runnable> refreshes = new ArrayList<>();
+        CachingProductRepositoryAdapter adapter =
+            new CachingProductRepositoryAdapter(delegate, cacheManager, Duration.ZERO, Duration.ofHours(1), refreshes::add);
+        Product existing = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        Product created = new Product(2L, "Product2", "Description2", new BigDecimal("20.00"), 10, Instant.now(), null, false);
+        when(delegate.save(created)).thenReturn(created);
+        when(delegate.findAll())
+            .thenReturn(List.of(existing))
+            .thenAnswer(invocation -> {
+                adapter.save(created);
+                return List.of(existing);
+            });
+
+        adapter.findAll();
+        refreshes.get(0).run();
+
+        assertThat((List<Product>) cacheManager.getCache("productList").get("all").get())
+            .extracting(Product::getId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void shouldKeepServingListWhenRefreshFails() {
+        List<Runnable> refreshes = new ArrayList<>();
+        CachingProductRepositoryAdapter adapter =
+            new CachingProductRepositoryAdapter(delegate, cacheManager, Duration.ZERO, Duration.ofHours(1), refreshes::add);
+        Product product = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        when(delegate.findAll())
+            .thenReturn(List.of(product))
+            .thenThrow(new IllegalStateException("Database unavailable"));
+
+        adapter.findAll();
+        refreshes.get(0).run();
+
+        assertThat(adapter.findAll()).extracting(Product::getId).containsExactly(1L);
+        assertThat(refreshes).hasSize(2);
+    }
+}
@@ -0,0 +1,266 @@
+package com.assignment.ordermanagement.product.infrastructure.index;
+
+import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductPage;
+import com.assignment.ordermanagement.product.domain.model.ProductSearchCriteria;
+import com.assignment.ordermanagement.product.domain.port.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndexedProductRepositoryAdapterTest {
+
+    @Mock
+    private ProductRepository delegate;
+
+    private final List<Runnable> rebuilds = new ArrayList<>();
+
+    @Test
+    void shouldBuildIndexOnceAndAnswerSearchesFromIt() {
+        IndexedProductRepositoryAdapter adapter = adapter(null);
+        whenCatalogStreamed(List.of(
+            new Product(1L, "Laptop", "Description", new BigDecimal("999.99"), 5, Instant.now(), null, false),
+            new Product(2L, "Mouse", "Description", new BigDecimal("19.99"), 0, Instant.now(), null, false)));
+
+        assertThat(adapter.search("LAP", null, null, null)).extracting(Product::getId).containsExactly(1L);
+        assertThat(adapter.search(null, new BigDecimal("10"), new BigDecimal("20"), false)).extracting(Product::getId).containsExactly(2L);
+        assertThat(adapter.search(null, null, null, true)).extracting(Product::getId).containsExactly(1L);
+
+        verify(delegate, times(1)).stream(any(), any());
+        verify(delegate, never()).findAll();
+        verify(delegate, never()).search(anyString(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    void shouldRankTextSearchesFromIndex() {
+        IndexedProductRepositoryAdapter adapter = adapter(null);
+        whenCatalogStreamed(List.of(
+            new Product(1L, "Mouse Pad", "Description", new BigDecimal("9.99"), 5, Instant.now(), null, false),
+            new Product(2L, "Wireless Mouse", "Description", new BigDecimal("19.99"), 4, Instant.now(), null, false)));
+
+        List<Product> found = adapter.searchRanked("wireless mouse", ProductSearchCriteria.of(null, null, null, null), 10);
+
+        assertThat(found).extracting(Product::getId).containsExactly(2L, 1L);
+        verify(delegate, never()).searchRanked(any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldFindMisspeltNamesFromIndex() {
+        IndexedProductRepositoryAdapter adapter = adapter(null);
+        whenCatalogStreamed(List.of(
+            new Product(1L, "Keyboard", "Description", new BigDecimal("49.99"), 5, Instant.now(), null, false),
+            new Product(2L, "Mouse", "Description", new BigDecimal("19.99"), 4, Instant.now(), null, false)));
+
+        List<Product> found = adapter.searchSimilar("keybaord", ProductSearchCriteria.of(null, null, null, null), 10);
+
+        assertThat(found).extracting(Product::getId).containsExactly(1L);
+        verify(delegate, never()).searchSimilar(any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldSuggestFromIndex() {
+        IndexedProductRepositoryAdapter adapter = adapter(null);
+        whenCatalogStreamed(List.of(
+            new Product(1L, "Wireless Mouse", "Description", new BigDecimal("29.99"), 5, Instant.now(), null, false),
+            new Product(2L, "Mouse", "Description", new BigDecimal("19.99"), 4, Instant.now(), null, false)));
+
+        assertThat(adapter.findByNamePrefix("mo", 10)).extracting(Product::getId).containsExactly(2L, 1L);
+        verify(delegate, never()).findByNamePrefix(any(), anyInt());
+    }
+
+    @Test
+    void shouldApplyWritesOnlyAfterCommit() {
+        IndexedProductRepositoryAdapter adapter = adapter(null);
+        Product laptop = new Product(1L, "Laptop", "Description", new BigDecimal("999.99"), 5, Instant.now(), null, false);
+        whenCatalogStreamed(List.of(laptop));
+        adapter.search(null, null, null, null);
+        Product keyboard = new Product(2L, "Keyboard", "Description", new BigDecimal("49.00"), 3, Instant.now(), null, false);
+        when(delegate.save(keyboard)).thenReturn(keyboard);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            adapter.save(keyboard);
+            adapter.deleteById(1L);
+
+            assertThat(adapter.search(null, null, null, null)).extracting(Product::getId).containsExactly(1L);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(adapter.search(null, null, null, null)).extracting(Product::getId).containsExactly(2L);
+    }
+
+    @Test
+    void shouldRefreshStockOfDecreasedProductsInBackground() {
+        IndexedProductRepositoryAdapter adapter = adapter(null);
+        whenCatalogStreamed(List.of(
+            new Product(1L, "Laptop", "Description", new BigDecimal("999.99"), 1, Instant.now(), null, false),
+            new Product(2L, "Mouse", "Description", new BigDecimal("19.99"), 4, Instant.now(), null, false)));
+        adapter.search(null, null, null, null);
+        when(delegate.decreaseStock(Map.of(1L, 1, 2L, 1))).thenReturn(2);
+        when(delegate.findStockLevels(any())).thenReturn(Map.of(1L, 0, 2L, 3));
+
+        adapter.decreaseStock(Map.of(1L, 1, 2L, 1));
+        verify(delegate, never()).findStockLevels(any());
+        assertThat(rebuilds).hasSize(1);
+        rebuilds.get(0).run();
+
+        assertThat(adapter.search(null, null, null, true)).singleElement()
+                .satisfies(product -> assertThat(product.getQuantity()).isEqualTo(3));
+    }
+
+    @Test
+    void shouldIndexStoredStockWhenSaveLeavesStockAlone() {
+        IndexedProductRepositoryAdapter adapter = adapter(null);
+        Product laptop = new Product(1L, "Laptop", "Description", new BigDecimal("999.99"), 1, Instant.now(), null, false);
+        whenCatalogStreamed(List.of(laptop));
+        adapter.search(null, null, null, null);
+        // Read with one in stock before an order took it, then renamed
+        Product renamed = new Product(1L, "Laptop", "Description", new BigDecimal("999.99"), 1, Instant.now(), null, false);
+        renamed.updateDetails("Gaming Laptop", null, null, null);
+        when(delegate.save(renamed)).thenReturn(renamed);
+        when(delegate.findStockLevels(List.of(1L))).thenReturn(Map.of(1L, 0));
+
+        adapter.save(renamed);
+        rebuilds.get(0).run();
+
+        assertThat(adapter.search("gaming", null, null, true)).isEmpty();
+        assertThat(adapter.search("gaming", null, null, false)).extracting(Product::getQuantity).containsExactly(0);
+    }
+
+    @Test
+    void shouldRebuildInBackgroundOnceOlderThanRebuildInterval() {
+        IndexedProductRepositoryAdapter adapter = adapter(Duration.ZERO);
+        Product laptop = new Product(1L, "Laptop", "Description", new BigDecimal("999.99"), 5, Instant.now(), null, false);
+        Product monitor = new Product(3L, "Monitor", "Description", new BigDecimal("199.00"), 2, Instant.now(), null, false);
+        whenCatalogStreamed(List.of(laptop), List.of(laptop, monitor));
+
+        assertThat(adapter.search(null, null, null, null)).extracting(Product::getId).containsExactly(1L);
+        assertThat(adapter.search(null, null, null, null)).extracting(Product::getId).containsExactly(1L);
+        assertThat(rebuilds).hasSize(1);
+
+        rebuilds.get(0).run();
+
+        assertThat(adapter.search(null, null, null, null)).extracting(Product::getId).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void shouldApplyChangesMadeElsewhereOnSync() {
+        IndexedProductRepositoryAdapter adapter = new IndexedProductRepositoryAdapter(
+            delegate, Duration.ZERO, Duration.ofHours(1), Duration.ofSeconds(5), rebuilds::add);
+        Product laptop = new Product(1L, "Laptop", "Description", new BigDecimal("999.99"), 5, Instant.now(), null, false);
+        Product mouse = new Product(2L, "Mouse", "Description", new BigDecimal("19.99"), 4, Instant.now(), null, false);
+        whenCatalogStreamed(List.of(laptop, mouse));
+        Instant changedAt = Instant.now().minusSeconds(60);
+        Product deletedLaptop = new Product(1L, "Laptop", "Description", new BigDecimal("999.99"), 5, Instant.now(),
+                                            changedAt, true);
+        Product monitor = new Product(3L, "Monitor", "Description", new BigDecimal("199.00"), 2, Instant.now(), changedAt, false);
+        Product renamedMouse = new Product(2L, "Trackball", "Description", new BigDecimal("19.99"), 4, Instant.now(),
+                                           changedAt.plusSeconds(1), false);
+        when(delegate.findChanges(any(), anyLong(), any(), eq(IndexedProductRepositoryAdapter.SYNC_PAGE_SIZE)))
+            .thenReturn(new ProductPage(List.of(deletedLaptop, monitor), true),
+                        new ProductPage(List.of(renamedMouse), false));
+
+        assertThat(adapter.search(null, null, null, null)).extracting(Product::getId).containsExactly(1L, 2L);
+        assertThat(adapter.search(null, null, null, null)).extracting(Product::getId).containsExactly(1L, 2L);
+        assertThat(rebuilds).hasSize(1);
+        rebuilds.get(0).run();
+
+        assertThat(adapter.search(null, null, null, null)).extracting(Product::getName)
+                .containsExactly("Trackball", "Monitor");
+        verify(delegate, times(1)).stream(any(), any());
+        // The second page continues after the last change of the first
+        verify(delegate).findChanges(eq(changedAt), eq(3L), any(), anyInt());
+    }
+
+    @Test
+    void shouldHoldBackChangesYoungerThanSettleTime() {
+        IndexedProductRepositoryAdapter adapter = new IndexedProductRepositoryAdapter(
+            delegate, Duration.ZERO, Duration.ofHours(1), Duration.ofSeconds(5), rebuilds::add);
+        Product laptop = new Product(1L, "Laptop", "Description", new BigDecimal("999.99"), 5, Instant.now(), null, false);
+        whenCatalogStreamed(List.of(laptop));
+        when(delegate.findChanges(any(), anyLong(), any(), anyInt())).thenReturn(new ProductPage(List.of(), false));
+        Instant before = Instant.now();
+
+        adapter.search(null, null, null, null);
+        adapter.search(null, null, null, null);
+        rebuilds.get(0).run();
+
+        ArgumentCaptor<Instant> changedAfter = ArgumentCaptor.forClass(Instant.class);
+        ArgumentCaptor<Instant> changedBefore = ArgumentCaptor.forClass(Instant.class);
+        verify(delegate).findChanges(changedAfter.capture(), eq(0L), changedBefore.capture(), anyInt());
+        // Re-reads the changes that may not have committed when the index was built
+        assertThat(changedAfter.getValue()).isBefore(before.minusSeconds(4));
+        assertThat(changedBefore.getValue()).isBefore(Instant.now().minusSeconds(4));
+    }
+
+    @Test
+    void shouldReplayWritesCommittedDuringRebuild() {
+        IndexedProductRepositoryAdapter adapter = adapter(Duration.ZERO);
+        Product laptop = new Product(1L, "Laptop", "Description", new BigDecimal("999.99"), 5, Instant.now(), null, false);
+        Product monitor = new Product(3L, "Monitor", "Description", new BigDecimal("199.00"), 2, Instant.now(), null, false);
+        when(delegate.save(monitor)).thenReturn(monitor);
+        AtomicInteger builds = new AtomicInteger();
+        doAnswer(invocation -> {
+            invocation.<Consumer<Product>>getArgument(1).accept(laptop);
+            if (builds.getAndIncrement() > 0) {
+                // Committed after the rebuild read the catalog
+                adapter.save(monitor);
+                adapter.deleteById(1L);
+            }
+            return null;
+        }).when(delegate).stream(any(), any());
+        when(delegate.findAllByIds(Set.of(1L, 3L))).thenReturn(List.of(monitor));
+
+        adapter.search(null, null, null, null);
+        adapter.search(null, null, null, null);
+        rebuilds.get(0).run();
+
+        assertThat(adapter.search(null, null, null, null)).extracting(Product::getId).containsExactly(3L);
+    }
+
+    private IndexedProductRepositoryAdapter adapter(Duration rebuildAfter) {
+        return new IndexedProductRepositoryAdapter(delegate, null, rebuildAfter, Duration.ZERO, rebuilds::add);
+    }
+
+    // Each build streams the next of the given catalogs, the last one repeatedly
+    @SafeVarargs
+    private void whenCatalogStreamed(List<Product>... catalogs) {
+        AtomicInteger builds = new AtomicInteger();
+        doAnswer(invocation -> {
+            Consumer<Product> action = invocation.getArgument(1);
+            catalogs[Math.min(builds.getAndIncrement(), catalogs.length - 1)].forEach(action);
+            return null;
+        }).when(delegate).stream(any(), any());
+    }
+}
@@ -0,0 +1,251 @@
+package com.assignment.ordermanagement.product.infrastructure.index;
+
+import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductFacets;
+import com.assignment.ordermanagement.product.domain.model.ProductSearchCriteria;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCatalogIndexTest {
+
+    private final ProductCatalogIndex index = ProductCatalogIndex.of(List.of(
+            new Product(1L, "Laptop", "Description", new BigDecimal("999.99"), 5, Instant.now(), null, false),
+            new Product(2L, "Mouse", "Description", new BigDecimal("19.99"), 0, Instant.now(), null, false),
+            new Product(3L, "Gaming Laptop", "Description", new BigDecimal("1499.00"), 2, Instant.now(), null, false),
+            new Product(4L, "Laptop Bag", "Description", new BigDecimal("49.50"), 0, Instant.now(), null, false)
+    ));
+
+    @Test
+    void shouldFilterByNamePriceAndStockInIdOrder() {
+        assertThat(ids(search("laptop", null, null, null))).containsExactly(1L, 3L, 4L);
+        assertThat(ids(search(null, "19.99", "999.99", null))).containsExactly(1L, 2L, 4L);
+        assertThat(ids(search("LAPTOP", "50", null, true))).containsExactly(1L, 3L);
+        assertThat(ids(search(null, null, null, null))).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void shouldTreatFractionalBoundsLikeTheDatabase() {
+        assertThat(ids(search(null, "19.985", "49.505", null))).containsExactly(2L, 4L);
+        assertThat(ids(search(null, "19.991", "49.499", null))).isEmpty();
+    }
+
+    @Test
+    void shouldReturnCopiesCarryingIndexedStock() {
+        index.updateStock(Map.of(2L, 7));
+
+        List<Product> found = search("mouse", null, null, true);
+
+        assertThat(found).singleElement().satisfies(product -> assertThat(product.getQuantity()).isEqualTo(7));
+        found.get(0).decreaseStock(7);
+        assertThat(search("mouse", null, null, true)).singleElement()
+                .satisfies(product -> assertThat(product.getQuantity()).isEqualTo(7));
+    }
+
+    @Test
+    void shouldReorderProductWhenPriceChanges() {
+        index.put(new Product(2L, "Mouse", "Description", new BigDecimal("2000.00"), 1, Instant.now(), null, false));
+
+        assertThat(ids(search(null, "1000", null, null))).containsExactly(2L, 3L);
+        assertThat(ids(search(null, null, "100", null))).containsExactly(4L);
+    }
+
+    @Test
+    void shouldRemoveProductsAndReuseTheirRows() {
+        index.remove(1L);
+        index.put(new Product(5L, "Laptop Stand", null, new BigDecimal("29.00"), 3, Instant.now(), null, false));
+        index.put(new Product(3L, "Gaming Laptop", null, new BigDecimal("1499.00"), 2, Instant.now(), null, true));
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(ids(search("laptop", null, null, null))).containsExactly(4L, 5L);
+        assertThat(ids(search(null, "20", "30", true))).containsExactly(5L);
+    }
+
+    @Test
+    void shouldSyncIdsWithTheirCurrentState() {
+        index.sync(List.of(1L, 2L, 9L), List.of(
+            new Product(2L, "Wireless Mouse", "Description", new BigDecimal("24.99"), 4, Instant.now(), null, false),
+            new Product(9L, "Keyboard", "Description", new BigDecimal("59.00"), 1, Instant.now(), null, false)));
+
+        assertThat(ids(search(null, null, null, true))).containsExactly(2L, 3L, 9L);
+        assertThat(ids(search("mouse", "20", null, null))).containsExactly(2L);
+    }
+
+    @Test
+    void shouldRankTextMatchesByRelevanceWithinFilters() {
+        ProductCatalogIndex catalog = ProductCatalogIndex.of(List.of(
+                new Product(1L, "Mouse Pad", "Soft pad for any mouse", new BigDecimal("9.99"), 10,
+                            Instant.now(), null, false),
+                new Product(2L, "Wireless Mouse", "Quiet wireless mouse with long battery life", new BigDecimal("29.99"), 5,
+                            Instant.now(), null, false),
+                new Product(3L, "Keyboard", "Wireless keyboard, pairs with the wireless mice", new BigDecimal("49.99"), 0,
+                            Instant.now(), null, false),
+                new Product(4L, "Monitor", "27 inch display", new BigDecimal("199.00"), 3,
+                            Instant.now(), null, false)
+        ));
+
+        assertThat(ids(catalog.searchText("wireless mouse", ProductSearchCriteria.of(null, null, null, null), 10)))
+                .containsExactly(2L, 1L, 3L);
+        assertThat(ids(catalog.searchText("Wireless Mice", ProductSearchCriteria.of(null, null, null, true), 10)))
+                .containsExactly(2L);
+        assertThat(ids(catalog.searchText("mouse", ProductSearchCriteria.of(null, new BigDecimal("20"), null, null), 10)))
+                .containsExactly(2L);
+        assertThat(ids(catalog.searchText("wireless", ProductSearchCriteria.of(null, null, null, null), 1)))
+                .containsExactly(2L);
+        assertThat(catalog.searchText("tablet", ProductSearchCriteria.of(null, null, null, null), 10)).isEmpty();
+    }
+
+    @Test
+    void shouldReindexTextOnUpdateAndRemove() {
+        Product trackball = new Product(2L, "Trackball", "Ergonomic pointing device", new BigDecimal("19.99"), 0, Instant.now(), null, false);
+        index.put(trackball);
+        index.remove(3L);
+        ProductSearchCriteria all = ProductSearchCriteria.of(null, null, null, null);
+
+        assertThat(ids(index.searchText("mouse", all, 10))).isEmpty();
+        assertThat(ids(index.searchText("ergonomic trackballs", all, 10))).containsExactly(2L);
+        assertThat(ids(index.searchText("laptop", all, 10))).containsExactly(1L, 4L);
+    }
+
+    @Test
+    void shouldSuggestByNameOrWordPrefixAndFollowRenames() {
+        assertThat(ids(index.suggest("lap", 10))).containsExactly(1L, 4L, 3L);
+        assertThat(ids(index.suggest("  BAG", 10))).containsExactly(4L);
+        assertThat(index.suggest(" ", 10)).isEmpty();
+
+        index.put(new Product(1L, "Notebook", "Description", new BigDecimal("999.99"), 5, Instant.now(), null, false));
+        index.remove(4L);
+
+        assertThat(ids(index.suggest("lap", 10))).containsExactly(3L);
+        assertThat(ids(index.suggest("note", 10))).containsExactly(1L);
+    }
+
+    @Test
+    void shouldFindMisspeltNamesClosestFirst() {
+        ProductCatalogIndex catalog = ProductCatalogIndex.of(List.of(
+                new Product(1L, "Wireless Keyboard", "Description", new BigDecimal("59.00"), 5, Instant.now(), null, false),
+                new Product(2L, "Keyboard", "Description", new BigDecimal("39.00"), 0, Instant.now(), null, false),
+                new Product(3L, "Key Ring", "Description", new BigDecimal("4.99"), 9, Instant.now(), null, false),
+                new Product(4L, "Noise Cancelling Headphones", "Description", new BigDecimal("199.00"), 2,
+                            Instant.now(), null, false)
+        ));
+        ProductSearchCriteria all = ProductSearchCriteria.of(null, null, null, null);
+
+        assertThat(ids(catalog.searchSimilar("keybaord", all, 10))).containsExactly(2L, 1L);
+        assertThat(ids(catalog.searchSimilar("headphnes", all, 10))).containsExactly(4L);
+        assertThat(ids(catalog.searchSimilar("keybord", ProductSearchCriteria.of(null, null, null, true), 10)))
+                .containsExactly(1L);
+        assertThat(catalog.searchSimilar("monitor", all, 10)).isEmpty();
+
+        Product renamed = new Product(2L, "Mechanical Keybaord", "Description", new BigDecimal("39.00"), 0, Instant.now(), null, false);
+        catalog.put(renamed);
+        catalog.remove(1L);
+
+        assertThat(ids(catalog.searchSimilar("keyboard", all, 10))).containsExactly(2L);
+    }
+
+    @Test
+    void shouldRankSimilarNamesLikeLinearScan() {
+        Random random = new Random(7);
+        String[] words = {"wireless", "keyboard", "mouse", "gaming", "laptop", "stand", "usb", "cable", "monitor", "headset"};
+        List<Product> reference = new ArrayList<>();
+        ProductCatalogIndex randomIndex = ProductCatalogIndex.of(List.of());
+        for (int i = 0; i < 1000; i++) {
+            long id = random.nextInt(200) + 1;
+            reference.removeIf(product -> product.getId() == id);
+            if (random.nextInt(5) == 0) {
+                randomIndex.remove(id);
+            } else {
+                String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)];
+                Product product = new Product(id, name, "Description", new BigDecimal("10.00"), random.nextInt(2),
+                                              Instant.now(), null, false);
+                randomIndex.put(product);
+                reference.add(product);
+            }
+        }
+
+        for (int i = 0; i < 100; i++) {
+            char[] typo = words[random.nextInt(words.length)].toCharArray();
+            int at = random.nextInt(typo.length - 1);
+            char swapped = typo[at];
+            typo[at] = typo[at + 1];
+            typo[at + 1] = swapped;
+            String query = new String(typo);
+
+            assertThat(ids(randomIndex.searchSimilar(query, ProductSearchCriteria.of(null, null, null, null), 5)))
+                    .isEqualTo(ids(ProductTrigrams.rank(query, reference, 5)));
+        }
+    }
+
+    @Test
+    void shouldCountFacetsIgnoringEachFacetsOwnFilter() {
+        List<BigDecimal> bounds = List.of(new BigDecimal("0"), new BigDecimal("50"), new BigDecimal("1000"));
+
+        ProductFacets facets = index.facets(ProductSearchCriteria.of("laptop", new BigDecimal("100"), null, true), bounds);
+
+        assertThat(facets.priceBuckets()).extracting(ProductFacets.PriceBucket::count).containsExactly(0L, 1L, 1L);
+        assertThat(facets.priceBuckets().get(2).to()).isNull();
+        assertThat(facets.inStock()).isEqualTo(2);
+        assertThat(facets.outOfStock()).isZero();
+
+        ProductFacets all = index.facets(ProductSearchCriteria.of(null, null, null, null), bounds);
+
+        assertThat(all.priceBuckets()).extracting(ProductFacets.PriceBucket::count).containsExactly(2L, 1L, 1L);
+        assertThat(all.inStock()).isEqualTo(2);
+        assertThat(all.outOfStock()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldMatchLinearScanAfterRandomWrites() {
+        Random random = new Random(42);
+        List<Product> reference = new ArrayList<>();
+        ProductCatalogIndex randomIndex = ProductCatalogIndex.of(List.of());
+        for (int i = 0; i < 2000; i++) {
+            long id = random.nextInt(300) + 1;
+            reference.removeIf(product -> product.getId() == id);
+            if (random.nextInt(4) == 0) {
+                randomIndex.remove(id);
+            } else {
+                Product product = new Product(id, "Item " + random.nextInt(50), "Description",
+                                              BigDecimal.valueOf(random.nextInt(10000), 2), random.nextInt(3),
+                                              Instant.now(), null, false);
+                randomIndex.put(product);
+                reference.add(product);
+            }
+        }
+
+        for (int i = 0; i < 200; i++) {
+            BigDecimal min = BigDecimal.valueOf(random.nextInt(5000), 2);
+            BigDecimal max = min.add(BigDecimal.valueOf(random.nextInt(5000), 2));
+            String name = random.nextBoolean() ? "item " + random.nextInt(10) : null;
+            boolean inStock = random.nextBoolean();
+            List<Long> expected = reference.stream()
+                    .filter(product -> name == null || product.getName().toLowerCase().contains(name))
+                    .filter(product -> product.getPrice().compareTo(min) >= 0 && product.getPrice().compareTo(max) <= 0)
+                    .filter(product -> !inStock || product.isInStock())
+                    .map(Product::getId)
+                    .sorted()
+                    .toList();
+
+            assertThat(ids(randomIndex.search(ProductSearchCriteria.of(name, min, max, inStock)))).isEqualTo(expected);
+        }
+    }
+
+    private List<Product> search(String name, String minPrice, String maxPrice, Boolean inStock) {
+        return index.search(ProductSearchCriteria.of(name,
+                minPrice != null ? new BigDecimal(minPrice) : null,
+                maxPrice != null ? new BigDecimal(maxPrice) : null,
+                inStock));
+    }
+
+    private static List<Long> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+}
@@ -0,0 +1,110 @@
+package com.assignment.ordermanagement.product.infrastructure.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductNameTrieTest {
+
+    private final Map<Integer, String> names = new HashMap<>();
+    private final ProductNameTrie trie = new ProductNameTrie(this::rank);
+
+    @Test
+    void shouldSuggestNamesStartingWithPrefixBeforeWordMatches() {
+        add(0, "Wireless Mouse");
+        add(1, "Mouse");
+        add(2, "Mouse Pad");
+        add(3, "Monitor");
+
+        assertThat(trie.lookup("mou", 10)).containsExactly(1, 2, 0);
+        assertThat(trie.lookup("mo", 2)).containsExactly(1, 3);
+        assertThat(trie.lookup("wireless m", 10)).containsExactly(0);
+        assertThat(trie.lookup("mouse p", 10)).containsExactly(2);
+        assertThat(trie.lookup("mice", 10)).isEmpty();
+        assertThat(trie.lookup("mousepad", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldReturnEachRowOnce() {
+        add(0, "Pro Case for Pro Phones");
+
+        assertThat(trie.lookup("pro", 10)).containsExactly(0);
+    }
+
+    @Test
+    void shouldRefillBestEntriesWhenOneIsRemoved() {
+        for (int row = 0; row < 15; row++) {
+            add(row, "Cable " + (char) ('a' + row));
+        }
+
+        remove(3);
+        remove(7);
+
+        assertThat(trie.lookup("cable", 10)).containsExactly(0, 1, 2, 4, 5, 6, 8, 9, 10, 11);
+        assertThat(trie.lookup("d", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldMatchBruteForceAfterRandomChanges() {
+        Random random = new Random(7);
+        String[] words = {"usb", "usb-c", "cable", "case", "charger", "car", "card", "mouse", "mount", "pad"};
+        for (int i = 0; i < 3000; i++) {
+            int row = random.nextInt(200);
+            if (names.containsKey(row)) {
+                remove(row);
+            }
+            if (random.nextInt(3) > 0) {
+                add(row, words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]);
+            }
+        }
+
+        for (String prefix : List.of("c", "ca", "car", "card", "usb", "usb-", "m", "mou", "pad", "x", "cable c")) {
+            List<Integer> matches = new ArrayList<>();
+            names.forEach((row, name) -> {
+                if (name.startsWith(prefix)) {
+                    matches.add(ProductNameTrie.entry(row, true));
+                } else if (name.contains(" " + prefix) || name.contains("-" + prefix)) {
+                    matches.add(ProductNameTrie.entry(row, false));
+                }
+            });
+            int[] expected = matches.stream()
+                    .sorted(this::rank)
+                    .limit(ProductNameTrie.CAPACITY)
+                    .mapToInt(ProductNameTrie::row)
+                    .toArray();
+
+            assertThat(trie.lookup(prefix, ProductNameTrie.CAPACITY)).as(prefix).containsExactly(expected);
+        }
+    }
+
+    private void add(int row, String name) {
+        names.put(row, name.toLowerCase(Locale.ROOT));
+        trie.add(row, name);
+    }
+
+    private void remove(int row) {
+        trie.remove(row, names.get(row));
+        names.remove(row);
+    }
+
+    private int rank(int entry, int other) {
+        if (ProductNameTrie.isNameStart(entry) != ProductNameTrie.isNameStart(other)) {
+            return ProductNameTrie.isNameStart(entry) ? -1 : 1;
+        }
+        String name = names.get(ProductNameTrie.row(entry));
+        String otherName = names.get(ProductNameTrie.row(other));
+        int byLength = Integer.compare(name.length(), otherName.length());
+        if (byLength != 0) {
+            return byLength;
+        }
+        int byName = name.compareTo(otherName);
+        return byName != 0 ? byName : Integer.compare(ProductNameTrie.row(entry), ProductNameTrie.row(other));
+    }
+}
@@ -0,0 +1,27 @@
+package com.assignment.ordermanagement.product.infrastructure.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductTextAnalyzerTest {
+
+    @Test
+    void shouldSplitLowerCaseAndStemPlurals() {
+        assertThat(ProductTextAnalyzer.terms("Wireless Keyboards, USB-C cables & 2 Batteries!"))
+                .containsExactly("wireless", "keyboard", "usb", "c", "cable", "2", "battery");
+    }
+
+    @Test
+    void shouldOnlyStripPluralEndings() {
+        assertThat(ProductTextAnalyzer.terms("glass bus status")).containsExactly("glass", "bus", "status");
+        assertThat(ProductTextAnalyzer.stem("shoes")).isEqualTo("shoe");
+        assertThat(ProductTextAnalyzer.stem("gas")).isEqualTo("gas");
+    }
+
+    @Test
+    void shouldReturnNoTermsForEmptyText() {
+        assertThat(ProductTextAnalyzer.terms(null)).isEmpty();
+        assertThat(ProductTextAnalyzer.terms(" -- ")).isEmpty();
+    }
+}
@@ -1,9 +1,17 @@
 package com.assignment.ordermanagement.product.infrastructure.persistence.adapter;
 
+import com.assignment.ordermanagement.product.domain.exception.ProductNotFoundException;
 import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.model.ProductFacets;
+import com.assignment.ordermanagement.product.domain.model.ProductField;
+import com.assignment.ordermanagement.product.domain.model.ProductPage;
+import com.assignment.ordermanagement.product.domain.model.ProductPageRequest;
+import com.assignment.ordermanagement.product.domain.model.ProductSearchCriteria;
+import com.assignment.ordermanagement.product.domain.model.ProductSortKey;
 import com.assignment.ordermanagement.product.infrastructure.persistence.entity.ProductEntity;
 import com.assignment.ordermanagement.product.infrastructure.persistence.mapper.ProductEntityMapper;
 import com.assignment.ordermanagement.product.infrastructure.persistence.repository.ProductRepositoryJpa;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,12 +22,23 @@ import org.springframework.data.jpa.domain.Specification;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.ArrayList;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -59,6 +78,49 @@ class ProductRepositoryAdapterTest {
         verify(mapper).toDomain(savedEntity);
     }
 
+    @Test
+    void shouldUpdateExistingProductWithoutMerging() {
+        Instant updatedAt = Instant.now();
+        Product product = new Product(1L, "Product", "Description", new BigDecimal("10.00"), 5, Instant.now(), updatedAt, false);
+
+        when(jpaRepository.updateDetails(1L, "Product", "Description", new BigDecimal("10.00"), updatedAt)).thenReturn(1);
+
+        Product result = productRepositoryAdapter.save(product);
+
+        assertThat(result).isSameAs(product);
+        verify(jpaRepository).updateDetails(1L, "Product", "Description", new BigDecimal("10.00"), updatedAt);
+        verify(jpaRepository, never()).updateDetailsAndStock(any(), any(), any(), any(), any(), any());
+        verify(jpaRepository, never()).save(any());
+        verify(jpaRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldWriteStockOnlyWhenProductChangedIt() {
+        Product product = new Product(1L, "Product", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        product.updateDetails("Product", "Description", new BigDecimal("10.00"), 8);
+
+        when(jpaRepository.updateDetailsAndStock(1L, "Product", "Description", new BigDecimal("10.00"), 8,
+                                                 product.getUpdatedAt())).thenReturn(1);
+
+        productRepositoryAdapter.save(product);
+
+        verify(jpaRepository).updateDetailsAndStock(1L, "Product", "Description", new BigDecimal("10.00"), 8,
+                                                    product.getUpdatedAt());
+        verify(jpaRepository, never()).updateDetails(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldThrowWhenUpdatingMissingProduct() {
+        Instant updatedAt = Instant.now();
+        Product product = new Product(99L, "Product", "Description", new BigDecimal("10.00"), 5, Instant.now(), updatedAt, false);
+
+        when(jpaRepository.updateDetails(99L, "Product", "Description", new BigDecimal("10.00"), updatedAt)).thenReturn(0);
+
+        assertThatThrownBy(() -> productRepositoryAdapter.save(product))
+            .isInstanceOf(ProductNotFoundException.class)
+            .hasMessage("Product not found with id: 99");
+    }
+
     @Test
     void shouldFindProductById() {
         Long id = 1L;
@@ -89,6 +151,144 @@ class ProductRepositoryAdapterTest {
         verify(jpaRepository).findById(id);
     }
 
+    @Test
+    void shouldFindProductsByIds() {
+        ProductEntity entity1 = new ProductEntity();
+        entity1.setId(1L);
+        ProductEntity entity2 = new ProductEntity();
+        entity2.setId(2L);
+        Product product1 = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        Product product2 = new Product(2L, "Product2", "Description2", new BigDecimal("20.00"), 10, Instant.now(), null, false);
+
+        when(jpaRepository.findAllById(List.of(1L, 2L))).thenReturn(Arrays.asList(entity1, entity2));
+        when(mapper.toDomain(entity1)).thenReturn(product1);
+        when(mapper.toDomain(entity2)).thenReturn(product2);
+
+        List<Product> result = productRepositoryAdapter.findAllByIds(List.of(1L, 2L));
+
+        assertThat(result).containsExactly(product1, product2);
+        verify(jpaRepository).findAllById(List.of(1L, 2L));
+    }
+
+    @Test
+    void shouldFindStockLevels() {
+        when(jpaRepository.findStockLevels(List.of(1L, 2L)))
+                .thenReturn(List.of(stockLevel(1L, 5), stockLevel(2L, 0)));
+
+        Map<Long, Integer> result = productRepositoryAdapter.findStockLevels(List.of(1L, 2L));
+
+        assertThat(result).containsExactlyInAnyOrderEntriesOf(Map.of(1L, 5, 2L, 0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReadOneExtraRowToDetectNextPage() {
+        ProductEntity entity1 = new ProductEntity();
+        ProductEntity entity2 = new ProductEntity();
+        ProductEntity entity3 = new ProductEntity();
+        Product product1 = new Product(1L, "Product1", "Description1", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        Product product2 = new Product(2L, "Product2", "Description2", new BigDecimal("20.00"), 10, Instant.now(), null, false);
+        ProductPageRequest pageRequest = new ProductPageRequest(ProductSortKey.PRICE, false, 2, "5.00", 7L);
+
+        when(jpaRepository.findBy(any(Specification.class), any())).thenReturn(List.of(entity1, entity2, entity3));
+        when(mapper.toDomain(entity1)).thenReturn(product1);
+        when(mapper.toDomain(entity2)).thenReturn(product2);
+
+        ProductPage page = productRepositoryAdapter.findPage(ProductSearchCriteria.of(null, null, null, null), pageRequest);
+
+        assertThat(page.items()).containsExactly(product1, product2);
+        assertThat(page.hasMore()).isTrue();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReadOnlyColumnsOfRequestedFields() {
+        Tuple row = mock(Tuple.class);
+        when(row.get("id", Long.class)).thenReturn(3L);
+        when(row.get("name", String.class)).thenReturn("Keyboard");
+        when(row.get("quantity", Integer.class)).thenReturn(0);
+        ProductPageRequest pageRequest = ProductPageRequest.first(ProductSortKey.NAME, false, 2);
+        when(jpaRepository.findAttributes(any(Specification.class), any(), eq(3), any())).thenReturn(List.of(row));
+
+        ProductPage page = productRepositoryAdapter.findPage(ProductSearchCriteria.of(null, null, null, null), pageRequest,
+                                                             EnumSet.of(ProductField.IN_STOCK));
+
+        verify(jpaRepository).findAttributes(any(Specification.class), any(), eq(3),
+                                             argThat(attributes -> List.copyOf(attributes).equals(List.of("id", "name", "quantity"))));
+        assertThat(page.items()).singleElement().satisfies(product -> {
+            assertThat(product.getName()).isEqualTo("Keyboard");
+            assertThat(product.getDescription()).isNull();
+            assertThat(product.getPrice()).isNull();
+            assertThat(product.isInStock()).isFalse();
+        });
+        assertThat(page.hasMore()).isFalse();
+        verify(mapper, never()).toDomain(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldMatchWordsOfRankedSearchInDatabase() {
+        ProductEntity entity = new ProductEntity();
+        Product product = new Product(1L, "Wireless Mouse", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        when(jpaRepository.findBy(any(Specification.class), any())).thenReturn(List.of(entity));
+        when(mapper.toDomain(entity)).thenReturn(product);
+
+        List<Product> result = productRepositoryAdapter.searchRanked("wireless mice", ProductSearchCriteria.of(null, null, null, true), 10);
+
+        assertThat(result).containsExactly(product);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRankTrigramCandidatesFromDatabase() {
+        ProductEntity keyboard = new ProductEntity();
+        ProductEntity keyRing = new ProductEntity();
+        Product keyboardProduct = new Product(1L, "Keyboard", "Description", new BigDecimal("40.00"), 5, Instant.now(), null, false);
+        Product keyRingProduct = new Product(2L, "Key Ring", "Description", new BigDecimal("5.00"), 5, Instant.now(), null, false);
+        when(jpaRepository.findBy(any(Specification.class), any())).thenReturn(List.of(keyboard, keyRing));
+        when(mapper.toDomain(keyboard)).thenReturn(keyboardProduct);
+        when(mapper.toDomain(keyRing)).thenReturn(keyRingProduct);
+
+        List<Product> result = productRepositoryAdapter.searchSimilar("keybaord", ProductSearchCriteria.of(null, null, null, null), 10);
+
+        assertThat(result).containsExactly(keyboardProduct);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCountFacetsInOneQuery() {
+        List<BigDecimal> bounds = List.of(BigDecimal.ZERO, new BigDecimal("100"));
+        when(jpaRepository.countEach(any(Specification.class), any())).thenReturn(new long[]{4, 1, 3, 2});
+
+        ProductFacets facets = productRepositoryAdapter.findFacets(ProductSearchCriteria.of("mouse", null, null, null), bounds);
+
+        assertThat(facets.priceBuckets()).extracting(ProductFacets.PriceBucket::count).containsExactly(4L, 1L);
+        assertThat(facets.inStock()).isEqualTo(3);
+        assertThat(facets.outOfStock()).isEqualTo(2);
+        verify(jpaRepository).countEach(any(Specification.class), argThat(conditions -> conditions.size() == 4));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSkipDatabaseForRankedSearchWithoutWords() {
+        List<Product> result = productRepositoryAdapter.searchRanked(" ?! ", ProductSearchCriteria.of(null, null, null, null), 10);
+
+        assertThat(result).isEmpty();
+        verify(jpaRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldFindProductsByNamePrefixInDatabase() {
+        ProductEntity entity = new ProductEntity();
+        Product product = new Product(1L, "Wireless Mouse", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        when(jpaRepository.findBy(any(Specification.class), any())).thenReturn(List.of(entity));
+        when(mapper.toDomain(entity)).thenReturn(product);
+
+        assertThat(productRepositoryAdapter.findByNamePrefix("Mou", 10)).containsExactly(product);
+        assertThat(productRepositoryAdapter.findByNamePrefix("  ", 10)).isEmpty();
+    }
+
     @Test
     void shouldFindAllProducts() {
         ProductEntity entity1 = new ProductEntity();
@@ -119,13 +319,20 @@ class ProductRepositoryAdapterTest {
         entity.setId(1L);
         Product product = new Product(1L, "Test Product", "Description", new BigDecimal("25.00"), 5, Instant.now(), null, false);
 
-        when(jpaRepository.findAll(any(Specification.class))).thenReturn(Arrays.asList(entity));
+        when(jpaRepository.search("%test%", minPrice, maxPrice, true)).thenReturn(Arrays.asList(entity));
         when(mapper.toDomain(entity)).thenReturn(product);
 
         List<Product> result = productRepositoryAdapter.search(name, minPrice, maxPrice, inStock);
 
         assertThat(result).hasSize(1);
-        verify(jpaRepository).findAll(any(Specification.class));
+        verify(jpaRepository, never()).findAll(any(Specification.class));
+    }
+
+    @Test
+    void shouldTreatBlankNameAsNoNameFilter() {
+        when(jpaRepository.search(null, null, new BigDecimal("5"), false)).thenReturn(List.of());
+
+        assertThat(productRepositoryAdapter.search("  ", null, new BigDecimal("5"), false)).isEmpty();
     }
 
     @Test
@@ -133,13 +340,12 @@ class ProductRepositoryAdapterTest {
         ProductEntity entity = new ProductEntity();
         Product product = new Product(1L, "Product", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false);
 
-        when(jpaRepository.findAll(any(Specification.class))).thenReturn(Arrays.asList(entity));
+        when(jpaRepository.search(null, null, null, false)).thenReturn(Arrays.asList(entity));
         when(mapper.toDomain(entity)).thenReturn(product);
 
         List<Product> result = productRepositoryAdapter.search(null, null, null, null);
 
         assertThat(result).hasSize(1);
-        verify(jpaRepository).findAll(any(Specification.class));
     }
 
     @Test
@@ -148,7 +354,25 @@ class ProductRepositoryAdapterTest {
 
         productRepositoryAdapter.deleteById(id);
 
-        verify(jpaRepository).deleteById(id);
+        verify(jpaRepository).softDelete(eq(id), any(Instant.class));
+        verify(jpaRepository, never()).deleteById(id);
+    }
+
+    @Test
+    void shouldReadOneExtraRowToDetectMoreChanges() {
+        ProductEntity entity1 = new ProductEntity();
+        ProductEntity entity2 = new ProductEntity();
+        Instant after = Instant.parse("2026-01-01T00:00:00Z");
+        Instant before = Instant.parse("2026-01-02T00:00:00Z");
+        Product deleted = new Product(4L, "Product4", "Description4", new BigDecimal("10.00"), 5, after, after, true);
+
+        when(jpaRepository.findChanges(after, 3L, before, 2)).thenReturn(List.of(entity1, entity2));
+        when(mapper.toDomain(entity1)).thenReturn(deleted);
+
+        ProductPage page = productRepositoryAdapter.findChanges(after, 3L, before, 1);
+
+        assertThat(page.items()).containsExactly(deleted);
+        assertThat(page.hasMore()).isTrue();
     }
 
     @Test
@@ -174,5 +398,66 @@ class ProductRepositoryAdapterTest {
         assertThat(result).isFalse();
         verify(jpaRepository).existsById(id);
     }
-}
 
+    @Test
+    void shouldReportSuccessfulStockDecrease() {
+        when(jpaRepository.decreaseStock(eq(1L), eq(3), any(Instant.class))).thenReturn(1);
+
+        assertThat(productRepositoryAdapter.decreaseStock(1L, 3)).isTrue();
+    }
+
+    @Test
+    void shouldReportFailedStockDecrease() {
+        when(jpaRepository.decreaseStock(eq(1L), eq(30), any(Instant.class))).thenReturn(0);
+
+        assertThat(productRepositoryAdapter.decreaseStock(1L, 30)).isFalse();
+    }
+
+    @Test
+    void shouldDecreaseStockOfSeveralProductsInOneStatement() {
+        Map<Long, Integer> quantities = Map.of(1L, 2, 2L, 3);
+        when(jpaRepository.decreaseStock(eq(quantities), any(Instant.class))).thenReturn(2);
+
+        assertThat(productRepositoryAdapter.decreaseStock(quantities)).isEqualTo(2);
+        verify(jpaRepository).decreaseStock(eq(quantities), any(Instant.class));
+    }
+
+    private static ProductRepositoryJpa.StockLevel stockLevel(Long id, Integer quantity) {
+        return new ProductRepositoryJpa.StockLevel() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Integer getQuantity() {
+                return quantity;
+            }
+        };
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStreamMappedProducts() {
+        ProductEntity entity = new ProductEntity();
+        Product product = new Product(1L, "Product", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        doAnswer(invocation -> {
+            invocation.<Consumer<ProductEntity>>getArgument(2).accept(entity);
+            return null;
+        }).when(jpaRepository).streamAll(any(Specification.class), eq(500), any(Consumer.class));
+        when(mapper.toDomain(entity)).thenReturn(product);
+
+        List<Product> streamed = new ArrayList<>();
+        productRepositoryAdapter.stream(ProductSearchCriteria.of(null, null, null, null), streamed::add);
+
+        assertThat(streamed).containsExactly(product);
+    }
+
+    @Test
+    void shouldReturnNewVersionOnEveryCall() {
+        long first = productRepositoryAdapter.getVersion();
+
+        assertThat(productRepositoryAdapter.getVersion()).isNotEqualTo(first);
+        verifyNoInteractions(jpaRepository);
+    }
+}
@@ -0,0 +1,97 @@
+package com.assignment.ordermanagement.product.infrastructure.persistence.repository;
+
+import com.assignment.ordermanagement.product.infrastructure.persistence.entity.ProductEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-query cost of the filter search on the H2 seed catalog.
+ * Compares a criteria query built from a Specification chain on every call, as the search used to
+ * run, with the precompiled JPQL variant that ProductRepositoryJpa.search selects. Both use the name,
+ * min and max price filters with an alternating in-stock filter.
+ * Run with: mvn test -Dtest=ProductSearchBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DataJpaTest(showSql = false, properties = {
+        "logging.level.org.hibernate.SQL=warn",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=warn",
+        "logging.level.org.hibernate.orm.jdbc.bind=warn"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductSearchBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchBenchmarkTest.class);
+
+    private static final String NAME = "us";
+    private static final BigDecimal MIN_PRICE = new BigDecimal("20");
+    private static final BigDecimal MAX_PRICE = new BigDecimal("100");
+    private static final int QUERIES_PER_ROUND = 20_000;
+    private static final int WARM_UP_ROUNDS = 2;
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private ProductRepositoryJpa repository;
+
+    @Test
+    void compareCriteriaWithPrecompiledSearch() {
+        for (boolean inStockOnly : new boolean[] {false, true}) {
+            assertThat(ids(repository.findAll(criteria(inStockOnly))))
+                    .isEqualTo(ids(repository.search("%" + NAME + "%", MIN_PRICE, MAX_PRICE, inStockOnly)))
+                    .isNotEmpty();
+        }
+
+        for (int round = 1 - WARM_UP_ROUNDS; round <= ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < QUERIES_PER_ROUND; i++) {
+                repository.findAll(criteria((i & 1) == 0));
+            }
+            long criteria = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < QUERIES_PER_ROUND; i++) {
+                repository.search("%" + NAME + "%", MIN_PRICE, MAX_PRICE, (i & 1) == 0);
+            }
+            long precompiled = System.nanoTime() - start;
+
+            if (round > 0) {
+                log.info("Round {}: criteria {} us/query | precompiled {} us/query", round,
+                         microsPerQuery(criteria), microsPerQuery(precompiled));
+            }
+        }
+    }
+
+    // The Specification chain the search built before it used the precompiled variants
+    private static Specification<ProductEntity> criteria(boolean inStockOnly) {
+        Specification<ProductEntity> spec = Specification
+                .<ProductEntity>where((root, query, cb) -> cb.isFalse(root.get("deleted")))
+                .and((root, query, cb) -> cb.like(cb.lower(root.get("name")), "%" + NAME + "%"))
+                .and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), MIN_PRICE))
+                .and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), MAX_PRICE));
+        if (inStockOnly) {
+            spec = spec.and((root, query, cb) -> cb.greaterThan(root.get("quantity"), 0));
+        }
+        return spec;
+    }
+
+    private static String microsPerQuery(long nanos) {
+        return String.format("%.1f", nanos / 1000.0 / QUERIES_PER_ROUND);
+    }
+
+    private static List<Long> ids(List<ProductEntity> products) {
+        return products.stream().map(ProductEntity::getId).sorted().toList();
+    }
+}
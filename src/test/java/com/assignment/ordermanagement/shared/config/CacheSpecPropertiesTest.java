@@ -0,0 +1,50 @@
+package com.assignment.ordermanagement.shared.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheSpecPropertiesTest {
+
+    @Test
+    void shouldFallBackToDefaultsWhenNothingConfigured() {
+        CacheSpecProperties properties = new CacheSpecProperties(null, null);
+
+        assertThat(properties.defaults().maximumSize()).isEqualTo(1000L);
+        assertThat(properties.defaults().expireAfterWrite()).isEqualTo(Duration.ofMinutes(10));
+        assertThat(properties.caches()).isEmpty();
+    }
+
+    @Test
+    void shouldBuildBoundedCacheWithStatistics() {
+        CacheSpecProperties.Spec spec = new CacheSpecProperties.Spec(2L, Duration.ofMinutes(5), Duration.ofMinutes(1));
+
+        Cache<Object, Object> cache = spec.toCaffeine().executor(Runnable::run).build();
+        cache.put(1, "a");
+        cache.put(2, "b");
+        cache.put(3, "c");
+        cache.cleanUp();
+        cache.getIfPresent(3);
+
+        assertThat(cache.estimatedSize()).isLessThanOrEqualTo(2);
+        assertThat(cache.policy().expireAfterWrite()).isPresent();
+        assertThat(cache.policy().expireAfterAccess()).isPresent();
+        assertThat(cache.stats().evictionCount()).isPositive();
+    }
+
+    @Test
+    void shouldLeaveUnsetPoliciesDisabled() {
+        CacheSpecProperties properties = new CacheSpecProperties(null,
+                Map.of("products", new CacheSpecProperties.Spec(10L, null, null)));
+
+        Cache<Object, Object> cache = properties.caches().get("products").toCaffeine().build();
+
+        assertThat(cache.policy().eviction()).isPresent();
+        assertThat(cache.policy().expireAfterWrite()).isEmpty();
+        assertThat(cache.policy().expireAfterAccess()).isEmpty();
+    }
+}
@@ -0,0 +1,148 @@
+package com.assignment.ordermanagement.shared.warmup;
+
+import com.assignment.ordermanagement.order.application.dto.OrderItemRequest;
+import com.assignment.ordermanagement.order.application.dto.OrderRequest;
+import com.assignment.ordermanagement.order.application.usecase.PlaceOrderUseCase;
+import com.assignment.ordermanagement.order.domain.service.OrderDomainService;
+import com.assignment.ordermanagement.product.adapter.rest.ProductListRepresentationCache;
+import com.assignment.ordermanagement.product.application.usecase.GetAllProductsUseCase;
+import com.assignment.ordermanagement.product.application.usecase.GetProductsUseCase;
+import com.assignment.ordermanagement.product.application.usecase.SearchProductsUseCase;
+import com.assignment.ordermanagement.product.domain.model.Product;
+import com.assignment.ordermanagement.product.domain.port.ProductService;
+import com.assignment.ordermanagement.shared.config.WarmUpProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class ApplicationWarmUpTest {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private OrderDomainService orderDomainService;
+
+    @Mock
+    private GetAllProductsUseCase getAllProductsUseCase;
+
+    @Mock
+    private GetProductsUseCase getProductsUseCase;
+
+    @Mock
+    private SearchProductsUseCase searchProductsUseCase;
+
+    @Mock
+    private ProductListRepresentationCache productListRepresentationCache;
+
+    @Mock
+    private PlaceOrderUseCase placeOrderUseCase;
+
+    @Test
+    void shouldPreloadMostOrderedProductsFirst() {
+        ApplicationWarmUp warmUp = warmUp(new WarmUpProperties(true, 3, 1, null));
+        when(productService.getAllProducts()).thenReturn(List.of(
+            new Product(1L, "Product 1", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false),
+            new Product(2L, "Product 2", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false),
+            new Product(3L, "Product 3", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false),
+            new Product(4L, "Product 4", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false)));
+        when(orderDomainService.getMostOrderedProductIds(3)).thenReturn(List.of(4L));
+
+        warmUp.preloadCaches();
+
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(productService).getProductsByIds(ids.capture());
+        assertThat(ids.getValue()).containsExactly(4L, 1L, 2L);
+    }
+
+    @Test
+    void shouldPreloadProductsInBatches() {
+        ApplicationWarmUp warmUp = warmUp(new WarmUpProperties(true, 250, 1, null));
+        when(productService.getAllProducts()).thenReturn(
+            LongStream.rangeClosed(1, 250)
+                .mapToObj(id -> new Product(id, "Product " + id, "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false))
+                .toList());
+
+        warmUp.preloadCaches();
+
+        verify(productService, times(3)).getProductsByIds(anyCollection());
+    }
+
+    @Test
+    void shouldExerciseReadPathsForEachIteration() {
+        ApplicationWarmUp warmUp = warmUp(new WarmUpProperties(true, 10, 4, null));
+        List<Product> catalog = List.of(
+            new Product(1L, "Product 1", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false),
+            new Product(2L, "Product 2", "Description", new BigDecimal("10.00"), 0, Instant.now(), null, false));
+
+        warmUp.exerciseReadPaths(catalog);
+
+        verify(productListRepresentationCache, times(4)).current();
+        verify(getAllProductsUseCase, times(4)).execute();
+        verify(getProductsUseCase, times(2)).execute(1L);
+        verify(getProductsUseCase, times(2)).execute(2L);
+        verify(searchProductsUseCase, times(4)).execute(argThat(request -> request.mode().equals("name")));
+        verify(searchProductsUseCase, times(4)).execute(argThat(request -> request.mode().equals("relevance")));
+        verify(searchProductsUseCase, times(4)).execute(argThat(request -> request.mode().equals("fuzzy")));
+        verify(searchProductsUseCase, times(4)).page(any());
+    }
+
+    @Test
+    void shouldPreviewOrdersWithoutPlacingThem() {
+        ApplicationWarmUp warmUp = warmUp(new WarmUpProperties(true, 10, 2, "user"));
+
+        warmUp.previewOrders(List.of(
+            new Product(1L, "Product 1", "Description", new BigDecimal("10.00"), 0, Instant.now(), null, false),
+            new Product(2L, "Product 2", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false)));
+
+        verify(placeOrderUseCase, times(2)).preview(new OrderRequest(List.of(new OrderItemRequest(2L, 1))), "user");
+        verify(placeOrderUseCase, never()).execute(any(), any());
+    }
+
+    @Test
+    void shouldSkipOrderPreviewsWithoutUsername() {
+        ApplicationWarmUp warmUp = warmUp(new WarmUpProperties(true, 10, 2, null));
+
+        Product product = new Product(1L, "Product 1", "Description", new BigDecimal("10.00"), 5, Instant.now(), null, false);
+        warmUp.previewOrders(List.of(product));
+
+        verifyNoInteractions(placeOrderUseCase);
+    }
+
+    @Test
+    void shouldFinishWhenStepsFail() {
+        ApplicationWarmUp warmUp = warmUp(new WarmUpProperties(true, 10, 1, "user"));
+        when(productService.getAllProducts()).thenThrow(new IllegalStateException("Database unavailable"));
+
+        warmUp.run(null);
+
+        verify(orderDomainService, never()).getMostOrderedProductIds(anyInt());
+        verifyNoInteractions(getAllProductsUseCase, placeOrderUseCase);
+    }
+
+    private ApplicationWarmUp warmUp(WarmUpProperties properties) {
+        return new ApplicationWarmUp(properties, productService, orderDomainService, getAllProductsUseCase,
+                getProductsUseCase, searchProductsUseCase, productListRepresentationCache, placeOrderUseCase);
+    }
+}